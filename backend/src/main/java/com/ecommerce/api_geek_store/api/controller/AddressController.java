@@ -1,58 +1,58 @@
-package com.ecommerce.api_geek_store.api.controller;
-
-import com.ecommerce.api_geek_store.api.dto.AddressRequest;
-import com.ecommerce.api_geek_store.api.dto.AddressResponse;
-import com.ecommerce.api_geek_store.service.AddressService;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/v1/users/me/addresses")
-public class AddressController {
-
-    private static final Logger log = LoggerFactory.getLogger(AddressController.class);
-    private final AddressService addressService;
-
-    public AddressController(AddressService addressService) {
-        this.addressService = addressService;
-    }
-
-    @GetMapping
-    public ResponseEntity<List<AddressResponse>> getMyAddresses(@AuthenticationPrincipal UserDetails userDetails) {
-        return ResponseEntity.ok(addressService.getMyAddresses(userDetails.getUsername()));
-    }
-
-    @PostMapping
-    public ResponseEntity<AddressResponse> createAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @RequestBody @Valid AddressRequest request) {
-        log.info("Usuario {} agregando nueva dirección: {}", userDetails.getUsername(), request.alias());
-        return ResponseEntity.status(HttpStatus.CREATED).body(addressService.createAddress(userDetails.getUsername(), request));
-    }
-
-    @PutMapping("/{id}")
-    public ResponseEntity<AddressResponse> updateAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long id,
-            @RequestBody @Valid AddressRequest request) {
-        log.info("Usuario {} actualizando dirección ID: {}", userDetails.getUsername(), id);
-        return ResponseEntity.ok(addressService.updateAddress(userDetails.getUsername(), id, request));
-    }
-
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteAddress(
-            @AuthenticationPrincipal UserDetails userDetails,
-            @PathVariable Long id) {
-        log.info("Usuario {} eliminando dirección ID: {}", userDetails.getUsername(), id);
-        addressService.deleteAddress(userDetails.getUsername(), id);
-        return ResponseEntity.noContent().build();
-    }
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.AddressRequest;
+import com.ecommerce.api_geek_store.api.dto.AddressResponse;
+import com.ecommerce.api_geek_store.service.AddressService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/users/me/addresses")
+public class AddressController {
+
+    private static final Logger log = LoggerFactory.getLogger(AddressController.class);
+    private final AddressService addressService;
+
+    public AddressController(AddressService addressService) {
+        this.addressService = addressService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AddressResponse>> getMyAddresses(@AuthenticationPrincipal UserDetails userDetails) {
+        return ResponseEntity.ok(addressService.getMyAddresses(userDetails.getUsername()));
+    }
+
+    @PostMapping
+    public ResponseEntity<AddressResponse> createAddress(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody @Valid AddressRequest request) {
+        log.info("Usuario {} agregando nueva dirección: {}", userDetails.getUsername(), request.alias());
+        return ResponseEntity.status(HttpStatus.CREATED).body(addressService.createAddress(userDetails.getUsername(), request));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<AddressResponse> updateAddress(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id,
+            @RequestBody @Valid AddressRequest request) {
+        log.info("Usuario {} actualizando dirección ID: {}", userDetails.getUsername(), id);
+        return ResponseEntity.ok(addressService.updateAddress(userDetails.getUsername(), id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteAddress(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long id) {
+        log.info("Usuario {} eliminando dirección ID: {}", userDetails.getUsername(), id);
+        addressService.deleteAddress(userDetails.getUsername(), id);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
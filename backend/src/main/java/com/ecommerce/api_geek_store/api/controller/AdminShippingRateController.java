@@ -0,0 +1,51 @@
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.ShippingRateRequest;
+import com.ecommerce.api_geek_store.api.dto.ShippingRateResponse;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateTable;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/shipping-rates")
+public class AdminShippingRateController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminShippingRateController.class);
+    private final ShippingRateService shippingRateService;
+
+    public AdminShippingRateController(ShippingRateService shippingRateService) {
+        this.shippingRateService = shippingRateService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ShippingRateResponse>> getAllRates() {
+        return ResponseEntity.ok(shippingRateService.listar());
+    }
+
+    // Reemplaza la tabla entera: el admin la edita como planilla y la sube completa
+    @PutMapping
+    public ResponseEntity<List<ShippingRateResponse>> replaceRates(@RequestBody List<@Valid ShippingRateRequest> rates) {
+        log.info("Acción Admin: Reemplazando tabla de tarifas de envío ({} filas)", rates.size());
+        return ResponseEntity.ok(shippingRateService.reemplazar(rates));
+    }
+
+    // Para cambios hechos directo en la base: recarga sin esperar la sincronización periódica
+    @PostMapping("/reload")
+    public ResponseEntity<Map<String, Object>> reloadRates() {
+        log.info("Acción Admin: Recargando tarifas de envío");
+        shippingRateService.recargar();
+        ShippingRateTable tabla = shippingRateService.tabla();
+        return ResponseEntity.ok(Map.of(
+                "filas", tabla.filas(),
+                "destinos", tabla.destinos(),
+                "cargadaEn", tabla.cargadaEn()
+        ));
+    }
+}
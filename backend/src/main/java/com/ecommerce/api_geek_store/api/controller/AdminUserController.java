@@ -1,58 +1,58 @@
-package com.ecommerce.api_geek_store.api.controller;
-
-import com.ecommerce.api_geek_store.api.dto.AdminUserRequest;
-import com.ecommerce.api_geek_store.api.dto.UserResponse;
-import com.ecommerce.api_geek_store.service.UserService;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-@RestController
-@RequestMapping("/api/v1/admin/users")
-public class AdminUserController {
-
-    private static final Logger log = LoggerFactory.getLogger(AdminUserController.class);
-    private final UserService userService;
-
-    public AdminUserController(UserService userService) {
-        this.userService = userService;
-    }
-
-    @GetMapping
-    public ResponseEntity<Page<UserResponse>> getAllUsers(@PageableDefault(size = 15, sort = "email") Pageable pageable) {
-        log.debug("Admin listando página de usuarios: {}", pageable.getPageNumber());
-        return ResponseEntity.ok(userService.findAll(pageable));
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        return ResponseEntity.ok(userService.findById(id));
-    }
-
-    @PostMapping
-    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody AdminUserRequest request) {
-        log.info("Acción Admin: Creando usuario con email {}", request.email());
-        return new ResponseEntity<>(userService.create(request), HttpStatus.CREATED);
-    }
-
-    @PutMapping("/{id}")
-    public ResponseEntity<UserResponse> updateUser(
-            @PathVariable Long id,
-            @Valid @RequestBody AdminUserRequest request) {
-        log.info("Acción Admin: Actualizando usuario ID {}", id);
-        return ResponseEntity.ok(userService.update(id, request));
-    }
-
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
-        log.warn("Acción Admin CRÍTICA: Eliminando usuario ID {}", id);
-        userService.delete(id);
-        return ResponseEntity.noContent().build();
-    }
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.AdminUserRequest;
+import com.ecommerce.api_geek_store.api.dto.UserResponse;
+import com.ecommerce.api_geek_store.service.UserService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/admin/users")
+public class AdminUserController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminUserController.class);
+    private final UserService userService;
+
+    public AdminUserController(UserService userService) {
+        this.userService = userService;
+    }
+
+    @GetMapping
+    public ResponseEntity<Page<UserResponse>> getAllUsers(@PageableDefault(size = 15, sort = "email") Pageable pageable) {
+        log.debug("Admin listando página de usuarios: {}", pageable.getPageNumber());
+        return ResponseEntity.ok(userService.findAll(pageable));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+        return ResponseEntity.ok(userService.findById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<UserResponse> createUser(@Valid @RequestBody AdminUserRequest request) {
+        log.info("Acción Admin: Creando usuario con email {}", request.email());
+        return new ResponseEntity<>(userService.create(request), HttpStatus.CREATED);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<UserResponse> updateUser(
+            @PathVariable Long id,
+            @Valid @RequestBody AdminUserRequest request) {
+        log.info("Acción Admin: Actualizando usuario ID {}", id);
+        return ResponseEntity.ok(userService.update(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+        log.warn("Acción Admin CRÍTICA: Eliminando usuario ID {}", id);
+        userService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -1,58 +1,60 @@
-package com.ecommerce.api_geek_store.api.controller;
-
-import com.ecommerce.api_geek_store.api.dto.CategoryRequest;
-import com.ecommerce.api_geek_store.api.dto.CategoryResponse;
-import com.ecommerce.api_geek_store.service.CategoryService;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/v1/categories")
-public class CategoryController {
-
-    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
-    private final CategoryService categoryService;
-
-    public CategoryController(CategoryService categoryService){
-        this.categoryService = categoryService;
-    }
-
-    @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories(){
-        return ResponseEntity.ok(categoryService.findAll());
-    }
-
-    @GetMapping("/{id}")
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id){
-        return ResponseEntity.ok(categoryService.findById(id));
-    }
-
-    @PostMapping
-    public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest categoryRequest){
-        log.info("Creando nueva categoría: {}", categoryRequest.nombre());
-        CategoryResponse categoryCreada = categoryService.create(categoryRequest);
-        return ResponseEntity.status(HttpStatus.CREATED).body(categoryCreada);
-    }
-
-    @PutMapping("/{id}")
-    public ResponseEntity<CategoryResponse> updateCategory(
-            @PathVariable Long id,
-            @Valid @RequestBody CategoryRequest categoryRequest){
-        log.info("Actualizando categoría ID: {}", id);
-        CategoryResponse categoryActualizada = categoryService.update(id, categoryRequest);
-        return ResponseEntity.ok(categoryActualizada);
-    }
-
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteCategory(@PathVariable Long id){
-        log.warn("Eliminando categoría ID: {}", id);
-        categoryService.deleteById(id);
-        return ResponseEntity.noContent().build();
-    }
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.CategoryRequest;
+import com.ecommerce.api_geek_store.api.dto.CategoryResponse;
+import com.ecommerce.api_geek_store.service.CategoryService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/categories")
+public class CategoryController {
+
+    private static final Logger log = LoggerFactory.getLogger(CategoryController.class);
+    private final CategoryService categoryService;
+
+    public CategoryController(CategoryService categoryService){
+        this.categoryService = categoryService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest request){
+        // La versión de la lista vive en memoria: el 304 se resuelve sin consultar la base
+        return ConditionalGet.respond(request, categoryService.findAllVersion(), categoryService::findAll);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long id, WebRequest request){
+        return ConditionalGet.respond(request, categoryService.findVersion(id).orElse(null), () -> categoryService.findById(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest categoryRequest){
+        log.info("Creando nueva categoría: {}", categoryRequest.nombre());
+        CategoryResponse categoryCreada = categoryService.create(categoryRequest);
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoryCreada);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<CategoryResponse> updateCategory(
+            @PathVariable Long id,
+            @Valid @RequestBody CategoryRequest categoryRequest){
+        log.info("Actualizando categoría ID: {}", id);
+        CategoryResponse categoryActualizada = categoryService.update(id, categoryRequest);
+        return ResponseEntity.ok(categoryActualizada);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteCategory(@PathVariable Long id){
+        log.warn("Eliminando categoría ID: {}", id);
+        categoryService.deleteById(id);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional para los endpoints públicos del catálogo. El validador se calcula antes que el cuerpo:
+ * con If-None-Match / If-Modified-Since vigentes se responde 304 sin mapear ni serializar nada.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, ResourceVersion version, Supplier<T> body) {
+        if (version != null) {
+            long lastModified = version.lastModified() != null
+                    ? version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                    : -1;
+
+            // checkNotModified ya escribe ETag/Last-Modified y el 304 en la respuesta
+            if (request.checkNotModified(version.etag(), lastModified)) {
+                return null;
+            }
+        }
+
+        T value = body.get();
+        if (value == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(value);
+    }
+}
@@ -1,102 +1,179 @@
-package com.ecommerce.api_geek_store.api.controller;
-
-import com.ecommerce.api_geek_store.api.dto.OrderRequest;
-import com.ecommerce.api_geek_store.api.dto.OrderResponse;
-import com.ecommerce.api_geek_store.api.dto.TrackingRequest;
-import com.ecommerce.api_geek_store.service.OrderService;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.util.List;
-
-@RestController
-@RequestMapping("/api/v1/orders")
-public class OrderController {
-
-    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
-    private final OrderService orderService;
-    private final ObjectMapper objectMapper;
-
-    public OrderController(OrderService orderService, ObjectMapper objectMapper) {
-        this.orderService = orderService;
-        this.objectMapper = objectMapper;
-    }
-
-
-    @PostMapping
-    public ResponseEntity<OrderResponse> createOrder(
-            @Valid @RequestBody OrderRequest orderRequest,
-            @AuthenticationPrincipal UserDetails userDetails) {
-
-        log.info("Creando orden automática para usuario: {}", userDetails.getUsername());
-        OrderResponse orderResponse = orderService.createOrder(orderRequest, userDetails);
-        return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
-    }
-
-
-    @GetMapping("/me")
-    public ResponseEntity<List<OrderResponse>> getMyOrders(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        log.debug("Consultando historial de órdenes para: {}", userDetails.getUsername());
-        return ResponseEntity.ok(orderService.findMyOrders(userDetails));
-    }
-
-
-    @GetMapping("/admin/all")
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
-        log.info("Admin consultando todas las órdenes del sistema");
-        return ResponseEntity.ok(orderService.findAllOrders());
-    }
-
-
-    @PutMapping("/{id}/status")
-    public ResponseEntity<OrderResponse> updateOrderStatus(
-            @PathVariable Long id,
-            @RequestParam String status
-    ) {
-        log.info("Cambiando estado de orden ID: {} a {}", id, status);
-        return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
-    }
-
-
-    @PutMapping("/{id}/tracking")
-    public ResponseEntity<OrderResponse> addTrackingInfo(
-            @PathVariable Long id,
-            @Valid @RequestBody TrackingRequest request
-    ) {
-        log.info("Agregando tracking a orden ID: {}: {} ({})", id, request.trackingNumber(), request.courierName());
-        OrderResponse response = orderService.addTrackingInfo(id, request.trackingNumber(), request.courierName());
-        return ResponseEntity.ok(response);
-    }
-
-
-    @PostMapping(value = "/create-manual", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<OrderResponse> createManualOrder(
-            @RequestPart("order") String orderJson,
-            @RequestPart(value = "file", required = false) MultipartFile file,
-            @AuthenticationPrincipal UserDetails userDetails
-    ) throws Exception {
-
-        log.info("Procesando pago manual para usuario: {}", userDetails.getUsername());
-
-        OrderRequest orderRequest;
-        try {
-            orderRequest = objectMapper.readValue(orderJson, OrderRequest.class);
-        } catch (Exception e) {
-            log.error("Error al parsear el JSON de la orden manual: {}", e.getMessage());
-            return ResponseEntity.badRequest().build();
-        }
-
-        OrderResponse response = orderService.createManualOrder(orderRequest, file, userDetails);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
-    }
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.CursorPageResponse;
+import com.ecommerce.api_geek_store.api.dto.OrderFilter;
+import com.ecommerce.api_geek_store.api.dto.OrderRequest;
+import com.ecommerce.api_geek_store.api.dto.OrderResponse;
+import com.ecommerce.api_geek_store.api.dto.OrderSummaryResponse;
+import com.ecommerce.api_geek_store.api.dto.TrackingRequest;
+import com.ecommerce.api_geek_store.service.OrderService;
+import com.ecommerce.api_geek_store.service.export.ExportFormat;
+import com.ecommerce.api_geek_store.service.export.OrderExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/api/v1/orders")
+public class OrderController {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final int MAX_ADMIN_PAGE_SIZE = 100;
+    private static final int MAX_SUMMARY_DAYS = 90;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final OrderExportService orderExportService;
+    private final Duration exportTimeout;
+
+    public OrderController(OrderService orderService, ObjectMapper objectMapper, OrderExportService orderExportService,
+                           @Value("${orders.export.timeout:30m}") Duration exportTimeout) {
+        this.orderService = orderService;
+        this.objectMapper = objectMapper;
+        this.orderExportService = orderExportService;
+        this.exportTimeout = exportTimeout;
+    }
+
+
+    @PostMapping
+    public ResponseEntity<OrderResponse> createOrder(
+            @Valid @RequestBody OrderRequest orderRequest,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        log.info("Creando orden automática para usuario: {}", userDetails.getUsername());
+        OrderResponse orderResponse = orderService.createOrder(orderRequest, userDetails);
+        return new ResponseEntity<>(orderResponse, HttpStatus.CREATED);
+    }
+
+
+    @GetMapping("/me")
+    public ResponseEntity<List<OrderResponse>> getMyOrders(
+            @AuthenticationPrincipal UserDetails userDetails) {
+        log.debug("Consultando historial de órdenes para: {}", userDetails.getUsername());
+        return ResponseEntity.ok(orderService.findMyOrders(userDetails));
+    }
+
+
+    @GetMapping("/admin/all")
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String metodoPago,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        log.info("Admin consultando órdenes - Filtros: Estado={}, Desde={}, Hasta={}, Pago={}, Email={}",
+                status, desde, hasta, metodoPago, email);
+        int pageSize = Math.max(1, Math.min(size, MAX_ADMIN_PAGE_SIZE));
+        OrderFilter filtro = new OrderFilter(status, desde, hasta, metodoPago, email);
+        return ResponseEntity.ok(orderService.findAllOrders(filtro, after, pageSize));
+    }
+
+
+    @GetMapping("/admin/summary")
+    public ResponseEntity<OrderSummaryResponse> getSummary(@RequestParam(defaultValue = "7") int dias) {
+        return ResponseEntity.ok(orderService.resumen(Math.max(1, Math.min(dias, MAX_SUMMARY_DAYS))));
+    }
+
+
+    @GetMapping("/admin/export")
+    public WebAsyncTask<Void> exportOrders(
+            @RequestParam(defaultValue = "csv") String formato,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String metodoPago,
+            @RequestParam(required = false) String email,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response
+    ) {
+        ExportFormat exportFormat = ExportFormat.from(formato);
+        OrderFilter filtro = new OrderFilter(status, desde, hasta, metodoPago, email);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        log.info("Admin exportando órdenes ({}, gzip={}) - Desde={}, Hasta={}, Estado={}",
+                exportFormat, gzip, desde, hasta, status);
+
+        String archivo = "ordenes-" + LocalDate.now() + "." + exportFormat.extension();
+        response.setContentType(exportFormat.contentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + archivo + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        // Plazo propio de la descarga: el resto de respuestas async se queda con spring.mvc.async.request-timeout
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            OutputStream out = response.getOutputStream();
+            if (gzip) {
+                GZIPOutputStream comprimido = new GZIPOutputStream(out, 64 * 1024);
+                orderExportService.exportar(filtro, exportFormat, comprimido);
+                comprimido.finish();
+            } else {
+                orderExportService.exportar(filtro, exportFormat, out);
+            }
+            out.flush();
+            return null;
+        });
+    }
+
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<OrderResponse> updateOrderStatus(
+            @PathVariable Long id,
+            @RequestParam String status
+    ) {
+        log.info("Cambiando estado de orden ID: {} a {}", id, status);
+        return ResponseEntity.ok(orderService.updateOrderStatus(id, status));
+    }
+
+
+    @PutMapping("/{id}/tracking")
+    public ResponseEntity<OrderResponse> addTrackingInfo(
+            @PathVariable Long id,
+            @Valid @RequestBody TrackingRequest request
+    ) {
+        log.info("Agregando tracking a orden ID: {}: {} ({})", id, request.trackingNumber(), request.courierName());
+        OrderResponse response = orderService.addTrackingInfo(id, request.trackingNumber(), request.courierName());
+        return ResponseEntity.ok(response);
+    }
+
+
+    @PostMapping(value = "/create-manual", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<OrderResponse> createManualOrder(
+            @RequestPart("order") String orderJson,
+            @RequestPart(value = "file", required = false) MultipartFile file,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) throws Exception {
+
+        log.info("Procesando pago manual para usuario: {}", userDetails.getUsername());
+
+        OrderRequest orderRequest;
+        try {
+            orderRequest = objectMapper.readValue(orderJson, OrderRequest.class);
+        } catch (Exception e) {
+            log.error("Error al parsear el JSON de la orden manual: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        OrderResponse response = orderService.createManualOrder(orderRequest, file, userDetails);
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
 }
\ No newline at end of file
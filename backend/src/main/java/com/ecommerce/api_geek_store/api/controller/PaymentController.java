@@ -1,77 +1,255 @@
-package com.ecommerce.api_geek_store.api.controller;
-
-import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
-import com.ecommerce.api_geek_store.service.OrderService;
-import com.ecommerce.api_geek_store.service.payment.PaymentService;
-import com.mercadopago.resources.payment.Payment;
-import jakarta.validation.Valid;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.*;
-
-import java.util.Map;
-
-@RestController
-@RequestMapping("/api/v1/payments")
-public class PaymentController {
-
-    private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
-
-    private final PaymentService paymentService;
-    private final OrderService orderService;
-
-    public PaymentController(PaymentService paymentService, OrderService orderService) {
-        this.paymentService = paymentService;
-        this.orderService = orderService;
-    }
-
-    @PostMapping("/process_payment")
-    public ResponseEntity<?> processPayment(@RequestBody @Valid PaymentRequest request) {
-        log.info("Iniciando proceso de pago para el usuario: {} por un monto de: {}",
-                request.payerEmail(), request.transactionAmount());
-
-        Payment payment = paymentService.processPayment(request);
-
-        if ("approved".equals(payment.getStatus())) {
-            log.info("Pago aprobado por Mercado Pago. ID Transacción: {}", payment.getId());
-
-            try {
-                orderService.createOrderFromPayment(
-                        request.payerEmail(),
-                        request.items(),
-                        request.direccion(),
-                        request.transactionAmount()
-                );
-
-                log.info("Orden creada exitosamente para el pago: {}", payment.getId());
-
-            } catch (Exception e) {
-
-                log.error("ERROR CRÍTICO: Cobro realizado (MP_ID: {}) pero falló el registro de la orden. Causa: {}",
-                        payment.getId(), e.getMessage());
-                return ResponseEntity.ok(Map.of(
-                        "status", payment.getStatus(),
-                        "id", payment.getId().toString(),
-                        "order_status", "pending_sync",
-                        "message", "Pago procesado, estamos validando tu orden."
-                ));
-            }
-
-            return ResponseEntity.ok(Map.of(
-                    "status", payment.getStatus(),
-                    "id", payment.getId().toString(),
-                    "status_detail", payment.getStatusDetail()
-            ));
-        } else {
-            log.warn("Pago rechazado/pendiente para {}. Estado: {}, Detalle: {}",
-                    request.payerEmail(), payment.getStatus(), payment.getStatusDetail());
-
-            return ResponseEntity.badRequest().body(Map.of(
-                    "status", payment.getStatus(),
-                    "status_detail", payment.getStatusDetail(),
-                    "message", "El pago no pudo ser procesado."
-            ));
-        }
-    }
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.api.dto.QuoteRequest;
+import com.ecommerce.api_geek_store.api.dto.QuoteResponse;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import com.ecommerce.api_geek_store.service.OrderService;
+import com.ecommerce.api_geek_store.service.inventory.StockReservationService;
+import com.ecommerce.api_geek_store.service.payment.CheckoutResult;
+import com.ecommerce.api_geek_store.service.payment.MercadoPagoWebhookSignature;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import com.ecommerce.api_geek_store.service.payment.PaymentIdempotency;
+import com.ecommerce.api_geek_store.service.payment.PaymentIntentService;
+import com.ecommerce.api_geek_store.service.payment.PaymentService;
+import com.ecommerce.api_geek_store.service.payment.PaymentWebhookInbox;
+import com.ecommerce.api_geek_store.service.pricing.Cotizacion;
+import com.ecommerce.api_geek_store.service.pricing.LineaCarrito;
+import com.ecommerce.api_geek_store.service.pricing.PriceSnapshot;
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine;
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine.CotizacionFirmada;
+import com.ecommerce.api_geek_store.service.shipping.Destino;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+@RestController
+@RequestMapping("/api/v1/payments")
+public class PaymentController {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
+
+    private final PaymentService paymentService;
+    private final OrderService orderService;
+    private final StockReservationService stockReservationService;
+    private final PaymentIdempotency paymentIdempotency;
+    private final PaymentIntentService paymentIntentService;
+    private final PaymentWebhookInbox paymentWebhookInbox;
+    private final MercadoPagoWebhookSignature webhookSignature;
+    private final ExecutorService checkoutExecutor;
+    private final PricingEngine pricingEngine;
+
+    public PaymentController(PaymentService paymentService, OrderService orderService,
+                             StockReservationService stockReservationService,
+                             PaymentIdempotency paymentIdempotency,
+                             PaymentIntentService paymentIntentService,
+                             PaymentWebhookInbox paymentWebhookInbox,
+                             MercadoPagoWebhookSignature webhookSignature,
+                             @Qualifier("checkoutExecutor") ExecutorService checkoutExecutor,
+                             PricingEngine pricingEngine) {
+        this.paymentService = paymentService;
+        this.orderService = orderService;
+        this.stockReservationService = stockReservationService;
+        this.paymentIdempotency = paymentIdempotency;
+        this.paymentIntentService = paymentIntentService;
+        this.paymentWebhookInbox = paymentWebhookInbox;
+        this.webhookSignature = webhookSignature;
+        this.checkoutExecutor = checkoutExecutor;
+        this.pricingEngine = pricingEngine;
+    }
+
+    /**
+     * Precio del carrito calculado en el servidor, con firma para enviarla junto al pago.
+     * Es barato (foto de precios en memoria): el front lo pide en cada cambio del carrito.
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<QuoteResponse> quote(@RequestBody @Valid QuoteRequest request) {
+        CotizacionFirmada firmada = pricingEngine.cotizarFirmado(
+                LineaCarrito.deOrden(request.items()), Destino.de(request.destino()));
+        Cotizacion cotizacion = firmada.cotizacion();
+
+        List<QuoteResponse.QuoteLine> lineas = cotizacion.lineas().stream()
+                .map(linea -> new QuoteResponse.QuoteLine(
+                        linea.productId(),
+                        linea.variantId(),
+                        linea.cantidad(),
+                        Cotizacion.aSoles(linea.unitarioCentimos()),
+                        Cotizacion.aSoles(linea.subtotalCentimos())))
+                .toList();
+
+        return ResponseEntity.ok(new QuoteResponse(
+                lineas,
+                Cotizacion.aSoles(cotizacion.subtotalCentimos()),
+                Cotizacion.aSoles(cotizacion.envioCentimos()),
+                cotizacion.total(),
+                firmada.firma(),
+                firmada.expiraEn()
+        ));
+    }
+
+    // Asíncrono: el hilo de Tomcat se libera mientras el checkout espera a la procesadora
+    @PostMapping("/process_payment")
+    public CompletableFuture<ResponseEntity<?>> processPayment(@RequestBody @Valid PaymentRequest request) {
+        return CompletableFuture.supplyAsync(() -> checkout(request), checkoutExecutor);
+    }
+
+    private ResponseEntity<?> checkout(PaymentRequest request) {
+        log.info("Iniciando proceso de pago para el usuario: {} por un monto de: {}",
+                request.payerEmail(), request.transactionAmount());
+
+        // Reintentos y doble clic del mismo checkout devuelven la orden existente sin volver a cobrar
+        String checkoutKey = paymentIdempotency.key(request);
+        CheckoutResult result = checkoutKey != null
+                ? paymentIdempotency.once(checkoutKey, () -> cobrar(request, checkoutKey))
+                : cobrar(request, null);
+
+        if (result.approved()) {
+            if (result.orderId() == null) {
+                return ResponseEntity.ok(Map.of(
+                        "status", result.status(),
+                        "id", result.paymentId().toString(),
+                        "order_status", "pending_sync",
+                        "message", "Pago procesado, estamos validando tu orden."
+                ));
+            }
+
+            return ResponseEntity.ok(Map.of(
+                    "status", result.status(),
+                    "id", result.paymentId().toString(),
+                    "status_detail", result.statusDetail()
+            ));
+        } else {
+            log.warn("Pago rechazado/pendiente para {}. Estado: {}, Detalle: {}",
+                    request.payerEmail(), result.status(), result.statusDetail());
+
+            return ResponseEntity.badRequest().body(Map.of(
+                    "status", result.status(),
+                    "status_detail", result.statusDetail(),
+                    "message", "El pago no pudo ser procesado."
+            ));
+        }
+    }
+
+    /**
+     * Notificaciones de Mercado Pago (webhooks con data.id/type e IPN con id/topic).
+     * Solo se valida y encola: el pago se consulta y la orden se registra en PaymentWebhookWorker.
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> webhook(@RequestParam(name = "type", required = false) String type,
+                                        @RequestParam(name = "topic", required = false) String topic,
+                                        @RequestParam(name = "data.id", required = false) String dataId,
+                                        @RequestParam(name = "id", required = false) String id,
+                                        @RequestHeader(name = "x-signature", required = false) String signature,
+                                        @RequestHeader(name = "x-request-id", required = false) String requestId,
+                                        @RequestBody(required = false) Map<String, Object> body) {
+
+        String tipo = type != null ? type : topic;
+        String recurso = dataId != null ? dataId : id;
+        if (!"payment".equals(tipo) || recurso == null) {
+            // merchant_order, chargebacks, etc.: se confirman para que no se reenvíen
+            return ResponseEntity.ok().build();
+        }
+
+        if (!webhookSignature.valida(signature, requestId, recurso)) {
+            log.warn("Notificación de pago {} con firma inválida", recurso);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        Long paymentId;
+        try {
+            paymentId = Long.valueOf(recurso);
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // Los webhooks traen id propio por notificación y los reenvíos lo repiten. Una IPN solo trae el pago:
+        // no distingue un reenvío de un cambio de estado, así que va sin clave y no se deduplica
+        Object notificationId = body != null ? body.get("id") : null;
+        String clave = notificationId != null ? "mp:" + notificationId
+                : requestId != null ? "req:" + requestId
+                : null;
+
+        paymentWebhookInbox.recibir(clave, paymentId);
+        return ResponseEntity.ok().build();
+    }
+
+    private CheckoutResult cobrar(PaymentRequest request, String checkoutKey) {
+        // El monto lo fija el servidor: un total manipulado o desactualizado se rechaza antes de tocar la tarjeta
+        long esperado = pricingEngine.totalEsperado(
+                LineaCarrito.dePago(request.items()), Destino.de(request.destino()), request.quote());
+        if (PriceSnapshot.centimos(request.transactionAmount()) != esperado) {
+            log.warn("Monto rechazado para {}: recibido {}, esperado {}",
+                    request.payerEmail(), request.transactionAmount(), Cotizacion.aSoles(esperado));
+            throw new IllegalArgumentException("El total de tu carrito cambió a " + Cotizacion.aSoles(esperado)
+                    + ". Revisa el resumen e intenta nuevamente.");
+        }
+
+        // Se apartan las unidades antes de cobrar: si no alcanzan, la tarjeta no se toca
+        String reservationCode = stockReservationService.reservar(request.items());
+
+        // Queda escrito antes de llamar a la procesadora: si este pedido muere, el reconciliador lo retoma
+        PaymentIntent intent;
+        GatewayPayment payment;
+        try {
+            intent = paymentIntentService.abrir(request, checkoutKey, reservationCode);
+            payment = paymentService.processPayment(request, checkoutKey, intent.getExternalReference());
+        } catch (RuntimeException e) {
+            stockReservationService.liberar(reservationCode);
+            throw e;
+        }
+
+        if (!payment.approved()) {
+            // Un pago pendiente puede aprobarse después: esa reserva la suelta el barrido al vencer
+            // y el intento lo vuelve a consultar el reconciliador
+            if (payment.rejected()) {
+                stockReservationService.liberar(reservationCode);
+                paymentIntentService.rechazado(intent.getId(), payment.id(), payment.statusDetail());
+            }
+            return CheckoutResult.of(payment, null);
+        }
+
+        log.info("Pago aprobado por Mercado Pago. ID Transacción: {}", payment.id());
+        paymentIntentService.aprobado(intent.getId(), payment.id());
+
+        try {
+            Long orderId = orderService.createOrderFromPayment(
+                    request.payerEmail(),
+                    request.items(),
+                    request.direccion(),
+                    request.transactionAmount(),
+                    reservationCode,
+                    payment.id(),
+                    checkoutKey
+            );
+
+            log.info("Orden {} creada exitosamente para el pago: {}", orderId, payment.id());
+            paymentIntentService.completado(intent.getId(), orderId);
+            return CheckoutResult.of(payment, orderId);
+
+        } catch (DataIntegrityViolationException e) {
+            // Índice único sobre el pago: otro nodo ya registró esta orden, esta transacción no descontó nada
+            stockReservationService.liberar(reservationCode);
+            Long existente = paymentIdempotency.ordenDelPago(payment.id()).orElse(null);
+            log.info("Pago {} ya tenía orden registrada ({}), no se duplica", payment.id(), existente);
+            if (existente != null) paymentIntentService.completado(intent.getId(), existente);
+            return CheckoutResult.of(payment, existente);
+
+        } catch (Exception e) {
+            // La reserva se mantiene hasta vencer: el reconciliador reintenta registrar la orden con ella
+            log.error("ERROR CRÍTICO: Cobro realizado (MP_ID: {}) pero falló el registro de la orden, queda para reconciliar (intento {}). Causa: {}",
+                    payment.id(), intent.getId(), e.getMessage());
+            paymentIntentService.reintentar(intent.getId(), e.getClass().getSimpleName() + ": " + e.getMessage());
+            return CheckoutResult.of(payment, null);
+        }
+    }
 }
\ No newline at end of file
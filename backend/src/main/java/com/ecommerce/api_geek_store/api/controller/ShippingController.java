@@ -0,0 +1,39 @@
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.ShippingQuoteResponse;
+import com.ecommerce.api_geek_store.service.pricing.Cotizacion;
+import com.ecommerce.api_geek_store.service.shipping.Destino;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/shipping")
+public class ShippingController {
+
+    private final ShippingRateService shippingRateService;
+
+    public ShippingController(ShippingRateService shippingRateService) {
+        this.shippingRateService = shippingRateService;
+    }
+
+    /**
+     * Costo de envío para un destino y cantidad de unidades, para la vista previa del carrito.
+     * Sale de la tabla en memoria, sin tocar la base.
+     */
+    @GetMapping("/quote")
+    public ResponseEntity<ShippingQuoteResponse> quote(
+            @RequestParam(required = false) String departamento,
+            @RequestParam(required = false) String provincia,
+            @RequestParam(required = false) String distrito,
+            @RequestParam(defaultValue = "1") long unidades) {
+        if (unidades < 0 || unidades > 10_000) {
+            throw new IllegalArgumentException("Cantidad de unidades inválida: " + unidades);
+        }
+        long envio = shippingRateService.envioCentimos(Destino.de(departamento, provincia, distrito), unidades);
+        return ResponseEntity.ok(new ShippingQuoteResponse(departamento, provincia, distrito, unidades, Cotizacion.aSoles(envio)));
+    }
+}
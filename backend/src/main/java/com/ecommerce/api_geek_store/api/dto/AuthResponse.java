@@ -1,6 +1,6 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-public record AuthResponse(
-        String token
-) {
-}
+package com.ecommerce.api_geek_store.api.dto;
+
+public record AuthResponse(
+        String token
+) {
+}
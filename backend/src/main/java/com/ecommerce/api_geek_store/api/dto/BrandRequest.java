@@ -1,8 +1,8 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.NotBlank;
-
-public record BrandRequest(
-        @NotBlank(message = "El nombre de la marca es obligatorio")
-        String nombre
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record BrandRequest(
+        @NotBlank(message = "El nombre de la marca es obligatorio")
+        String nombre
 ) {}
\ No newline at end of file
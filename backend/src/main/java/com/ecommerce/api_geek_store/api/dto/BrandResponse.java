@@ -1,7 +1,7 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-
-public record BrandResponse(
-        Long id,
-        String nombre
+package com.ecommerce.api_geek_store.api.dto;
+
+
+public record BrandResponse(
+        Long id,
+        String nombre
 ) {}
\ No newline at end of file
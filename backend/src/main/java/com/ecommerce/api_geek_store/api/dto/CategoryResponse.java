@@ -1,8 +1,8 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-public record CategoryResponse(
-        Long id,
-        String nombre,
-        String descripcion
-) { }
-
+package com.ecommerce.api_geek_store.api.dto;
+
+public record CategoryResponse(
+        Long id,
+        String nombre,
+        String descripcion
+) { }
+
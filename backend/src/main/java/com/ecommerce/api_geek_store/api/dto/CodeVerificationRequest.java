@@ -1,3 +1,3 @@
-package com.ecommerce.api_geek_store.api.dto;
-
+package com.ecommerce.api_geek_store.api.dto;
+
 public record CodeVerificationRequest(String email, String code) {}
\ No newline at end of file
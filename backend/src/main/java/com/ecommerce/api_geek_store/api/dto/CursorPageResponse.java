@@ -0,0 +1,9 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -1,7 +1,7 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.NotBlank;
-
-public record GoogleLoginRequest(
-        @NotBlank String token // El token que nos manda Google desde el Frontend
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record GoogleLoginRequest(
+        @NotBlank String token // El token que nos manda Google desde el Frontend
 ) {}
\ No newline at end of file
@@ -1,13 +1,13 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
-
-public record LoginRequest(
-        @NotBlank(message = "El email es obligatorio")
-        @Email
-        String email,
-
-        @NotBlank(message = "La contraseña es obligatorio")
-        String password
-) { }
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
+public record LoginRequest(
+        @NotBlank(message = "El email es obligatorio")
+        @Email
+        String email,
+
+        @NotBlank(message = "La contraseña es obligatorio")
+        String password
+) { }
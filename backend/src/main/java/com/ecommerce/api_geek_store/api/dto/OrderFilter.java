@@ -0,0 +1,14 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales del listado de órdenes del admin; fechas inclusive.
+ */
+public record OrderFilter(
+        String estado,
+        LocalDate desde,
+        LocalDate hasta,
+        String metodoPago,
+        String email
+) {}
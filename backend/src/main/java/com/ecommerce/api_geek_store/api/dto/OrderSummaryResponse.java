@@ -0,0 +1,20 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totales del dashboard del admin, agregados en la base (sin las órdenes).
+ * Las ventas no cuentan órdenes canceladas; ultimosDias trae un valor por día, también los días sin ventas.
+ */
+public record OrderSummaryResponse(
+        BigDecimal ventasHoy,
+        BigDecimal ventasMes,
+        long totalOrdenes,
+        Map<String, Long> porEstado,
+        List<VentaDiaria> ultimosDias
+) {
+    public record VentaDiaria(LocalDate fecha, BigDecimal total) {}
+}
@@ -1,6 +1,6 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
-
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+
 public record PasswordRecoverRequest(@NotBlank @Email String email) {}
\ No newline at end of file
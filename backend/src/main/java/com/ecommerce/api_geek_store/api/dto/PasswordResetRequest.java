@@ -1,10 +1,10 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-
-public record PasswordResetRequest(
-        @NotBlank String email,
-        @NotBlank String code,
-        @NotBlank @Size(min = 8) String newPassword
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record PasswordResetRequest(
+        @NotBlank String email,
+        @NotBlank String code,
+        @NotBlank @Size(min = 8) String newPassword
 ) {}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProductFacetsResponse(
+        List<FacetValue> categories,
+        List<FacetValue> brands,
+        List<FacetValue> generos,
+        List<PriceRange> precios
+) {
+    public record FacetValue(
+            Long id,
+            String nombre,
+            long count
+    ) {}
+
+    public record PriceRange(
+            BigDecimal desde,
+            BigDecimal hasta,   // null = sin límite superior
+            long count
+    ) {}
+}
@@ -0,0 +1,15 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record QuoteRequest(
+        @NotEmpty(message = "El carrito está vacío")
+        @Size(max = 100, message = "Demasiadas líneas en el carrito")
+        List<@Valid OrderItemRequest> items,
+        @Valid
+        ShippingDestination destino // Opcional: sin destino se cotiza con la tarifa nacional
+) {}
@@ -0,0 +1,22 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+public record QuoteResponse(
+        List<QuoteLine> items,
+        BigDecimal subtotal,
+        BigDecimal envio,
+        BigDecimal total,
+        String quote,       // Se reenvía tal cual en el pago para fijar este total
+        Instant expiraEn
+) {
+    public record QuoteLine(
+            Long productId,
+            Long variantId,
+            Integer cantidad,
+            BigDecimal precioUnitario,
+            BigDecimal subtotal
+    ) {}
+}
@@ -1,28 +1,28 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-import jakarta.validation.constraints.Email;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.Size;
-
-
-
-
-
-public record RegisterRequest(
-        @NotBlank(message = "El nombre es obligatorio")
-        @Size(max = 100)
-        String nombre,
-
-        @NotBlank(message = "El apellido es obligatorio")
-        @Size(max = 100)
-        String apellido,
-
-        @NotBlank(message = "El email es obligatorio")
-        @Email(message = "Formato de email inválido")
-        @Size(max = 100)
-        String email,
-
-        @NotBlank(message = "La contraseña es obligatoria")
-        @Size(min = 8, max = 32, message = "La contraseña debe tener entre 8 y 32 caracteres")
-        String password
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+
+
+
+
+public record RegisterRequest(
+        @NotBlank(message = "El nombre es obligatorio")
+        @Size(max = 100)
+        String nombre,
+
+        @NotBlank(message = "El apellido es obligatorio")
+        @Size(max = 100)
+        String apellido,
+
+        @NotBlank(message = "El email es obligatorio")
+        @Email(message = "Formato de email inválido")
+        @Size(max = 100)
+        String email,
+
+        @NotBlank(message = "La contraseña es obligatoria")
+        @Size(min = 8, max = 32, message = "La contraseña debe tener entre 8 y 32 caracteres")
+        String password
 ) { }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Validadores HTTP de un recurso: ETag fuerte y, si se conoce, fecha de última modificación.
+ */
+public record ResourceVersion(String etag, LocalDateTime lastModified) {
+
+    public static ResourceVersion of(String resource, LocalDateTime lastModified, Object... parts) {
+        String tag = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining("."));
+        return new ResourceVersion("\"" + resource + "-" + tag + "\"", lastModified);
+    }
+
+    public static LocalDateTime latest(LocalDateTime... fechas) {
+        return Arrays.stream(fechas)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
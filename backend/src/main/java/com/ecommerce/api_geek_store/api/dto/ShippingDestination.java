@@ -0,0 +1,10 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.Size;
+
+// Ubigeo de la dirección elegida; sin destino se cobra la tarifa nacional
+public record ShippingDestination(
+        @Size(max = 100) String departamento,
+        @Size(max = 100) String provincia,
+        @Size(max = 100) String distrito
+) {}
@@ -0,0 +1,11 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.math.BigDecimal;
+
+public record ShippingQuoteResponse(
+        String departamento,
+        String provincia,
+        String distrito,
+        long unidades,
+        BigDecimal envio
+) {}
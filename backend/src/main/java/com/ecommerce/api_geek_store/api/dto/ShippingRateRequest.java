@@ -0,0 +1,21 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+public record ShippingRateRequest(
+        @Size(max = 100) String departamento, // Vacío: todo el país
+        @Size(max = 100) String provincia,    // Vacío: todo el departamento
+        @Size(max = 100) String distrito,     // Vacío: toda la provincia
+        @NotNull @Min(value = 1, message = "La banda empieza en 1 unidad como mínimo")
+        Integer unidadesDesde,
+        Integer unidadesHasta,                // Vacío: sin tope
+        @NotNull @DecimalMin(value = "0.00", message = "La tarifa base no puede ser negativa")
+        BigDecimal base,
+        @NotNull @DecimalMin(value = "0.00", message = "La tarifa por unidad no puede ser negativa")
+        BigDecimal porUnidad
+) {}
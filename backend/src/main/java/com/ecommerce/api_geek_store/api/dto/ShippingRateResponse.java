@@ -0,0 +1,16 @@
+package com.ecommerce.api_geek_store.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record ShippingRateResponse(
+        Long id,
+        String departamento,
+        String provincia,
+        String distrito,
+        Integer unidadesDesde,
+        Integer unidadesHasta,
+        BigDecimal base,
+        BigDecimal porUnidad,
+        LocalDateTime actualizadoEn
+) {}
@@ -1,6 +1,6 @@
-package com.ecommerce.api_geek_store.api.dto;
-
-public record TrackingRequest(
-        String trackingNumber,
-        String courierName
+package com.ecommerce.api_geek_store.api.dto;
+
+public record TrackingRequest(
+        String trackingNumber,
+        String courierName
 ) {}
\ No newline at end of file
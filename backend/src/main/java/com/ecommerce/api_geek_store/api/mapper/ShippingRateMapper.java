@@ -0,0 +1,44 @@
+package com.ecommerce.api_geek_store.api.mapper;
+
+import com.ecommerce.api_geek_store.api.dto.ShippingRateRequest;
+import com.ecommerce.api_geek_store.api.dto.ShippingRateResponse;
+import com.ecommerce.api_geek_store.domain.model.ShippingRate;
+import org.springframework.stereotype.Component;
+
+import java.math.RoundingMode;
+
+@Component
+public class ShippingRateMapper {
+
+    public ShippingRate toEntity(ShippingRateRequest request) {
+        if (request == null) return null;
+        ShippingRate rate = new ShippingRate();
+        rate.setDepartamento(limpiar(request.departamento()));
+        rate.setProvincia(limpiar(request.provincia()));
+        rate.setDistrito(limpiar(request.distrito()));
+        rate.setUnidadesDesde(request.unidadesDesde());
+        rate.setUnidadesHasta(request.unidadesHasta());
+        rate.setBase(request.base().setScale(2, RoundingMode.HALF_UP));
+        rate.setPorUnidad(request.porUnidad().setScale(2, RoundingMode.HALF_UP));
+        return rate;
+    }
+
+    public ShippingRateResponse toResponse(ShippingRate rate) {
+        if (rate == null) return null;
+        return new ShippingRateResponse(
+                rate.getId(),
+                rate.getDepartamento(),
+                rate.getProvincia(),
+                rate.getDistrito(),
+                rate.getUnidadesDesde(),
+                rate.getUnidadesHasta(),
+                rate.getBase(),
+                rate.getPorUnidad(),
+                rate.getActualizadoEn()
+        );
+    }
+
+    private static String limpiar(String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.api_geek_store.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Hilos virtuales para el checkout: el pedido se atiende en modo asíncrono y el hilo de Tomcat
+     * vuelve al pool mientras se espera a la procesadora, así el catálogo no se traba si el cobro se pone lento.
+     * La concurrencia real hacia la procesadora la acota el bulkhead de PaymentService.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService checkoutExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("checkout-", 0).factory());
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.api_geek_store.config;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+
+@Configuration
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(name = "catalog.search.mode", havingValue = "FULLTEXT")
+public class FullTextSearchConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FullTextSearchConfig.class);
+
+    private final DataSource dataSource;
+
+    public FullTextSearchConfig(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    // Hibernate (ddl-auto=update) no sabe crear columnas generadas ni índices GIN
+    @PostConstruct
+    public void init() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(new ClassPathResource("db/search/fulltext.sql"));
+        populator.execute(dataSource);
+        log.info("Búsqueda full-text habilitada: columna search_vector e índices GIN verificados.");
+    }
+}
@@ -1,112 +1,112 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.*;
-import org.hibernate.annotations.DialectOverride;
-
-import java.util.Objects;
-
-@Entity
-@Table(name = "addresses",
-        indexes = {
-                @Index(name = "idx_address_user", columnList = "user_id")
-        }
-)
-
-
-public class Address {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false, length = 50)
-    private String alias;
-
-    @Column(nullable = false, length = 100)
-    private String departamento;
-
-    @Column(nullable = false, length = 100)
-    private String provincia;
-
-    @Column(nullable = false, length = 100)
-    private String distrito;
-
-    @Column(nullable = false, length = 200)
-    private String direccion;
-
-    @Column(length = 200)
-    private String referencia;
-
-    @Column(nullable = false, length = 20)
-    private String codigoPostal;
-
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;
-
-
-
-    public Address() {}
-
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getAlias() { return alias; }
-    public void setAlias(String alias) { this.alias = alias; }
-
-    public String getDepartamento() { return departamento; }
-    public void setDepartamento(String departamento) { this.departamento = departamento; }
-
-    public String getProvincia() { return provincia; }
-    public void setProvincia(String provincia) { this.provincia = provincia; }
-
-    public String getDistrito() { return distrito; }
-    public void setDistrito(String distrito) { this.distrito = distrito; }
-
-    public String getDireccion() { return direccion; }
-    public void setDireccion(String direccion) { this.direccion = direccion; }
-
-    public String getReferencia() { return referencia; }
-    public void setReferencia(String referencia) { this.referencia = referencia; }
-
-    public String getCodigoPostal() { return codigoPostal; }
-    public void setCodigoPostal(String codigoPostal) { this.codigoPostal = codigoPostal; }
-
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Address address = (Address) o;
-        return Objects.equals(id, address.id);
-    }
-
-
-
-
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-
-
-
-
-
-    @Override
-    public String toString() {
-        return "Address{" +
-                "id=" + id +
-                ", alias='" + alias + '\'' +
-                ", direccion='" + direccion + '\'' +
-                '}';
-    }
-
-
-
-
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.DialectOverride;
+
+import java.util.Objects;
+
+@Entity
+@Table(name = "addresses",
+        indexes = {
+                @Index(name = "idx_address_user", columnList = "user_id")
+        }
+)
+
+
+public class Address {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String alias;
+
+    @Column(nullable = false, length = 100)
+    private String departamento;
+
+    @Column(nullable = false, length = 100)
+    private String provincia;
+
+    @Column(nullable = false, length = 100)
+    private String distrito;
+
+    @Column(nullable = false, length = 200)
+    private String direccion;
+
+    @Column(length = 200)
+    private String referencia;
+
+    @Column(nullable = false, length = 20)
+    private String codigoPostal;
+
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+
+
+    public Address() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAlias() { return alias; }
+    public void setAlias(String alias) { this.alias = alias; }
+
+    public String getDepartamento() { return departamento; }
+    public void setDepartamento(String departamento) { this.departamento = departamento; }
+
+    public String getProvincia() { return provincia; }
+    public void setProvincia(String provincia) { this.provincia = provincia; }
+
+    public String getDistrito() { return distrito; }
+    public void setDistrito(String distrito) { this.distrito = distrito; }
+
+    public String getDireccion() { return direccion; }
+    public void setDireccion(String direccion) { this.direccion = direccion; }
+
+    public String getReferencia() { return referencia; }
+    public void setReferencia(String referencia) { this.referencia = referencia; }
+
+    public String getCodigoPostal() { return codigoPostal; }
+    public void setCodigoPostal(String codigoPostal) { this.codigoPostal = codigoPostal; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Address address = (Address) o;
+        return Objects.equals(id, address.id);
+    }
+
+
+
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+
+
+
+
+    @Override
+    public String toString() {
+        return "Address{" +
+                "id=" + id +
+                ", alias='" + alias + '\'' +
+                ", direccion='" + direccion + '\'' +
+                '}';
+    }
+
+
+
+
 }
\ No newline at end of file
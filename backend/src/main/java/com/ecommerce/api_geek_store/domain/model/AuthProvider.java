@@ -1,9 +1,9 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-public enum AuthProvider {
-    LOCAL,
-    GOOGLE
-}
-
-
-
+package com.ecommerce.api_geek_store.domain.model;
+
+public enum AuthProvider {
+    LOCAL,
+    GOOGLE
+}
+
+
+
@@ -1,60 +1,79 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.*;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
-
-@Entity
-@Table(name = "brands")
-public class Brand {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false, unique = true)
-    private String nombre;
-
-
-    @OneToMany(mappedBy = "brand", fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    private List<Product> products = new ArrayList<>();
-
-
-
-    public Brand() {}
-
-    public Brand(String nombre) {
-        this.nombre = nombre;
-    }
-
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-    public String getNombre() { return nombre; }
-    public void setNombre(String nombre) { this.nombre = nombre; }
-    public List<Product> getProducts() { return products; }
-    public void setProducts(List<Product> products) { this.products = products; }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        Brand brand = (Brand) o;
-        return Objects.equals(id, brand.id);
-    }
-
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(id);
-    }
-
-    @Override
-    public String toString(){
-        return "Brand{" +
-                "id=" + id +
-                ", nombre='" + nombre + '\'' +
-                ", products=" + products +
-                '}';
-    }
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Entity
+@Table(name = "brands")
+public class Brand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String nombre;
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+
+    @OneToMany(mappedBy = "brand", fetch = FetchType.LAZY, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
+    private List<Product> products = new ArrayList<>();
+
+
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Brand() {}
+
+    public Brand(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+    public long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public List<Product> getProducts() { return products; }
+    public void setProducts(List<Product> products) { this.products = products; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Brand brand = (Brand) o;
+        return Objects.equals(id, brand.id);
+    }
+
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString(){
+        return "Brand{" +
+                "id=" + id +
+                ", nombre='" + nombre + '\'' +
+                ", products=" + products +
+                '}';
+    }
 }
\ No newline at end of file
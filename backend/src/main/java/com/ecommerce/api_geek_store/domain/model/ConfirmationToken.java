@@ -1,55 +1,55 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.*;
-import org.springframework.cglib.core.Local;
-
-import java.time.LocalDateTime;
-import java.util.UUID;
-
-@Entity
-@Table(name = "confirmation_tokens",
-        indexes = {
-                @Index(name = "idx_conf_token", columnList = "token")
-        }
-)
-
-
-public class ConfirmationToken {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false, unique = true)
-    private String token;
-
-    @Column(nullable = false)
-    private LocalDateTime createdAt;
-
-    @Column(nullable = false)
-    private LocalDateTime expiresAt;
-
-    private LocalDateTime confirmedAt;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(nullable = false, name = "user_id")
-    private User user;
-
-
-
-    public ConfirmationToken(User user) {
-        this.user = user;
-        this.token = UUID.randomUUID().toString();
-        this.createdAt = LocalDateTime.now();
-        this.expiresAt = LocalDateTime.now().plusMinutes(15);
-    }
-
-
-
-    public Long getId() { return id; }
-    public String getToken() { return token; }
-    public LocalDateTime getExpiresAt() { return expiresAt; }
-    public LocalDateTime getConfirmedAt() { return confirmedAt; }
-    public void setConfirmedAt(LocalDateTime confirmedAt) { this.confirmedAt = confirmedAt; }
-    public User getUser() { return user; }
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+import org.springframework.cglib.core.Local;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "confirmation_tokens",
+        indexes = {
+                @Index(name = "idx_conf_token", columnList = "token")
+        }
+)
+
+
+public class ConfirmationToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String token;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    private LocalDateTime confirmedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(nullable = false, name = "user_id")
+    private User user;
+
+
+
+    public ConfirmationToken(User user) {
+        this.user = user;
+        this.token = UUID.randomUUID().toString();
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = LocalDateTime.now().plusMinutes(15);
+    }
+
+
+
+    public Long getId() { return id; }
+    public String getToken() { return token; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+    public LocalDateTime getConfirmedAt() { return confirmedAt; }
+    public void setConfirmedAt(LocalDateTime confirmedAt) { this.confirmedAt = confirmedAt; }
+    public User getUser() { return user; }
 }
\ No newline at end of file
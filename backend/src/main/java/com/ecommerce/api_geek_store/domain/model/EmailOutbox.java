@@ -0,0 +1,102 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Correo pendiente de envío, escrito en la misma transacción que el cambio que lo origina.
+ * El payload es una foto en JSON de lo necesario para armar el mensaje: no vuelve a leer entidades.
+ */
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_estado_proximo", columnList = "estado, proximo_intento")
+})
+public class EmailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private TipoEmail tipo;
+
+    @Column(nullable = false)
+    private String destinatario;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoEmail estado = EstadoEmail.PENDIENTE;
+
+    @Column(nullable = false)
+    private int intentos = 0;
+
+    // Próxima vez que el despachador puede tomarlo (reintento o vencimiento del turno de otro nodo)
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "enviado_en")
+    private LocalDateTime enviadoEn;
+
+    @PrePersist
+    protected void onCreate() {
+        this.creadoEn = LocalDateTime.now();
+        if (proximoIntento == null) proximoIntento = creadoEn;
+    }
+
+    public EmailOutbox() {}
+
+    public EmailOutbox(TipoEmail tipo, String destinatario, String payload) {
+        this.tipo = tipo;
+        this.destinatario = destinatario;
+        this.payload = payload;
+    }
+
+    public Long getId() { return id; }
+
+    public TipoEmail getTipo() { return tipo; }
+
+    public String getDestinatario() { return destinatario; }
+
+    public String getPayload() { return payload; }
+
+    public EstadoEmail getEstado() { return estado; }
+    public void setEstado(EstadoEmail estado) { this.estado = estado; }
+
+    public int getIntentos() { return intentos; }
+    public void setIntentos(int intentos) { this.intentos = intentos; }
+
+    public LocalDateTime getProximoIntento() { return proximoIntento; }
+    public void setProximoIntento(LocalDateTime proximoIntento) { this.proximoIntento = proximoIntento; }
+
+    public String getUltimoError() { return ultimoError; }
+    public void setUltimoError(String ultimoError) { this.ultimoError = ultimoError; }
+
+    public LocalDateTime getCreadoEn() { return creadoEn; }
+
+    public LocalDateTime getEnviadoEn() { return enviadoEn; }
+    public void setEnviadoEn(LocalDateTime enviadoEn) { this.enviadoEn = enviadoEn; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EmailOutbox)) return false;
+        return id != null && id.equals(((EmailOutbox) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getClass());
+    }
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+public enum EstadoIntento {
+    INICIADO,   // Registrado antes de llamar a la procesadora: no se sabe si hubo cobro
+    APROBADO,   // Cobro aprobado, falta registrar la orden
+    COMPLETADO,
+    RECHAZADO,
+    FALLIDO     // Agotó los reintentos con el cobro hecho: requiere revisión manual
+}
@@ -0,0 +1,7 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+public enum EstadoNotificacion {
+    PENDIENTE,
+    PROCESADA,
+    FALLIDA
+}
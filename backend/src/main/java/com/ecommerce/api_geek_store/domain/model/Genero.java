@@ -1,7 +1,7 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-public enum Genero {
-    HOMBRE,
-    MUJER,
-    UNISEX
+package com.ecommerce.api_geek_store.domain.model;
+
+public enum Genero {
+    HOMBRE,
+    MUJER,
+    UNISEX
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Intento de cobro, persistido antes de llamar a la procesadora. Si el pedido HTTP muere a mitad
+ * (o falla el registro de la orden con el cobro hecho), el reconciliador lo retoma desde acá.
+ * El payload guarda ítems y dirección en JSON; el token de la tarjeta nunca se persiste.
+ */
+@Entity
+@Table(name = "payment_intents", indexes = {
+        @Index(name = "idx_payment_intent_estado_proximo", columnList = "estado, proximo_intento"),
+        @Index(name = "idx_payment_intent_checkout_key", columnList = "checkout_key")
+})
+public class PaymentIntent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "checkout_key", length = 64)
+    private String checkoutKey;
+
+    @Column(name = "payer_email", nullable = false)
+    private String payerEmail;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal monto;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "reservation_code", length = 36)
+    private String reservationCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoIntento estado = EstadoIntento.INICIADO;
+
+    @Column(name = "mp_payment_id")
+    private Long mpPaymentId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(nullable = false)
+    private int intentos = 0;
+
+    // Próxima vez que el reconciliador puede tomarlo
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    @PrePersist
+    protected void onCreate() {
+        this.creadoEn = LocalDateTime.now();
+        this.actualizadoEn = creadoEn;
+        if (proximoIntento == null) proximoIntento = creadoEn;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.actualizadoEn = LocalDateTime.now();
+    }
+
+    public PaymentIntent() {}
+
+    public PaymentIntent(String checkoutKey, String payerEmail, BigDecimal monto, String payload, String reservationCode) {
+        this.checkoutKey = checkoutKey;
+        this.payerEmail = payerEmail;
+        this.monto = monto;
+        this.payload = payload;
+        this.reservationCode = reservationCode;
+    }
+
+    // Referencia externa con la que se busca el pago en la procesadora si la respuesta se perdió
+    public String getExternalReference() {
+        return "intent-" + id;
+    }
+
+    public boolean isPendiente() {
+        return estado == EstadoIntento.INICIADO || estado == EstadoIntento.APROBADO;
+    }
+
+    public Long getId() { return id; }
+
+    public String getCheckoutKey() { return checkoutKey; }
+
+    public String getPayerEmail() { return payerEmail; }
+
+    public BigDecimal getMonto() { return monto; }
+
+    public String getPayload() { return payload; }
+
+    public String getReservationCode() { return reservationCode; }
+    public void setReservationCode(String reservationCode) { this.reservationCode = reservationCode; }
+
+    public EstadoIntento getEstado() { return estado; }
+    public void setEstado(EstadoIntento estado) { this.estado = estado; }
+
+    public Long getMpPaymentId() { return mpPaymentId; }
+    public void setMpPaymentId(Long mpPaymentId) { this.mpPaymentId = mpPaymentId; }
+
+    public Long getOrderId() { return orderId; }
+    public void setOrderId(Long orderId) { this.orderId = orderId; }
+
+    public int getIntentos() { return intentos; }
+    public void setIntentos(int intentos) { this.intentos = intentos; }
+
+    public LocalDateTime getProximoIntento() { return proximoIntento; }
+    public void setProximoIntento(LocalDateTime proximoIntento) { this.proximoIntento = proximoIntento; }
+
+    public String getUltimoError() { return ultimoError; }
+    public void setUltimoError(String ultimoError) { this.ultimoError = ultimoError; }
+
+    public LocalDateTime getCreadoEn() { return creadoEn; }
+
+    public LocalDateTime getActualizadoEn() { return actualizadoEn; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PaymentIntent)) return false;
+        return id != null && id.equals(((PaymentIntent) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getClass());
+    }
+}
@@ -0,0 +1,84 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Notificación de pago recibida por webhook. notification_id es único: una notificación repetida
+ * que se escape del filtro en memoria (otro nodo, reinicio) no vuelve a entrar.
+ * Las filas se insertan por lote con JDBC (PaymentWebhookInbox); la entidad se usa para procesarlas.
+ */
+@Entity
+@Table(name = "payment_notifications",
+        uniqueConstraints = @UniqueConstraint(name = "uk_payment_notification_id", columnNames = "notification_id"),
+        indexes = @Index(name = "idx_payment_notification_estado_proximo", columnList = "estado, proximo_intento"))
+public class PaymentNotification {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "notification_id", nullable = false, length = 100)
+    private String notificationId;
+
+    @Column(name = "payment_id", nullable = false)
+    private Long paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoNotificacion estado = EstadoNotificacion.PENDIENTE;
+
+    @Column(nullable = false)
+    private int intentos = 0;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "recibido_en", nullable = false, updatable = false)
+    private LocalDateTime recibidoEn;
+
+    @Column(name = "procesado_en")
+    private LocalDateTime procesadoEn;
+
+    public PaymentNotification() {}
+
+    public Long getId() { return id; }
+
+    public String getNotificationId() { return notificationId; }
+
+    public Long getPaymentId() { return paymentId; }
+
+    public EstadoNotificacion getEstado() { return estado; }
+    public void setEstado(EstadoNotificacion estado) { this.estado = estado; }
+
+    public int getIntentos() { return intentos; }
+    public void setIntentos(int intentos) { this.intentos = intentos; }
+
+    public LocalDateTime getProximoIntento() { return proximoIntento; }
+    public void setProximoIntento(LocalDateTime proximoIntento) { this.proximoIntento = proximoIntento; }
+
+    public String getUltimoError() { return ultimoError; }
+    public void setUltimoError(String ultimoError) { this.ultimoError = ultimoError; }
+
+    public LocalDateTime getRecibidoEn() { return recibidoEn; }
+
+    public LocalDateTime getProcesadoEn() { return procesadoEn; }
+    public void setProcesadoEn(LocalDateTime procesadoEn) { this.procesadoEn = procesadoEn; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PaymentNotification)) return false;
+        return id != null && id.equals(((PaymentNotification) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getClass());
+    }
+}
@@ -1,140 +1,173 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.*;
-import java.math.BigDecimal;
-import java.util.*;
-
-@Entity
-@Table(name = "products", indexes = {
-        @Index(name = "idx_product_nombre", columnList = "nombre"),
-        @Index(name = "idx_product_featured", columnList = "featured")
-})
-public class Product {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String nombre;
-
-    @Column(columnDefinition = "TEXT")
-    private String descripcion;
-
-    @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal precio;
-
-    @OneToMany(mappedBy = "product", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private Set<ProductImage> images = new HashSet<>();
-
-    @Enumerated(EnumType.STRING)
-    @Column(name = "genero", length = 20)
-    private Genero genero;
-
-
-    @Column(name = "featured")
-    private Boolean featured = false;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "category_id")
-    private Category category;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "brand_id")
-    private Brand brand;
-
-    @Column(name = "descuento_porcentaje")
-    private Integer descuento = 0;
-
-    @OneToMany(mappedBy = "product", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
-    private Set<ProductVariant> variants = new HashSet<>();
-
-    public Product(){}
-
-    public void addVariant(ProductVariant variant) {
-        variants.add(variant);
-        variant.setProduct(this);
-    }
-
-
-
-    public void removeVariant(ProductVariant variant) {
-        variants.remove(variant);
-        variant.setProduct(null);
-    }
-
-    public void addImage(ProductImage image) {
-        images.add(image);
-        image.setProduct(this);
-    }
-
-    public void removeImage(ProductImage image) {
-        images.remove(image);
-        image.setProduct(null);
-    }
-
-    public Integer getTotalStock() {
-        if (variants == null) return 0;
-        return variants.stream().mapToInt(ProductVariant::getStock).sum();
-    }
-
-
-
-    public String getImagenUrl() {
-        if (images != null) {
-            return images.stream()
-                    .findFirst()
-                    .map(ProductImage::getUrl)
-                    .orElse(null);
-        }
-        return null;
-    }
-
-
-
-
-    public Long getId() { return id; }
-    public void setId(Long id) { this.id = id; }
-
-    public String getNombre() { return nombre; }
-    public void setNombre(String nombre) { this.nombre = nombre; }
-
-    public String getDescripcion() { return descripcion; }
-    public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
-
-    public BigDecimal getPrecio() { return precio; }
-    public void setPrecio(BigDecimal precio) { this.precio = precio; }
-
-
-    public Genero getGenero() { return genero; }
-    public void setGenero(Genero genero) { this.genero = genero; }
-
-    public Boolean getFeatured() { return featured; }
-    public void setFeatured(Boolean featured) { this.featured = featured; }
-
-    public Category getCategory() { return category; }
-    public void setCategory(Category category) { this.category = category; }
-
-    public Brand getBrand() { return brand; }
-    public void setBrand(Brand brand) { this.brand = brand; }
-
-    public Integer getDescuento() { return descuento; }
-    public void setDescuento(Integer descuento) { this.descuento = descuento; }
-
-    public Set<ProductImage> getImages() { return images; }
-    public void setImages(Set<ProductImage> images) { this.images = images; }
-
-    public Set<ProductVariant> getVariants() { return variants; }
-    public void setVariants(Set<ProductVariant> variants) { this.variants = variants; }
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof Product)) return false;
-        return id != null && id.equals(((Product) o).getId());
-    }
-
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.ColumnDefault;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+@Entity
+@Table(name = "products", indexes = {
+        @Index(name = "idx_product_nombre", columnList = "nombre"),
+        @Index(name = "idx_product_nombre_id", columnList = "nombre, id"),
+        @Index(name = "idx_product_featured", columnList = "featured"),
+        @Index(name = "idx_product_category_genero", columnList = "category_id, genero"),
+        @Index(name = "idx_product_brand", columnList = "brand_id")
+})
+public class Product {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String nombre;
+
+    @Column(columnDefinition = "TEXT")
+    private String descripcion;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal precio;
+
+    @OneToMany(mappedBy = "product", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
+    private Set<ProductImage> images = new HashSet<>();
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "genero", length = 20)
+    private Genero genero;
+
+
+    @Column(name = "featured")
+    private Boolean featured = false;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id")
+    private Category category;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "brand_id")
+    private Brand brand;
+
+    @Column(name = "descuento_porcentaje")
+    private Integer descuento = 0;
+
+    @OneToMany(mappedBy = "product", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @BatchSize(size = 50)
+    private Set<ProductVariant> variants = new HashSet<>();
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * Cambios solo en imágenes o variantes no ensucian la fila del producto;
+     * esto la marca para que suban version y updated_at.
+     */
+    public void markUpdated() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public Product(){}
+
+    public void addVariant(ProductVariant variant) {
+        variants.add(variant);
+        variant.setProduct(this);
+    }
+
+
+
+    public void removeVariant(ProductVariant variant) {
+        variants.remove(variant);
+        variant.setProduct(null);
+    }
+
+    public void addImage(ProductImage image) {
+        images.add(image);
+        image.setProduct(this);
+    }
+
+    public void removeImage(ProductImage image) {
+        images.remove(image);
+        image.setProduct(null);
+    }
+
+    public Integer getTotalStock() {
+        if (variants == null) return 0;
+        return variants.stream().mapToInt(ProductVariant::getStock).sum();
+    }
+
+
+
+    public String getImagenUrl() {
+        if (images != null) {
+            return images.stream()
+                    .findFirst()
+                    .map(ProductImage::getUrl)
+                    .orElse(null);
+        }
+        return null;
+    }
+
+
+
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getNombre() { return nombre; }
+    public void setNombre(String nombre) { this.nombre = nombre; }
+
+    public String getDescripcion() { return descripcion; }
+    public void setDescripcion(String descripcion) { this.descripcion = descripcion; }
+
+    public BigDecimal getPrecio() { return precio; }
+    public void setPrecio(BigDecimal precio) { this.precio = precio; }
+
+
+    public Genero getGenero() { return genero; }
+    public void setGenero(Genero genero) { this.genero = genero; }
+
+    public Boolean getFeatured() { return featured; }
+    public void setFeatured(Boolean featured) { this.featured = featured; }
+
+    public Category getCategory() { return category; }
+    public void setCategory(Category category) { this.category = category; }
+
+    public Brand getBrand() { return brand; }
+    public void setBrand(Brand brand) { this.brand = brand; }
+
+    public Integer getDescuento() { return descuento; }
+    public void setDescuento(Integer descuento) { this.descuento = descuento; }
+
+    public Set<ProductImage> getImages() { return images; }
+    public void setImages(Set<ProductImage> images) { this.images = images; }
+
+    public Set<ProductVariant> getVariants() { return variants; }
+    public void setVariants(Set<ProductVariant> variants) { this.variants = variants; }
+
+    public long getVersion() { return version; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Product)) return false;
+        return id != null && id.equals(((Product) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
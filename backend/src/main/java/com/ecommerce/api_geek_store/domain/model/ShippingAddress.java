@@ -1,50 +1,50 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.Column;
-import jakarta.persistence.Embeddable;
-
-@Embeddable
-public class ShippingAddress {
-
-
-    @Column(nullable = false, length = 150)
-    private String calle;
-
-    @Column(nullable = false, length = 100)
-    private String ciudad;
-
-    @Column(nullable = false, length = 100)
-    private String estado;
-
-    @Column(nullable = false, length = 20)
-    private String codigoPostal;
-
-    @Column(nullable = false, length = 100)
-    private String pais;
-
-    public ShippingAddress() {}
-
-    public ShippingAddress(String calle, String ciudad, String estado, String codigoPostal, String pais) {
-        this.calle = calle;
-        this.ciudad = ciudad;
-        this.estado = estado;
-        this.codigoPostal = codigoPostal;
-        this.pais = pais;
-    }
-
-    public String getCalle() { return calle; }
-    public void setCalle(String calle) { this.calle = calle; }
-    public String getCiudad() { return ciudad; }
-    public void setCiudad(String ciudad) { this.ciudad = ciudad; }
-    public String getEstado() { return estado; }
-    public void setEstado(String estado) { this.estado = estado; }
-    public String getCodigoPostal() { return codigoPostal; }
-    public void setCodigoPostal(String codigoPostal) { this.codigoPostal = codigoPostal; }
-    public String getPais() { return pais; }
-    public void setPais(String pais) { this.pais = pais; }
-
-    @Override
-    public String toString() {
-        return String.format("%s, %s, %s - %s (%s)", calle, ciudad, estado, codigoPostal, pais);
-    }
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class ShippingAddress {
+
+
+    @Column(nullable = false, length = 150)
+    private String calle;
+
+    @Column(nullable = false, length = 100)
+    private String ciudad;
+
+    @Column(nullable = false, length = 100)
+    private String estado;
+
+    @Column(nullable = false, length = 20)
+    private String codigoPostal;
+
+    @Column(nullable = false, length = 100)
+    private String pais;
+
+    public ShippingAddress() {}
+
+    public ShippingAddress(String calle, String ciudad, String estado, String codigoPostal, String pais) {
+        this.calle = calle;
+        this.ciudad = ciudad;
+        this.estado = estado;
+        this.codigoPostal = codigoPostal;
+        this.pais = pais;
+    }
+
+    public String getCalle() { return calle; }
+    public void setCalle(String calle) { this.calle = calle; }
+    public String getCiudad() { return ciudad; }
+    public void setCiudad(String ciudad) { this.ciudad = ciudad; }
+    public String getEstado() { return estado; }
+    public void setEstado(String estado) { this.estado = estado; }
+    public String getCodigoPostal() { return codigoPostal; }
+    public void setCodigoPostal(String codigoPostal) { this.codigoPostal = codigoPostal; }
+    public String getPais() { return pais; }
+    public void setPais(String pais) { this.pais = pais; }
+
+    @Override
+    public String toString() {
+        return String.format("%s, %s, %s - %s (%s)", calle, ciudad, estado, codigoPostal, pais);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la tabla de tarifas de envío. Provincia y distrito vacíos valen para todo el nivel de arriba
+ * (todo el departamento, o todo el país si tampoco hay departamento). Cada fila cubre una banda
+ * de unidades [desde, hasta]; hasta vacío deja la banda abierta.
+ */
+@Entity
+@Table(name = "shipping_rates", indexes = {
+        @Index(name = "idx_shipping_rate_destino", columnList = "departamento, provincia, distrito")
+})
+public class ShippingRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 100)
+    private String departamento;
+
+    @Column(length = 100)
+    private String provincia;
+
+    @Column(length = 100)
+    private String distrito;
+
+    @Column(name = "unidades_desde", nullable = false)
+    private int unidadesDesde = 1;
+
+    @Column(name = "unidades_hasta")
+    private Integer unidadesHasta;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal base = BigDecimal.ZERO;
+
+    @Column(name = "por_unidad", nullable = false, precision = 10, scale = 2)
+    private BigDecimal porUnidad = BigDecimal.ZERO;
+
+    @Column(name = "actualizado_en", nullable = false)
+    private LocalDateTime actualizadoEn;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        this.actualizadoEn = LocalDateTime.now();
+    }
+
+    public ShippingRate() {}
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getDepartamento() { return departamento; }
+    public void setDepartamento(String departamento) { this.departamento = departamento; }
+
+    public String getProvincia() { return provincia; }
+    public void setProvincia(String provincia) { this.provincia = provincia; }
+
+    public String getDistrito() { return distrito; }
+    public void setDistrito(String distrito) { this.distrito = distrito; }
+
+    public int getUnidadesDesde() { return unidadesDesde; }
+    public void setUnidadesDesde(int unidadesDesde) { this.unidadesDesde = unidadesDesde; }
+
+    public Integer getUnidadesHasta() { return unidadesHasta; }
+    public void setUnidadesHasta(Integer unidadesHasta) { this.unidadesHasta = unidadesHasta; }
+
+    public BigDecimal getBase() { return base; }
+    public void setBase(BigDecimal base) { this.base = base; }
+
+    public BigDecimal getPorUnidad() { return porUnidad; }
+    public void setPorUnidad(BigDecimal porUnidad) { this.porUnidad = porUnidad; }
+
+    public LocalDateTime getActualizadoEn() { return actualizadoEn; }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Línea del ledger de reservas: unidades de una variante apartadas mientras se procesa un pago.
+ * Todas las líneas de un mismo checkout comparten el código.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = {
+        @Index(name = "idx_reservation_codigo", columnList = "codigo"),
+        @Index(name = "idx_reservation_estado_expira", columnList = "estado, expira_en"),
+        @Index(name = "idx_reservation_variant_estado", columnList = "variant_id, estado")
+})
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String codigo;
+
+    @Column(name = "variant_id", nullable = false)
+    private Long variantId;
+
+    @Column(nullable = false)
+    private Integer cantidad;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoReserva estado = EstadoReserva.ACTIVA;
+
+    @Column(name = "expira_en", nullable = false)
+    private LocalDateTime expiraEn;
+
+    @Column(name = "creado_en", nullable = false, updatable = false)
+    private LocalDateTime creadoEn;
+
+    @PrePersist
+    protected void onCreate() {
+        this.creadoEn = LocalDateTime.now();
+    }
+
+    public StockReservation() {}
+
+    public StockReservation(String codigo, Long variantId, Integer cantidad, LocalDateTime expiraEn) {
+        this.codigo = codigo;
+        this.variantId = variantId;
+        this.cantidad = cantidad;
+        this.expiraEn = expiraEn;
+    }
+
+    public Long getId() { return id; }
+
+    public String getCodigo() { return codigo; }
+
+    public Long getVariantId() { return variantId; }
+
+    public Integer getCantidad() { return cantidad; }
+
+    public EstadoReserva getEstado() { return estado; }
+    public void setEstado(EstadoReserva estado) { this.estado = estado; }
+
+    public LocalDateTime getExpiraEn() { return expiraEn; }
+
+    public LocalDateTime getCreadoEn() { return creadoEn; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof StockReservation)) return false;
+        return id != null && id.equals(((StockReservation) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(getClass());
+    }
+}
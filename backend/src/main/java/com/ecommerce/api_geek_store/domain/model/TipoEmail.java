@@ -0,0 +1,9 @@
+package com.ecommerce.api_geek_store.domain.model;
+
+public enum TipoEmail {
+    TEXTO_SIMPLE,
+    CONFIRMACION_ORDEN,
+    ESTADO_ORDEN,
+    VERIFICACION_CUENTA,
+    CODIGO_RECUPERACION
+}
@@ -1,3 +1,3 @@
-package com.ecommerce.api_geek_store.domain.model;
-
+package com.ecommerce.api_geek_store.domain.model;
+
 public enum TipoReclamo { RECLAMO, QUEJA }
\ No newline at end of file
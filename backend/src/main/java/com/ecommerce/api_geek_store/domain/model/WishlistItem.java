@@ -1,64 +1,64 @@
-package com.ecommerce.api_geek_store.domain.model;
-
-import jakarta.persistence.*;
-import java.time.LocalDateTime;
-
-@Entity
-
-@Table(name = "wishlist_items", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"user_id", "product_id"})
-})
-
-
-public class WishlistItem {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id", nullable = false)
-    private User user;
-
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
-    private Product product;
-
-    @Column(name = "fecha_agregado", nullable = false, updatable = false)
-    private LocalDateTime fechaAgregado;
-
-    @PrePersist
-    protected void onCreate() {
-        this.fechaAgregado = LocalDateTime.now();
-    }
-
-    public WishlistItem() {}
-
-    public WishlistItem(User user, Product product) {
-        this.user = user;
-        this.product = product;
-    }
-
-    public Long getId() { return id; }
-
-    public Product getProduct() { return product; }
-    public void setProduct(Product product) { this.product = product; }
-
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
-
-    public LocalDateTime getFechaAgregado() { return fechaAgregado; }
-
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof WishlistItem)) return false;
-        return id != null && id.equals(((WishlistItem) o).id);
-    }
-
-    @Override
-    public int hashCode() {
-        return getClass().hashCode();
-    }
+package com.ecommerce.api_geek_store.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+
+@Table(name = "wishlist_items", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "product_id"})
+})
+
+
+public class WishlistItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(name = "fecha_agregado", nullable = false, updatable = false)
+    private LocalDateTime fechaAgregado;
+
+    @PrePersist
+    protected void onCreate() {
+        this.fechaAgregado = LocalDateTime.now();
+    }
+
+    public WishlistItem() {}
+
+    public WishlistItem(User user, Product product) {
+        this.user = user;
+        this.product = product;
+    }
+
+    public Long getId() { return id; }
+
+    public Product getProduct() { return product; }
+    public void setProduct(Product product) { this.product = product; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public LocalDateTime getFechaAgregado() { return fechaAgregado; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof WishlistItem)) return false;
+        return id != null && id.equals(((WishlistItem) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
 }
\ No newline at end of file
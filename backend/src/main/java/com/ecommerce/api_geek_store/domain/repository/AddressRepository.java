@@ -1,17 +1,17 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.Address;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface AddressRepository extends JpaRepository<Address, Long> {
-    List<Address> findByUserId(Long userId);
-    long countByUserId(Long userId);
-
-}
-
-
-
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Address;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AddressRepository extends JpaRepository<Address, Long> {
+    List<Address> findByUserId(Long userId);
+    long countByUserId(Long userId);
+
+}
+
+
+
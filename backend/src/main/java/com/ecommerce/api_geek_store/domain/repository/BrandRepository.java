@@ -1,11 +1,18 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-
-import com.ecommerce.api_geek_store.domain.model.Brand;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-@Repository
-public interface BrandRepository extends JpaRepository<Brand, Long> {
-    boolean existsByNombre(String nombre);
+package com.ecommerce.api_geek_store.domain.repository;
+
+
+import com.ecommerce.api_geek_store.domain.model.Brand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BrandRepository extends JpaRepository<Brand, Long> {
+    boolean existsByNombre(String nombre);
+
+    @Query("SELECT b.version AS version, b.updatedAt AS updatedAt FROM Brand b WHERE b.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
 }
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class CatalogChangeRepository {
+
+    private static final String REGISTRAR = """
+            INSERT INTO catalog_changes (product_id, creado_en) VALUES (:productId, CURRENT_TIMESTAMP)
+            """;
+    private static final String ULTIMO = "SELECT COALESCE(MAX(id), 0) FROM catalog_changes";
+    private static final String LEER_DESDE = """
+            SELECT id, product_id FROM catalog_changes WHERE id > :desde ORDER BY id LIMIT :limite
+            """;
+    private static final String LEER_IDS = "SELECT id, product_id FROM catalog_changes WHERE id IN (:ids)";
+    private static final String PURGAR = "DELETE FROM catalog_changes WHERE creado_en < :limite";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CatalogChangeRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Un producto que cambió en alguna escritura confirmada; el id crece con cada registro.
+     */
+    public record CatalogChange(long id, long productId) {}
+
+    public void registrar(Collection<Long> productIds) {
+        jdbcTemplate.batchUpdate(REGISTRAR, productIds.stream()
+                .map(id -> new MapSqlParameterSource("productId", id))
+                .toArray(MapSqlParameterSource[]::new));
+    }
+
+    public long ultimo() {
+        Long ultimo = jdbcTemplate.getJdbcTemplate().queryForObject(ULTIMO, Long.class);
+        return ultimo != null ? ultimo : 0;
+    }
+
+    public List<CatalogChange> leerDesde(long desde, int limite) {
+        return jdbcTemplate.query(LEER_DESDE, Map.of("desde", desde, "limite", limite), (rs, rowNum) ->
+                new CatalogChange(rs.getLong("id"), rs.getLong("product_id")));
+    }
+
+    // Ids salteados en una lectura anterior: pueden ser de transacciones que confirmaron después
+    public List<CatalogChange> leer(Collection<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        return jdbcTemplate.query(LEER_IDS, Map.of("ids", ids), (rs, rowNum) ->
+                new CatalogChange(rs.getLong("id"), rs.getLong("product_id")));
+    }
+
+    public int purgar(LocalDateTime limite) {
+        return jdbcTemplate.update(PURGAR, Map.of("limite", limite));
+    }
+}
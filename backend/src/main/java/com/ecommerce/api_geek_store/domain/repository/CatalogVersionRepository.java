@@ -0,0 +1,57 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+@Repository
+public class CatalogVersionRepository {
+
+    private static final String SEMBRAR = """
+            INSERT INTO catalog_versions (nombre, version, actualizado_en)
+            SELECT :nombre, 1, CURRENT_TIMESTAMP
+            WHERE NOT EXISTS (SELECT 1 FROM catalog_versions WHERE nombre = :nombre)
+            """;
+    private static final String LEER = "SELECT nombre, version, actualizado_en FROM catalog_versions";
+    private static final String INCREMENTAR = """
+            UPDATE catalog_versions SET version = version + 1, actualizado_en = CURRENT_TIMESTAMP
+            WHERE nombre = :nombre
+            """;
+    private static final String LEER_UNA = "SELECT version, actualizado_en FROM catalog_versions WHERE nombre = :nombre";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public CatalogVersionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Versión de un recurso cacheado: sube en uno con cada escritura confirmada, en cualquier nodo.
+     * Leerla es una búsqueda por clave primaria, sin recorrer el catálogo.
+     */
+    public record CatalogVersion(long version, LocalDateTime lastModified) {}
+
+    public void sembrar(String nombre) {
+        jdbcTemplate.update(SEMBRAR, Map.of("nombre", nombre));
+    }
+
+    public Map<String, CatalogVersion> leer() {
+        Map<String, CatalogVersion> versiones = new HashMap<>();
+        jdbcTemplate.query(LEER, rs -> {
+            versiones.put(rs.getString("nombre"),
+                    new CatalogVersion(rs.getLong("version"), rs.getTimestamp("actualizado_en").toLocalDateTime()));
+        });
+        return versiones;
+    }
+
+    // Dentro de una misma transacción: el UPDATE bloquea la fila y la lectura ve el valor que dejó
+    public CatalogVersion incrementar(String nombre) {
+        Map<String, String> params = Map.of("nombre", nombre);
+        jdbcTemplate.update(INCREMENTAR, params);
+        return jdbcTemplate.queryForObject(LEER_UNA, params, (rs, rowNum) ->
+                new CatalogVersion(rs.getLong("version"), rs.getTimestamp("actualizado_en").toLocalDateTime()));
+    }
+}
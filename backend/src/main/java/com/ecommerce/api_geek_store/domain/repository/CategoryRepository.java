@@ -1,13 +1,18 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.Category;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface CategoryRepository extends JpaRepository<Category, Long> {
-
-    Optional<Category> findByNombre(String nombre);
-}
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    Optional<Category> findByNombre(String nombre);
+
+    @Query("SELECT c.version AS version, c.updatedAt AS updatedAt FROM Category c WHERE c.id = :id")
+    Optional<VersionView> findVersionById(@Param("id") Long id);
+}
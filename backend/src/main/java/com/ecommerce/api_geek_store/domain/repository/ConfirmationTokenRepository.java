@@ -1,9 +1,9 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.ConfirmationToken;
-import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional;
-
-public interface ConfirmationTokenRepository extends JpaRepository<ConfirmationToken, Long> {
-    Optional<ConfirmationToken> findByToken(String token);
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.ConfirmationToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.Optional;
+
+public interface ConfirmationTokenRepository extends JpaRepository<ConfirmationToken, Long> {
+    Optional<ConfirmationToken> findByToken(String token);
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.EmailOutbox;
+import com.ecommerce.api_geek_store.domain.model.EstadoEmail;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // SKIP LOCKED: varios nodos pueden reclamar lotes a la vez sin tomar el mismo correo
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM EmailOutbox e WHERE e.estado = :estado AND e.proximoIntento <= :ahora ORDER BY e.proximoIntento, e.id")
+    List<EmailOutbox> findDueForUpdate(@Param("estado") EstadoEmail estado,
+                                       @Param("ahora") LocalDateTime ahora,
+                                       Pageable pageable);
+}
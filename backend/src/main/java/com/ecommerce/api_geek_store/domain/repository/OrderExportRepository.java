@@ -0,0 +1,112 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Lectura en streaming de las líneas de órdenes para exportaciones contables.
+ * Va por JDBC con cursor de solo avance: con fetch size y dentro de una transacción, el driver de Postgres
+ * trae las filas de a bloques en lugar de materializar todo el resultado en memoria.
+ */
+@Repository
+public class OrderExportRepository {
+
+    private static final String SQL = """
+            SELECT o.id, o.fecha_creacion, o.estado, o.total, o.metodo_pago, o.cod_operacion, u.email,
+                   i.id AS item_id, i.nombre_producto, i.color_snapshot, i.talla_snapshot,
+                   i.cantidad, i.precio_unitario
+            FROM orders o
+            JOIN users u ON u.id = o.user_id
+            JOIN order_items i ON i.order_id = o.id
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public OrderExportRepository(DataSource dataSource,
+                                 @Value("${orders.export.fetch-size:1000}") int fetchSize) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    public record OrderExportRow(
+            Long orderId,
+            LocalDateTime fechaCreacion,
+            String estado,
+            BigDecimal total,
+            String metodoPago,
+            String codOperacion,
+            String email,
+            Long itemId,
+            String nombreProducto,
+            String color,
+            String talla,
+            Integer cantidad,
+            BigDecimal precioUnitario
+    ) {}
+
+    /**
+     * Entrega una fila por OrderItem, en orden cronológico. Debe llamarse dentro de una transacción
+     * (con autocommit el driver ignora el fetch size y carga todo).
+     */
+    public void stream(String estado, LocalDate desde, LocalDate hasta, String metodoPago, String email,
+                       Consumer<OrderExportRow> consumer) {
+        List<String> condiciones = new ArrayList<>();
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (estado != null && !estado.isBlank()) {
+            condiciones.add("o.estado = :estado");
+            params.addValue("estado", estado.trim().toUpperCase(Locale.ROOT));
+        }
+        if (desde != null) {
+            condiciones.add("o.fecha_creacion >= :desde");
+            params.addValue("desde", desde.atStartOfDay());
+        }
+        if (hasta != null) {
+            condiciones.add("o.fecha_creacion < :hasta");
+            params.addValue("hasta", hasta.plusDays(1).atStartOfDay());
+        }
+        if (metodoPago != null && !metodoPago.isBlank()) {
+            condiciones.add("o.metodo_pago = :metodoPago");
+            params.addValue("metodoPago", metodoPago.trim());
+        }
+        if (email != null && !email.isBlank()) {
+            condiciones.add("LOWER(u.email) = :email");
+            params.addValue("email", email.trim().toLowerCase(Locale.ROOT));
+        }
+
+        String sql = SQL
+                + (condiciones.isEmpty() ? "" : "WHERE " + String.join(" AND ", condiciones) + "\n")
+                + "ORDER BY o.fecha_creacion, o.id, i.id";
+
+        jdbcTemplate.query(sql, params, (RowCallbackHandler) rs -> {
+            consumer.accept(new OrderExportRow(
+                    rs.getLong("id"),
+                    rs.getTimestamp("fecha_creacion").toLocalDateTime(),
+                    rs.getString("estado"),
+                    rs.getBigDecimal("total"),
+                    rs.getString("metodo_pago"),
+                    rs.getString("cod_operacion"),
+                    rs.getString("email"),
+                    rs.getLong("item_id"),
+                    rs.getString("nombre_producto"),
+                    rs.getString("color_snapshot"),
+                    rs.getString("talla_snapshot"),
+                    rs.getInt("cantidad"),
+                    rs.getBigDecimal("precio_unitario")));
+        });
+    }
+}
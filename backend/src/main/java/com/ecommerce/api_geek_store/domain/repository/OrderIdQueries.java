@@ -0,0 +1,15 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Ids de órdenes a partir de una Specification (fase 1 del listado del admin).
+ */
+public interface OrderIdQueries {
+
+    List<Long> findIds(Specification<Order> spec, Sort sort, int limit);
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+class OrderIdQueriesImpl implements OrderIdQueries {
+
+    private final EntityManager entityManager;
+
+    OrderIdQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Order> spec, Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> root = query.from(Order.class);
+
+        query.select(root.get("id"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
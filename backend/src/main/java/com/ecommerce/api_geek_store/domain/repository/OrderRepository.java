@@ -1,21 +1,44 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.Order;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-
-@Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
-
-
-    @Query("SELECT DISTINCT o FROM Order o " +
-            "LEFT JOIN FETCH o.items i " +
-            "LEFT JOIN FETCH i.product p " +
-            "WHERE o.user.id = :userId " +
-            "ORDER BY o.fechaCreacion DESC")
-    List<Order> findByUserId(@Param("userId") Long userId);
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Order;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderIdQueries {
+
+
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "LEFT JOIN FETCH o.items i " +
+            "LEFT JOIN FETCH i.product p " +
+            "WHERE o.user.id = :userId " +
+            "ORDER BY o.fechaCreacion DESC")
+    List<Order> findByUserId(@Param("userId") Long userId);
+
+    Optional<Order> findByCheckoutKey(String checkoutKey);
+
+    Optional<Order> findByMpPaymentId(Long mpPaymentId);
+
+    // Fase 2 del listado del admin: usuario e ítems de toda la página en una sola consulta
+    @Query("SELECT DISTINCT o FROM Order o " +
+            "JOIN FETCH o.user " +
+            "LEFT JOIN FETCH o.items " +
+            "WHERE o.id IN :ids")
+    List<Order> findAllWithUserAndItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Resumen del dashboard: conteos y sumas en la base en lugar de traer todas las órdenes
+    @Query("SELECT o.estado, COUNT(o) FROM Order o GROUP BY o.estado")
+    List<Object[]> countByEstado();
+
+    @Query("SELECT CAST(o.fechaCreacion AS LocalDate), SUM(o.total) FROM Order o " +
+            "WHERE o.fechaCreacion >= :desde AND o.estado <> 'CANCELADO' " +
+            "GROUP BY CAST(o.fechaCreacion AS LocalDate)")
+    List<Object[]> sumTotalByDia(@Param("desde") LocalDateTime desde);
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filtros del listado de órdenes del admin. Igual que en el catálogo, solo entran los predicados informados.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Order> conFiltros(String estado, LocalDate desde, LocalDate hasta,
+                                                  String metodoPago, String email) {
+        List<Specification<Order>> filtros = new ArrayList<>();
+
+        if (estado != null && !estado.isBlank()) filtros.add(conEstado(estado));
+        if (desde != null) filtros.add(creadaDesde(desde));
+        if (hasta != null) filtros.add(creadaHasta(hasta));
+        if (metodoPago != null && !metodoPago.isBlank()) filtros.add(conMetodoPago(metodoPago));
+        if (email != null && !email.isBlank()) filtros.add(deCliente(email));
+
+        return Specification.allOf(filtros);
+    }
+
+    public static Specification<Order> conEstado(String estado) {
+        String valor = estado.trim().toUpperCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(root.get("estado"), valor);
+    }
+
+    public static Specification<Order> creadaDesde(LocalDate desde) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("fechaCreacion"), desde.atStartOfDay());
+    }
+
+    // Hasta inclusive: todo el día indicado
+    public static Specification<Order> creadaHasta(LocalDate hasta) {
+        return (root, query, cb) -> cb.lessThan(root.get("fechaCreacion"), hasta.plusDays(1).atStartOfDay());
+    }
+
+    public static Specification<Order> conMetodoPago(String metodoPago) {
+        String valor = metodoPago.trim();
+        return (root, query, cb) -> cb.equal(root.get("metodoPago"), valor);
+    }
+
+    public static Specification<Order> deCliente(String email) {
+        String valor = email.trim().toLowerCase(Locale.ROOT);
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("user").get("email")), valor);
+    }
+
+    /**
+     * Keyset sobre (fechaCreacion DESC, id DESC): lo más reciente primero, todo lo anterior al cursor.
+     */
+    public static Specification<Order> antesDe(LocalDateTime afterFecha, Long afterId) {
+        if (afterFecha == null || afterId == null) {
+            return Specification.allOf();
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("fechaCreacion"), afterFecha),
+                cb.and(
+                        cb.equal(root.get("fechaCreacion"), afterFecha),
+                        cb.lessThan(root.get("id"), afterId)
+                )
+        );
+    }
+}
@@ -0,0 +1,32 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.EstadoIntento;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PaymentIntentRepository extends JpaRepository<PaymentIntent, Long> {
+
+    Optional<PaymentIntent> findFirstByCheckoutKeyAndEstadoInOrderByIdDesc(String checkoutKey, Collection<EstadoIntento> estados);
+
+    // Sin SKIP LOCKED: el reconciliador corre en un solo nodo a la vez (advisory lock)
+    @Query("SELECT i FROM PaymentIntent i WHERE i.estado IN :estados AND i.proximoIntento <= :ahora ORDER BY i.proximoIntento, i.id")
+    List<PaymentIntent> findDue(@Param("estados") Collection<EstadoIntento> estados,
+                                @Param("ahora") LocalDateTime ahora,
+                                Pageable pageable);
+
+    long countByEstadoIn(Collection<EstadoIntento> estados);
+
+    // null si no hay pendientes
+    @Query("SELECT MIN(i.creadoEn) FROM PaymentIntent i WHERE i.estado IN :estados")
+    LocalDateTime findOldestCreadoEn(@Param("estados") Collection<EstadoIntento> estados);
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.EstadoNotificacion;
+import com.ecommerce.api_geek_store.domain.model.PaymentNotification;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PaymentNotificationRepository extends JpaRepository<PaymentNotification, Long> {
+
+    // SKIP LOCKED: los workers de cada nodo reclaman lotes distintos
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT n FROM PaymentNotification n WHERE n.estado = :estado AND n.proximoIntento <= :ahora ORDER BY n.proximoIntento, n.id")
+    List<PaymentNotification> findDueForUpdate(@Param("estado") EstadoNotificacion estado,
+                                               @Param("ahora") LocalDateTime ahora,
+                                               Pageable pageable);
+}
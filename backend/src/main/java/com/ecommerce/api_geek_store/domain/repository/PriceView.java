@@ -0,0 +1,12 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección mínima para armar la foto de precios sin cargar entidades.
+ */
+public interface PriceView {
+    Long getId();
+    BigDecimal getPrecio();
+    Integer getDescuento();
+}
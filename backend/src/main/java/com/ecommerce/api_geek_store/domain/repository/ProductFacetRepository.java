@@ -0,0 +1,107 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Genero;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+@Repository
+public class ProductFacetRepository {
+
+    // Límites superiores (exclusivos) de cada rango de precio; el último rango queda abierto
+    public static final List<BigDecimal> PRICE_BOUNDS = List.of(
+            new BigDecimal("50"),
+            new BigDecimal("100"),
+            new BigDecimal("200"),
+            new BigDecimal("500")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductFacetRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record FacetCounts(
+            Map<Long, Long> categories,
+            Map<Long, Long> brands,
+            Map<Genero, Long> generos,
+            long[] priceBuckets
+    ) {
+        public static FacetCounts empty() {
+            return new FacetCounts(new HashMap<>(), new HashMap<>(), new EnumMap<>(Genero.class),
+                    new long[PRICE_BOUNDS.size() + 1]);
+        }
+    }
+
+    public static int priceBucket(BigDecimal precio) {
+        for (int i = 0; i < PRICE_BOUNDS.size(); i++) {
+            if (precio.compareTo(PRICE_BOUNDS.get(i)) < 0) return i;
+        }
+        return PRICE_BOUNDS.size();
+    }
+
+    /**
+     * Cuenta por categoría, marca, género y rango de precio en una sola pasada (GROUPING SETS).
+     * keywordPredicate es la condición SQL de búsqueda del modo activo y puede usar :keyword.
+     */
+    public FacetCounts countFacets(Long categoryId, Long brandId, Genero genero,
+                                   String keyword, String keywordPredicate) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        if (categoryId != null) {
+            where.append(" AND p.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        if (brandId != null) {
+            where.append(" AND p.brand_id = :brandId");
+            params.addValue("brandId", brandId);
+        }
+        if (genero != null) {
+            where.append(" AND p.genero = :genero");
+            params.addValue("genero", genero.name());
+        }
+        if (keyword != null && !keyword.isBlank()) {
+            where.append(" AND ").append(keywordPredicate);
+            params.addValue("keyword", keyword.trim());
+        }
+
+        StringBuilder bucket = new StringBuilder("CASE");
+        for (int i = 0; i < PRICE_BOUNDS.size(); i++) {
+            bucket.append(" WHEN p.precio < ").append(PRICE_BOUNDS.get(i).toPlainString()).append(" THEN ").append(i);
+        }
+        bucket.append(" ELSE ").append(PRICE_BOUNDS.size()).append(" END");
+
+        String sql = "SELECT f.category_id, f.brand_id, f.genero, f.price_bucket, " +
+                "GROUPING(f.category_id) AS g_cat, GROUPING(f.brand_id) AS g_brand, " +
+                "GROUPING(f.genero) AS g_gen, COUNT(*) AS total " +
+                "FROM (SELECT p.category_id, p.brand_id, p.genero, " + bucket + " AS price_bucket " +
+                "FROM products p " + where + ") f " +
+                "GROUP BY GROUPING SETS ((f.category_id), (f.brand_id), (f.genero), (f.price_bucket))";
+
+        FacetCounts counts = FacetCounts.empty();
+
+        jdbcTemplate.query(sql, params, rs -> {
+            long total = rs.getLong("total");
+
+            if (rs.getInt("g_cat") == 0) {
+                long id = rs.getLong("category_id");
+                if (!rs.wasNull()) counts.categories().put(id, total);
+            } else if (rs.getInt("g_brand") == 0) {
+                long id = rs.getLong("brand_id");
+                if (!rs.wasNull()) counts.brands().put(id, total);
+            } else if (rs.getInt("g_gen") == 0) {
+                String value = rs.getString("genero");
+                if (value != null) counts.generos().put(Genero.valueOf(value), total);
+            } else {
+                counts.priceBuckets()[rs.getInt("price_bucket")] = total;
+            }
+        });
+
+        return counts;
+    }
+}
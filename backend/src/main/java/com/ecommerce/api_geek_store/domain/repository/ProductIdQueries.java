@@ -0,0 +1,19 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Consultas de solo ids a partir de una Specification (fase 1 del listado en dos fases).
+ */
+public interface ProductIdQueries {
+
+    Page<Long> findIds(Specification<Product> spec, Pageable pageable);
+
+    List<Long> findIds(Specification<Product> spec, Sort sort, int limit);
+}
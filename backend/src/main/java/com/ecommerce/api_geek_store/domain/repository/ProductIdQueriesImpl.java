@@ -0,0 +1,70 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ProductIdQueriesImpl implements ProductIdQueries {
+
+    private final EntityManager entityManager;
+
+    ProductIdQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<Long> findIds(Specification<Product> spec, Pageable pageable) {
+        TypedQuery<Long> query = idQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+
+        // Si la página viene incompleta el total ya se conoce y no se ejecuta el count
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<Long> findIds(Specification<Product> spec, Sort sort, int limit) {
+        return idQuery(spec, sort)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private TypedQuery<Long> idQuery(Specification<Product> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(root.get("id"));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+        if (sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Product> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Product> root = query.from(Product.class);
+
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) query.where(predicate);
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
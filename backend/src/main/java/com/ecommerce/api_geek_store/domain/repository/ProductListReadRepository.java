@@ -0,0 +1,124 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Lectura de listados sin pasar por el contexto de persistencia: solo las columnas que
+ * necesita ProductResponse, con stock total e imágenes agregados en SQL.
+ */
+@Repository
+public class ProductListReadRepository {
+
+    private static final String PRODUCTS_SQL =
+            "SELECT p.id, p.nombre, p.descripcion, p.precio, p.descuento_porcentaje, p.genero, p.featured, " +
+            "c.id AS category_id, c.nombre AS category_nombre, b.id AS brand_id, b.nombre AS brand_nombre, " +
+            "ARRAY(SELECT i.url FROM product_images i WHERE i.product_id = p.id ORDER BY i.id) AS images, " +
+            "COALESCE((SELECT SUM(v.stock) FROM product_variants v WHERE v.product_id = p.id), 0) AS total_stock " +
+            "FROM products p " +
+            "LEFT JOIN categories c ON c.id = p.category_id " +
+            "LEFT JOIN brands b ON b.id = p.brand_id " +
+            "WHERE p.id IN (:ids)";
+
+    private static final String VARIANTS_SQL =
+            "SELECT v.id, v.product_id, v.color, v.color_hex, v.talla, v.stock " +
+            "FROM product_variants v WHERE v.product_id IN (:ids) ORDER BY v.id";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductListReadRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public record ProductListRow(
+            Long id,
+            String nombre,
+            String descripcion,
+            BigDecimal precio,
+            Integer descuento,
+            String genero,
+            Boolean featured,
+            Long categoryId,
+            String categoryName,
+            Long brandId,
+            String brandName,
+            List<String> images,
+            Integer totalStock,
+            List<VariantRow> variants
+    ) {}
+
+    public record VariantRow(
+            Long id,
+            String color,
+            String colorHex,
+            String talla,
+            Integer stock
+    ) {}
+
+    /**
+     * Devuelve las filas en el mismo orden que los ids recibidos (dos consultas en total).
+     */
+    public List<ProductListRow> findByIdsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+
+        Map<Long, List<VariantRow>> variantes = new HashMap<>();
+        jdbcTemplate.query(VARIANTS_SQL, params, rs -> {
+            variantes.computeIfAbsent(rs.getLong("product_id"), k -> new ArrayList<>())
+                    .add(new VariantRow(
+                            rs.getLong("id"),
+                            rs.getString("color"),
+                            rs.getString("color_hex"),
+                            rs.getString("talla"),
+                            rs.getInt("stock")
+                    ));
+        });
+
+        Map<Long, ProductListRow> porId = new HashMap<>();
+        jdbcTemplate.query(PRODUCTS_SQL, params, rs -> {
+            long id = rs.getLong("id");
+            porId.put(id, mapRow(rs, variantes.getOrDefault(id, List.of())));
+        });
+
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private ProductListRow mapRow(ResultSet rs, List<VariantRow> variants) throws SQLException {
+        return new ProductListRow(
+                rs.getLong("id"),
+                rs.getString("nombre"),
+                rs.getString("descripcion"),
+                rs.getBigDecimal("precio"),
+                rs.getObject("descuento_porcentaje", Integer.class),
+                rs.getString("genero"),
+                rs.getObject("featured", Boolean.class),
+                rs.getObject("category_id", Long.class),
+                rs.getString("category_nombre"),
+                rs.getObject("brand_id", Long.class),
+                rs.getString("brand_nombre"),
+                toStringList(rs.getArray("images")),
+                rs.getInt("total_stock"),
+                variants
+        );
+    }
+
+    private List<String> toStringList(Array array) throws SQLException {
+        if (array == null) return List.of();
+        try {
+            return Arrays.asList((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
@@ -1,60 +1,120 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.Genero;
-import com.ecommerce.api_geek_store.domain.model.Product;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-import org.springframework.stereotype.Repository;
-
-import java.util.List;
-import java.util.Optional;
-
-@Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-
-
-    List<Product> findByCategoryId(Long categoryId);
-
-
-    @Query(value = "SELECT p FROM Product p " +
-            "LEFT JOIN FETCH p.category " +
-            "LEFT JOIN FETCH p.brand " +
-            "WHERE " +
-            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-            "(:brandId IS NULL OR p.brand.id = :brandId) AND " +
-            "(:gender IS NULL OR p.genero = :gender) AND " +
-            "(:keyword IS NULL OR :keyword = '' OR LOWER(p.nombre) LIKE LOWER(CONCAT('%', :keyword, '%')))",
-
-
-            countQuery = "SELECT count(p) FROM Product p WHERE " +
-                    "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
-                    "(:brandId IS NULL OR p.brand.id = :brandId) AND " +
-                    "(:gender IS NULL OR p.genero = :gender) AND " +
-                    "(:keyword IS NULL OR :keyword = '' OR LOWER(p.nombre) LIKE LOWER(CONCAT('%', :keyword, '%')))")
-    Page<Product> buscarConFiltros(
-            @Param("categoryId") Long categoryId,
-            @Param("brandId") Long brandId,
-            @Param("gender") Genero gender,
-            @Param("keyword") String keyword,
-            Pageable pageable
-    );
-
-    Optional<Product> findFirstByFeaturedTrue();
-
-
-    @Modifying(clearAutomatically = true)
-    @Query("UPDATE Product p SET p.featured = false")
-    void resetFeatured();
-    @Query("SELECT p FROM Product p " +
-            "LEFT JOIN FETCH p.images " +
-            "LEFT JOIN FETCH p.variants " +
-            "LEFT JOIN FETCH p.category " +
-            "LEFT JOIN FETCH p.brand " +
-            "WHERE p.id = :id")
-    Optional<Product> findByIdWithRelations(@Param("id") Long id);
-
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductIdQueries {
+
+
+    List<Product> findByCategoryId(Long categoryId);
+
+    @Query("SELECT p.id FROM Product p WHERE p.category.id = :categoryId ORDER BY p.nombre, p.id")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+
+    @Query(value = "SELECT p.id FROM products p " +
+            "CROSS JOIN websearch_to_tsquery('spanish', :keyword) q " +
+            "WHERE (CAST(:categoryId AS BIGINT) IS NULL OR p.category_id = :categoryId) AND " +
+            "(CAST(:brandId AS BIGINT) IS NULL OR p.brand_id = :brandId) AND " +
+            "(CAST(:gender AS VARCHAR) IS NULL OR p.genero = :gender) AND " +
+            "(p.search_vector @@ q OR :keyword <% p.nombre) " +
+            "ORDER BY ts_rank(p.search_vector, q) + word_similarity(:keyword, p.nombre) DESC, p.id",
+
+            countQuery = "SELECT count(*) FROM products p " +
+                    "CROSS JOIN websearch_to_tsquery('spanish', :keyword) q " +
+                    "WHERE (CAST(:categoryId AS BIGINT) IS NULL OR p.category_id = :categoryId) AND " +
+                    "(CAST(:brandId AS BIGINT) IS NULL OR p.brand_id = :brandId) AND " +
+                    "(CAST(:gender AS VARCHAR) IS NULL OR p.genero = :gender) AND " +
+                    "(p.search_vector @@ q OR :keyword <% p.nombre)",
+            nativeQuery = true)
+    Page<Long> buscarIdsTextoCompleto(
+            @Param("categoryId") Long categoryId,
+            @Param("brandId") Long brandId,
+            @Param("gender") String gender,
+            @Param("keyword") String keyword,
+            Pageable pageable
+    );
+
+    Optional<Product> findFirstByFeaturedTrue();
+
+    @Query("SELECT p.id FROM Product p WHERE p.featured = true")
+    List<Long> findFeaturedIds();
+
+
+    // VERSIONED: los productos que pierden la marca cambian de ETag
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE VERSIONED Product p SET p.featured = false, p.updatedAt = CURRENT_TIMESTAMP WHERE p.featured = true")
+    void resetFeatured();
+
+    interface ProductVersionView {
+        long getVersion();
+        LocalDateTime getUpdatedAt();
+        Long getCategoryVersion();
+        LocalDateTime getCategoryUpdatedAt();
+        Long getBrandVersion();
+        LocalDateTime getBrandUpdatedAt();
+        Long getStock();
+    }
+
+    /**
+     * Lo que cambia el detalle de un producto sin leerlo: su versión, la de su categoría/marca
+     * (nombres desnormalizados) y el stock, que las ventas modifican sin tocar la fila del producto.
+     */
+    @Query("SELECT p.version AS version, p.updatedAt AS updatedAt, " +
+            "c.version AS categoryVersion, c.updatedAt AS categoryUpdatedAt, " +
+            "b.version AS brandVersion, b.updatedAt AS brandUpdatedAt, " +
+            "COALESCE(SUM(v.stock), 0) AS stock " +
+            "FROM Product p LEFT JOIN p.category c LEFT JOIN p.brand b LEFT JOIN p.variants v " +
+            "WHERE p.id = :id " +
+            "GROUP BY p.id, p.version, p.updatedAt, c.version, c.updatedAt, b.version, b.updatedAt")
+    Optional<ProductVersionView> findVersionById(@Param("id") Long id);
+    @Query("SELECT p FROM Product p " +
+            "LEFT JOIN FETCH p.images " +
+            "LEFT JOIN FETCH p.variants " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.brand " +
+            "WHERE p.id = :id")
+    Optional<Product> findByIdWithRelations(@Param("id") Long id);
+
+    @Query("SELECT p FROM Product p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.brand " +
+            "WHERE p.id IN :ids")
+    List<Product> findAllWithRelationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM Product p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.brand " +
+            "WHERE p.id > :afterId " +
+            "ORDER BY p.id")
+    List<Product> findBatchForIndex(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Sincronización del índice de búsqueda con lo escrito por otros nodos
+    @Query("SELECT p FROM Product p " +
+            "LEFT JOIN FETCH p.category " +
+            "LEFT JOIN FETCH p.brand " +
+            "WHERE p.updatedAt > :desde")
+    List<Product> findForIndexUpdatedAfter(@Param("desde") LocalDateTime desde);
+
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<Long> findIdsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.precio AS precio, p.descuento AS descuento FROM Product p")
+    List<PriceView> findAllPrices();
+
+    @Query("SELECT p.id AS id, p.precio AS precio, p.descuento AS descuento FROM Product p WHERE p.id IN :ids")
+    List<PriceView> findPricesByIdIn(@Param("ids") Collection<Long> ids);
+
 }
\ No newline at end of file
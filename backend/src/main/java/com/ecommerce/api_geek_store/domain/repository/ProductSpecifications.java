@@ -0,0 +1,64 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Genero;
+import com.ecommerce.api_geek_store.domain.model.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filtros del catálogo como Specifications. Solo se agregan los predicados que llegan informados,
+ * así Postgres planifica cada combinación por separado y puede usar el índice que corresponda
+ * (en lugar del genérico "(:x IS NULL OR ...)").
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    public static Specification<Product> conFiltros(Long categoryId, Long brandId, Genero genero, String keyword) {
+        List<Specification<Product>> filtros = new ArrayList<>();
+
+        if (categoryId != null) filtros.add(enCategoria(categoryId));
+        if (brandId != null) filtros.add(deMarca(brandId));
+        if (genero != null) filtros.add(deGenero(genero));
+        if (keyword != null && !keyword.isBlank()) filtros.add(nombreContiene(keyword));
+
+        return Specification.allOf(filtros);
+    }
+
+    public static Specification<Product> enCategoria(Long categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("id"), categoryId);
+    }
+
+    public static Specification<Product> deMarca(Long brandId) {
+        return (root, query, cb) -> cb.equal(root.get("brand").get("id"), brandId);
+    }
+
+    public static Specification<Product> deGenero(Genero genero) {
+        return (root, query, cb) -> cb.equal(root.get("genero"), genero);
+    }
+
+    public static Specification<Product> nombreContiene(String keyword) {
+        String patron = "%" + keyword.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("nombre")), patron);
+    }
+
+    /**
+     * Keyset sobre (nombre, id): todo lo que va después del último elemento entregado.
+     */
+    public static Specification<Product> despuesDe(String afterNombre, Long afterId) {
+        if (afterNombre == null || afterId == null) {
+            return Specification.allOf();
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("nombre"), afterNombre),
+                cb.and(
+                        cb.equal(root.get("nombre"), afterNombre),
+                        cb.greaterThan(root.get("id"), afterId)
+                )
+        );
+    }
+}
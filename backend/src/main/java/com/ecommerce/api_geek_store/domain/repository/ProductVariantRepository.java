@@ -0,0 +1,35 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProductVariantRepository extends JpaRepository<ProductVariant, Long> {
+
+    /**
+     * Descuenta stock solo si alcanza. La condición se evalúa sobre la fila ya bloqueada por el UPDATE,
+     * así dos compras simultáneas de la última unidad no pueden pasar ambas.
+     * Devuelve 0 si no había stock suficiente.
+     */
+    @Modifying
+    @Query("UPDATE ProductVariant v SET v.stock = v.stock - :cantidad " +
+            "WHERE v.id = :variantId AND v.stock >= :cantidad")
+    int descontarStock(@Param("variantId") Long variantId, @Param("cantidad") int cantidad);
+
+    /**
+     * Bloquea las variantes en orden de id para reservar: dos checkouts que comparten variantes,
+     * en el mismo nodo o en otro, se turnan y el segundo ve lo que retuvo el primero.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM ProductVariant v WHERE v.id IN :ids ORDER BY v.id")
+    List<ProductVariant> findAllForUpdate(@Param("ids") Collection<Long> ids);
+}
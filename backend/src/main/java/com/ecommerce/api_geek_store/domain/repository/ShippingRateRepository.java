@@ -0,0 +1,28 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.ShippingRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ShippingRateRepository extends JpaRepository<ShippingRate, Long> {
+
+    /**
+     * Huella barata de la tabla: cambia con cualquier alta, baja o edición.
+     * Los demás nodos la consultan para saber si deben recargar sus tarifas.
+     */
+    interface RatesVersion {
+        long getFilas();
+        LocalDateTime getModificado();
+    }
+
+    @Query("SELECT COUNT(r) AS filas, MAX(r.actualizadoEn) AS modificado FROM ShippingRate r")
+    RatesVersion version();
+
+    @Query("SELECT r FROM ShippingRate r ORDER BY r.departamento NULLS FIRST, r.provincia NULLS FIRST, r.distrito NULLS FIRST, r.unidadesDesde")
+    List<ShippingRate> findAllOrdenadas();
+}
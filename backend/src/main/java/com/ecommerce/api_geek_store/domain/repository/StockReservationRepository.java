@@ -0,0 +1,41 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.EstadoReserva;
+import com.ecommerce.api_geek_store.domain.model.StockReservation;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    // Bloquea las líneas: confirmación y barrido no pueden tomar la misma reserva a la vez
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.codigo = :codigo AND r.estado = :estado")
+    List<StockReservation> findForUpdate(@Param("codigo") String codigo, @Param("estado") EstadoReserva estado);
+
+    // lock.timeout = -2 es SKIP LOCKED en Hibernate: el barrido salta las que se están confirmando
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM StockReservation r WHERE r.estado = :estado AND r.expiraEn < :ahora ORDER BY r.id")
+    List<StockReservation> findExpiredForUpdate(@Param("estado") EstadoReserva estado,
+                                                @Param("ahora") LocalDateTime ahora,
+                                                Pageable pageable);
+
+    // Unidades retenidas por variante: las vencidas que el barrido aún no cerró ya no cuentan
+    @Query("SELECT r.variantId, SUM(r.cantidad) FROM StockReservation r " +
+            "WHERE r.variantId IN :variantIds AND r.estado = :estado AND r.expiraEn > :ahora GROUP BY r.variantId")
+    List<Object[]> sumByVariant(@Param("variantIds") Collection<Long> variantIds,
+                                @Param("estado") EstadoReserva estado,
+                                @Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección mínima para validar un GET condicional sin cargar la entidad.
+ */
+public interface VersionView {
+    long getVersion();
+    LocalDateTime getUpdatedAt();
+}
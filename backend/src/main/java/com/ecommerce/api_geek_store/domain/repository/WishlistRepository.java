@@ -1,17 +1,17 @@
-package com.ecommerce.api_geek_store.domain.repository;
-
-import com.ecommerce.api_geek_store.domain.model.WishlistItem;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
-
-import java.util.List;
-import java.util.Optional;
-
-public interface WishlistRepository extends JpaRepository<WishlistItem, Long> {
-    Optional<WishlistItem> findByUserIdAndProductId(Long userId, Long productId);
-    boolean existsByUserIdAndProductId(Long userId, Long productId);
-    @Query("SELECT w FROM WishlistItem w JOIN FETCH w.product p JOIN FETCH p.images WHERE w.user.id = :userId")
-    List<WishlistItem> findByUserId(@Param("userId") Long userId);
-
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.WishlistItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface WishlistRepository extends JpaRepository<WishlistItem, Long> {
+    Optional<WishlistItem> findByUserIdAndProductId(Long userId, Long productId);
+    boolean existsByUserIdAndProductId(Long userId, Long productId);
+    @Query("SELECT w FROM WishlistItem w JOIN FETCH w.product p JOIN FETCH p.images WHERE w.user.id = :userId")
+    List<WishlistItem> findByUserId(@Param("userId") Long userId);
+
 }
\ No newline at end of file
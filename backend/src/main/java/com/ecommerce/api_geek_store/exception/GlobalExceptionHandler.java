@@ -1,113 +1,122 @@
-package com.ecommerce.api_geek_store.exception;
-
-import com.ecommerce.api_geek_store.exception.dto.ErrorResponse;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.AccessDeniedException;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.DisabledException;
-import org.springframework.web.bind.MethodArgumentNotValidException;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.RestControllerAdvice;
-import org.springframework.web.context.request.WebRequest;
-
-import java.time.LocalDateTime;
-import java.util.stream.Collectors;
-
-@RestControllerAdvice
-public class GlobalExceptionHandler {
-
-    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
-
-    @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
-            ResourceNotFoundException ex, WebRequest request){
-        log.warn("Recurso no encontrado: {} [{}]", ex.getMessage(), request.getDescription(false));
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
-        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
-    }
-
-    @ExceptionHandler(EmailAlreadyExistsException.class)
-    public ResponseEntity<ErrorResponse> handleEmailAlreadyExistsException(
-            EmailAlreadyExistsException ex, WebRequest request) {
-        log.warn("Conflicto de datos: {}", ex.getMessage());
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
-    }
-
-    // ✅ NUEVO: Manejo específico para conflictos de estado (ej: Borrar marca con productos)
-    @ExceptionHandler(IllegalStateException.class)
-    public ResponseEntity<ErrorResponse> handleIllegalStateException(
-            IllegalStateException ex, WebRequest request) {
-        log.warn("Conflicto de estado (Integridad): {}", ex.getMessage());
-        // Devolvemos 409 CONFLICT para que el frontend sepa que es un bloqueo lógico
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
-        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
-    }
-
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidationException(
-            MethodArgumentNotValidException ex, WebRequest request){
-        String errorMessage = ex.getBindingResult().getFieldErrors().stream()
-                .map(field -> field.getField() + ": " + field.getDefaultMessage())
-                .collect(Collectors.joining("; "));
-        log.warn("Error de validación en input: {}", errorMessage);
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, errorMessage, request);
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
-    }
-
-    @ExceptionHandler({
-            InsufficientStockException.class,
-            InvalidPasswordException.class,
-            IllegalArgumentException.class
-            // IllegalStateException.class <--- LO QUITAMOS DE AQUÍ
-    })
-    public ResponseEntity<ErrorResponse> handleBusinessLogicException(
-            RuntimeException ex, WebRequest request) {
-        log.warn("Error de negocio: {}", ex.getMessage());
-        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
-    }
-
-    @ExceptionHandler({
-            BadCredentialsException.class,
-            DisabledException.class
-    })
-    public ResponseEntity<ErrorResponse> handleAuthExceptions(Exception ex, WebRequest request) {
-        log.warn("Fallo de autenticación: {}", ex.getMessage());
-        ErrorResponse error = buildErrorResponse(HttpStatus.UNAUTHORIZED, ex.getMessage(), request);
-        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
-    }
-
-    @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, WebRequest request) {
-        log.warn("Acceso denegado a recurso protegido: {}", request.getDescription(false));
-        ErrorResponse error = buildErrorResponse(HttpStatus.FORBIDDEN, "No tienes permisos para realizar esta acción.", request);
-        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
-    }
-
-    @ExceptionHandler(Exception.class)
-    public ResponseEntity<ErrorResponse> handleGlobalException(
-            Exception ex, WebRequest request
-    ) {
-        log.error("ERROR CRÍTICO NO CONTROLADO: ", ex);
-        ErrorResponse errorResponse = buildErrorResponse(
-                HttpStatus.INTERNAL_SERVER_ERROR,
-                "Ocurrió un error interno en el servidor. Por favor contacte a soporte.",
-                request
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
-    }
-
-    private ErrorResponse buildErrorResponse(HttpStatus status, String message, WebRequest request) {
-        return new ErrorResponse(
-                LocalDateTime.now(),
-                status.value(),
-                status.getReasonPhrase(),
-                message,
-                request.getDescription(false).replace("uri=", "")
-        );
-    }
+package com.ecommerce.api_geek_store.exception;
+
+import com.ecommerce.api_geek_store.exception.dto.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(
+            ResourceNotFoundException ex, WebRequest request){
+        log.warn("Recurso no encontrado: {} [{}]", ex.getMessage(), request.getDescription(false));
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.NOT_FOUND, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
+    }
+
+    @ExceptionHandler(EmailAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleEmailAlreadyExistsException(
+            EmailAlreadyExistsException ex, WebRequest request) {
+        log.warn("Conflicto de datos: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // ✅ NUEVO: Manejo específico para conflictos de estado (ej: Borrar marca con productos)
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalStateException(
+            IllegalStateException ex, WebRequest request) {
+        log.warn("Conflicto de estado (Integridad): {}", ex.getMessage());
+        // Devolvemos 409 CONFLICT para que el frontend sepa que es un bloqueo lógico
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
+    // Procesadora caída, lenta o con el circuito abierto: el cliente puede reintentar con el mismo checkoutId
+    @ExceptionHandler(PaymentGatewayUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentGatewayUnavailable(
+            PaymentGatewayUnavailableException ex, WebRequest request) {
+        log.warn("Procesadora de pagos no disponible: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ErrorResponse> handleValidationException(
+            MethodArgumentNotValidException ex, WebRequest request){
+        String errorMessage = ex.getBindingResult().getFieldErrors().stream()
+                .map(field -> field.getField() + ": " + field.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        log.warn("Error de validación en input: {}", errorMessage);
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, errorMessage, request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({
+            InsufficientStockException.class,
+            InvalidPasswordException.class,
+            IllegalArgumentException.class
+            // IllegalStateException.class <--- LO QUITAMOS DE AQUÍ
+    })
+    public ResponseEntity<ErrorResponse> handleBusinessLogicException(
+            RuntimeException ex, WebRequest request) {
+        log.warn("Error de negocio: {}", ex.getMessage());
+        ErrorResponse errorResponse = buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), request);
+        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({
+            BadCredentialsException.class,
+            DisabledException.class
+    })
+    public ResponseEntity<ErrorResponse> handleAuthExceptions(Exception ex, WebRequest request) {
+        log.warn("Fallo de autenticación: {}", ex.getMessage());
+        ErrorResponse error = buildErrorResponse(HttpStatus.UNAUTHORIZED, ex.getMessage(), request);
+        return new ResponseEntity<>(error, HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAccessDenied(AccessDeniedException ex, WebRequest request) {
+        log.warn("Acceso denegado a recurso protegido: {}", request.getDescription(false));
+        ErrorResponse error = buildErrorResponse(HttpStatus.FORBIDDEN, "No tienes permisos para realizar esta acción.", request);
+        return new ResponseEntity<>(error, HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<ErrorResponse> handleGlobalException(
+            Exception ex, WebRequest request
+    ) {
+        log.error("ERROR CRÍTICO NO CONTROLADO: ", ex);
+        ErrorResponse errorResponse = buildErrorResponse(
+                HttpStatus.INTERNAL_SERVER_ERROR,
+                "Ocurrió un error interno en el servidor. Por favor contacte a soporte.",
+                request
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+
+    private ErrorResponse buildErrorResponse(HttpStatus status, String message, WebRequest request) {
+        return new ErrorResponse(
+                LocalDateTime.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                request.getDescription(false).replace("uri=", "")
+        );
+    }
 }
\ No newline at end of file
@@ -1,7 +1,7 @@
-package com.ecommerce.api_geek_store.exception;
-
-public class InsufficientStockException extends RuntimeException {
-    public InsufficientStockException(String message) {
-        super(message);
-    }
+package com.ecommerce.api_geek_store.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    public InsufficientStockException(String message) {
+        super(message);
+    }
 }
\ No newline at end of file
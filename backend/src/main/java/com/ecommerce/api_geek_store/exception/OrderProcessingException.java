@@ -1,7 +1,7 @@
-package com.ecommerce.api_geek_store.exception;
-
-public class OrderProcessingException extends RuntimeException {
-    public OrderProcessingException(String message) {
-        super(message);
-    }
+package com.ecommerce.api_geek_store.exception;
+
+public class OrderProcessingException extends RuntimeException {
+    public OrderProcessingException(String message) {
+        super(message);
+    }
 }
\ No newline at end of file
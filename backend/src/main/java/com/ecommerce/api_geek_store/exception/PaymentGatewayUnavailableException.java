@@ -0,0 +1,11 @@
+package com.ecommerce.api_geek_store.exception;
+
+public class PaymentGatewayUnavailableException extends RuntimeException {
+    public PaymentGatewayUnavailableException(String message) {
+        super(message);
+    }
+
+    public PaymentGatewayUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
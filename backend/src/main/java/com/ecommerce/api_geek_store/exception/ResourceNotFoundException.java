@@ -1,10 +1,10 @@
-package com.ecommerce.api_geek_store.exception;
-
-public class ResourceNotFoundException extends RuntimeException {
-
-    public ResourceNotFoundException(String message){
-        super(message);
-    }
-}
-
-
+package com.ecommerce.api_geek_store.exception;
+
+public class ResourceNotFoundException extends RuntimeException {
+
+    public ResourceNotFoundException(String message){
+        super(message);
+    }
+}
+
+
@@ -1,12 +1,12 @@
-package com.ecommerce.api_geek_store.exception.dto;
-
-import java.time.LocalDateTime;
-
-public record ErrorResponse(
-        LocalDateTime timestamp,
-        int status,
-        String error,
-        String message,
-        String path
-) { }
-
+package com.ecommerce.api_geek_store.exception.dto;
+
+import java.time.LocalDateTime;
+
+public record ErrorResponse(
+        LocalDateTime timestamp,
+        int status,
+        String error,
+        String message,
+        String path
+) { }
+
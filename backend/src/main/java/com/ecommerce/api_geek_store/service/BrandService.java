@@ -1,14 +1,18 @@
-package com.ecommerce.api_geek_store.service;
-
-
-import com.ecommerce.api_geek_store.api.dto.BrandRequest;
-import com.ecommerce.api_geek_store.api.dto.BrandResponse;
-import java.util.List;
-
-public interface BrandService {
-    List<BrandResponse> findAll();
-    BrandResponse findById(Long id);
-    BrandResponse create(BrandRequest request);
-    void delete(Long id);
-    BrandResponse update(Long id, BrandRequest request);
+package com.ecommerce.api_geek_store.service;
+
+
+import com.ecommerce.api_geek_store.api.dto.BrandRequest;
+import com.ecommerce.api_geek_store.api.dto.BrandResponse;
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import java.util.List;
+import java.util.Optional;
+
+public interface BrandService {
+    List<BrandResponse> findAll();
+    ResourceVersion findAllVersion();
+    Optional<ResourceVersion> findVersion(Long id);
+    BrandResponse findById(Long id);
+    BrandResponse create(BrandRequest request);
+    void delete(Long id);
+    BrandResponse update(Long id, BrandRequest request);
 }
\ No newline at end of file
@@ -1,20 +1,29 @@
-package com.ecommerce.api_geek_store.service;
-
-import com.ecommerce.api_geek_store.api.dto.ProductRequest;
-import com.ecommerce.api_geek_store.api.dto.ProductResponse;
-import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-
-import java.util.List;
-
-public interface ProductService {
-
-    Page<ProductResponse> findAll(Pageable pageable, String keyword, Long categoryId, Long brandId, String gender);
-    ProductResponse findById(Long id);
-    List<ProductResponse> findByCategoryId(Long categoryId);
-    ProductResponse create(ProductRequest productRequest);
-    ProductResponse update(Long id, ProductRequest productRequest);
-    void deleteById(Long id);
-    ProductResponse getFeatured();
-}
+package com.ecommerce.api_geek_store.service;
+
+import com.ecommerce.api_geek_store.api.dto.CursorPageResponse;
+import com.ecommerce.api_geek_store.api.dto.ProductFacetsResponse;
+import com.ecommerce.api_geek_store.api.dto.ProductRequest;
+import com.ecommerce.api_geek_store.api.dto.ProductResponse;
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import org.springframework.boot.autoconfigure.data.web.SpringDataWebProperties;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductService {
+
+    Page<ProductResponse> findAll(Pageable pageable, String keyword, Long categoryId, Long brandId, String gender);
+    CursorPageResponse<ProductResponse> findAllByCursor(String after, int size, String keyword, Long categoryId, Long brandId, String gender);
+    ProductFacetsResponse getFacets(String keyword, Long categoryId, Long brandId, String gender);
+    ProductResponse findById(Long id);
+    List<ProductResponse> findByCategoryId(Long categoryId);
+    ProductResponse create(ProductRequest productRequest);
+    ProductResponse update(Long id, ProductRequest productRequest);
+    void deleteById(Long id);
+    ProductResponse getFeatured();
+    Optional<ResourceVersion> findVersion(Long id);
+    ResourceVersion catalogVersion();
+    ResourceVersion featuredVersion();
+}
@@ -1,7 +1,17 @@
-package com.ecommerce.api_geek_store.service;
-
-import org.springframework.web.multipart.MultipartFile;
-
-public interface StorageService {
-    String uploadFile(MultipartFile file);
-}
\ No newline at end of file
+package com.ecommerce.api_geek_store.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public interface StorageService {
+    String uploadFile(MultipartFile file);
+
+    /**
+     * Sube un comprobante de pago leyendo el archivo desde disco, sin cargarlo entero en memoria.
+     * No debe llamarse con una transacción abierta: la subida puede tardar segundos.
+     */
+    StoredFile uploadReceipt(MultipartFile file);
+
+    void delete(String publicId);
+
+    record StoredFile(String url, String publicId) {}
+}
@@ -0,0 +1,283 @@
+package com.ecommerce.api_geek_store.service.cache;
+
+import com.ecommerce.api_geek_store.api.dto.ProductFacetsResponse;
+import com.ecommerce.api_geek_store.api.dto.ProductResponse;
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import com.ecommerce.api_geek_store.domain.model.Genero;
+import com.ecommerce.api_geek_store.domain.model.Product;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Caché en memoria de lecturas del catálogo (detalle, listados, facetas y destacado).
+ * Acotada por tamaño (W-TinyLFU de Caffeine) y con TTL por entrada; las escrituras
+ * del admin y las ventas invalidan solo las entradas afectadas, tras el commit. Las del admin además
+ * suben la versión compartida del catálogo: si cambia por una escritura de otro nodo se vacía todo.
+ * Las ventas no la tocan; los productos vendidos viajan a los demás nodos por {@link CatalogChanges}
+ * y cada uno descarta solo esas entradas.
+ */
+@Component
+public class CatalogCache {
+
+    private static final String FEATURED_KEY = "featured";
+
+    private final boolean enabled;
+    private final CatalogVersions catalogVersions;
+    private final CatalogChanges catalogChanges;
+    private final Cache<Long, ProductResponse> products;
+    private final Cache<ListingKey, CachedListing> listings;
+    private final Cache<String, Optional<ProductResponse>> featured;
+    private final Cache<FacetsKey, ProductFacetsResponse> facets;
+
+    /**
+     * Clave normalizada de un listado: el mismo filtro escrito distinto comparte entrada.
+     */
+    public record ListingKey(String keyword, Long categoryId, Long brandId, Genero genero,
+                             int page, int size, String sort) {
+
+        public static ListingKey of(Pageable pageable, String keyword, Long categoryId, Long brandId, Genero genero) {
+            return new ListingKey(
+                    normalizar(keyword),
+                    categoryId,
+                    brandId,
+                    genero,
+                    pageable.isPaged() ? pageable.getPageNumber() : -1,
+                    pageable.isPaged() ? pageable.getPageSize() : -1,
+                    pageable.getSort().toString()
+            );
+        }
+
+        boolean matches(ProductRef ref) {
+            return ref != null
+                    && (categoryId == null || categoryId.equals(ref.categoryId()))
+                    && (brandId == null || brandId.equals(ref.brandId()))
+                    && (genero == null || genero == ref.genero());
+        }
+    }
+
+    /**
+     * Clave de los conteos por faceta: mismos filtros que un listado, sin paginación ni orden.
+     */
+    public record FacetsKey(String keyword, Long categoryId, Long brandId, Genero genero) {
+
+        public static FacetsKey of(String keyword, Long categoryId, Long brandId, Genero genero) {
+            return new FacetsKey(normalizar(keyword), categoryId, brandId, genero);
+        }
+
+        // Un producto fuera de estos filtros no cambia los conteos; con palabra clave se invalida de más
+        boolean matches(ProductRef ref) {
+            return ref != null
+                    && (categoryId == null || categoryId.equals(ref.categoryId()))
+                    && (brandId == null || brandId.equals(ref.brandId()))
+                    && (genero == null || genero == ref.genero());
+        }
+    }
+
+    private static String normalizar(String keyword) {
+        return keyword == null || keyword.isBlank()
+                ? null
+                : keyword.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Atributos de un producto que deciden en qué listados puede aparecer.
+     */
+    public record ProductRef(Long id, Long categoryId, Long brandId, Genero genero, boolean featured) {
+
+        public static ProductRef of(Product product) {
+            return new ProductRef(
+                    product.getId(),
+                    product.getCategory() != null ? product.getCategory().getId() : null,
+                    product.getBrand() != null ? product.getBrand().getId() : null,
+                    product.getGenero(),
+                    Boolean.TRUE.equals(product.getFeatured())
+            );
+        }
+    }
+
+    private record CachedListing(Page<ProductResponse> page, Set<Long> ids) {}
+
+    public CatalogCache(MeterRegistry meterRegistry,
+                        CatalogVersions catalogVersions,
+                        CatalogChanges catalogChanges,
+                        @Value("${catalog.cache.enabled:true}") boolean enabled,
+                        @Value("${catalog.cache.products.max-entries:10000}") long productsMaxEntries,
+                        @Value("${catalog.cache.products.ttl:10m}") Duration productsTtl,
+                        @Value("${catalog.cache.listings.max-items:50000}") long listingsMaxItems,
+                        @Value("${catalog.cache.listings.ttl:60s}") Duration listingsTtl,
+                        @Value("${catalog.cache.featured.ttl:5m}") Duration featuredTtl,
+                        @Value("${catalog.cache.facets.max-entries:1000}") long facetsMaxEntries,
+                        @Value("${catalog.cache.facets.ttl:60s}") Duration facetsTtl) {
+        this.enabled = enabled;
+        this.catalogVersions = catalogVersions;
+        this.catalogChanges = catalogChanges;
+
+        this.products = Caffeine.newBuilder()
+                .maximumSize(productsMaxEntries)
+                .expireAfterWrite(productsTtl)
+                .recordStats()
+                .build();
+
+        // El peso de un listado es la cantidad de productos que contiene
+        this.listings = Caffeine.newBuilder()
+                .maximumWeight(listingsMaxItems)
+                .weigher((ListingKey key, CachedListing value) -> 1 + value.ids().size())
+                .expireAfterWrite(listingsTtl)
+                .recordStats()
+                .build();
+
+        this.featured = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(featuredTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "catalog.products");
+        CaffeineCacheMetrics.monitor(meterRegistry, listings, "catalog.listings");
+        this.facets = Caffeine.newBuilder()
+                .maximumSize(facetsMaxEntries)
+                .expireAfterWrite(facetsTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, featured, "catalog.featured");
+        CaffeineCacheMetrics.monitor(meterRegistry, facets, "catalog.facets");
+
+        catalogVersions.alCambiarEnOtroNodo(CatalogVersions.CATALOGO, this::invalidateAll);
+        catalogChanges.alCambiar(this::descartar);
+    }
+
+    public ResourceVersion version() {
+        return catalogVersions.resourceVersion(CatalogVersions.CATALOGO);
+    }
+
+    public ProductResponse product(Long id, Function<Long, ProductResponse> loader) {
+        if (!enabled) return loader.apply(id);
+        return products.get(id, loader);
+    }
+
+    public Page<ProductResponse> listing(ListingKey key, Supplier<Page<ProductResponse>> loader) {
+        if (!enabled) return loader.get();
+
+        return listings.get(key, k -> {
+            Page<ProductResponse> page = loader.get();
+            Set<Long> ids = page.getContent().stream()
+                    .map(ProductResponse::id)
+                    .collect(Collectors.toUnmodifiableSet());
+            return new CachedListing(page, ids);
+        }).page();
+    }
+
+    public ProductFacetsResponse facets(FacetsKey key, Supplier<ProductFacetsResponse> loader) {
+        if (!enabled) return loader.get();
+        return facets.get(key, k -> loader.get());
+    }
+
+    public ProductResponse featured(Supplier<ProductResponse> loader) {
+        if (!enabled) return loader.get();
+        return featured.get(FEATURED_KEY, k -> Optional.ofNullable(loader.get())).orElse(null);
+    }
+
+    /**
+     * Alta, edición o baja de un producto. {@code before} es null en un alta y {@code after} en una baja.
+     */
+    public void productChangedAfterCommit(ProductRef before, ProductRef after) {
+        runAfterCommit(() -> {
+            ProductRef ref = after != null ? after : before;
+            if (ref == null) return;
+
+            products.invalidate(ref.id());
+            listings.asMap().entrySet().removeIf(entry ->
+                    entry.getValue().ids().contains(ref.id())
+                            || entry.getKey().matches(before)
+                            || entry.getKey().matches(after));
+            // Categoría, marca, género y precio cuentan en las facetas; el stock no
+            facets.asMap().keySet().removeIf(key -> key.matches(before) || key.matches(after));
+
+            if ((before != null && before.featured()) || (after != null && after.featured())
+                    || isCachedFeatured(ref.id())) {
+                featured.invalidate(FEATURED_KEY);
+            }
+        });
+    }
+
+    /**
+     * Cambió el nombre de una categoría o marca: aparece desnormalizado en todas las respuestas.
+     */
+    public void clearAfterCommit() {
+        runAfterCommit(this::invalidateAll);
+    }
+
+    /**
+     * Se quitó la marca de destacado a {@code previousIds}: cambia su detalle y los listados que los muestran.
+     */
+    public void featuredResetAfterCommit(Collection<Long> previousIds) {
+        runAfterCommit(() -> {
+            featured.invalidate(FEATURED_KEY);
+            evict(previousIds);
+        });
+    }
+
+    /**
+     * Cambió el stock de estos productos (ventas): el total mostrado en detalle y listados queda viejo.
+     * No sube la versión del catálogo: se registran los productos en la transacción del pedido
+     * y los demás nodos descartan solo esos.
+     */
+    public void stockChangedAfterCommit(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        catalogChanges.registrar(productIds);
+        Set<Long> ids = Set.copyOf(productIds);
+        AfterCommit.run(() -> descartar(ids));
+    }
+
+    private void invalidateAll() {
+        products.invalidateAll();
+        listings.invalidateAll();
+        featured.invalidateAll();
+        facets.invalidateAll();
+    }
+
+    private void descartar(Collection<Long> productIds) {
+        if (!enabled) return;
+        evict(productIds);
+        if (productIds.stream().anyMatch(this::isCachedFeatured)) {
+            featured.invalidate(FEATURED_KEY);
+        }
+    }
+
+    private void evict(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+
+        products.invalidateAll(productIds);
+        listings.asMap().values().removeIf(listing ->
+                productIds.stream().anyMatch(listing.ids()::contains));
+    }
+
+    private boolean isCachedFeatured(Long productId) {
+        Optional<ProductResponse> cached = featured.getIfPresent(FEATURED_KEY);
+        return cached != null && cached.map(p -> p.id().equals(productId)).orElse(false);
+    }
+
+    // La versión sube aunque la caché esté apagada: de ella salen los ETag de listados y facetas
+    private void runAfterCommit(Runnable action) {
+        catalogVersions.incrementarAfterCommit(CatalogVersions.CATALOGO);
+        if (!enabled) return;
+        AfterCommit.run(action);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.api_geek_store.service.cache;
+
+import com.ecommerce.api_geek_store.domain.repository.CatalogChangeRepository;
+import com.ecommerce.api_geek_store.domain.repository.CatalogChangeRepository.CatalogChange;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Productos cambiados, compartidos entre nodos por la tabla catalog_changes. Es la alternativa a subir
+ * la versión del catálogo para escrituras frecuentes y acotadas, como las ventas: cada nodo lee lo nuevo
+ * cada pocos segundos y descarta solo esos productos de sus cachés, en lugar de vaciarlas enteras.
+ * Las bajas de productos también quedan acá, para que el índice de búsqueda de cada nodo las vea.
+ * El registro se inserta en la transacción del cambio, así que confirma o se pierde con él.
+ * Los ids que una lectura salta (transacciones que todavía no confirmaron) se vuelven a buscar un rato.
+ */
+@Component
+public class CatalogChanges {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogChanges.class);
+
+    // Más de lo que dura cualquier transacción de pedido: pasado esto un id salteado no va a aparecer
+    private static final Duration ESPERA_HUECOS = Duration.ofMinutes(1);
+    private static final int MAX_HUECOS_POR_SALTO = 1000;
+    private static final int LOTE = 5000;
+
+    private final CatalogChangeRepository catalogChangeRepository;
+    private final DataSource dataSource;
+    private final List<Consumer<Set<Long>>> suscriptores = new CopyOnWriteArrayList<>();
+
+    // Solo los toca la tarea programada
+    private final Map<Long, LocalDateTime> huecos = new HashMap<>();
+    private long ultimoId;
+
+    @Value("${catalog.changes.retention:1h}")
+    private Duration retention;
+
+    public CatalogChanges(CatalogChangeRepository catalogChangeRepository, DataSource dataSource) {
+        this.catalogChangeRepository = catalogChangeRepository;
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    public void init() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/cache/catalog_changes.sql")).execute(dataSource);
+        // Lo anterior al arranque ya no está en las cachés de este nodo
+        ultimoId = catalogChangeRepository.ultimo();
+    }
+
+    /**
+     * Registra en la transacción actual que cambiaron estos productos.
+     */
+    public void registrar(Collection<Long> productIds) {
+        if (productIds.isEmpty()) return;
+        catalogChangeRepository.registrar(productIds);
+    }
+
+    /**
+     * Acción a correr con los productos cambiados que trae cada lectura. Incluye los de este nodo:
+     * quien se suscribe ya los aplicó tras el commit y aplicarlos dos veces no tiene efecto.
+     */
+    public void alCambiar(Consumer<Set<Long>> accion) {
+        suscriptores.add(accion);
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.refresh-ms:2000}", initialDelayString = "${catalog.changes.refresh-ms:2000}")
+    public void sincronizar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        huecos.values().removeIf(desde -> desde.isBefore(ahora.minus(ESPERA_HUECOS)));
+
+        Set<Long> productos = new HashSet<>();
+        for (CatalogChange cambio : catalogChangeRepository.leer(huecos.keySet())) {
+            huecos.remove(cambio.id());
+            productos.add(cambio.productId());
+        }
+
+        List<CatalogChange> nuevos;
+        do {
+            nuevos = catalogChangeRepository.leerDesde(ultimoId, LOTE);
+            for (CatalogChange cambio : nuevos) {
+                long hasta = Math.min(cambio.id(), ultimoId + 1 + MAX_HUECOS_POR_SALTO);
+                for (long id = ultimoId + 1; id < hasta; id++) {
+                    huecos.put(id, ahora);
+                }
+                ultimoId = cambio.id();
+                productos.add(cambio.productId());
+            }
+        } while (nuevos.size() == LOTE);
+
+        if (productos.isEmpty()) return;
+        log.debug("{} productos cambiaron en el catálogo desde la última lectura", productos.size());
+        Set<Long> cambiados = Collections.unmodifiableSet(productos);
+        suscriptores.forEach(accion -> accion.accept(cambiados));
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.changes.purge-interval-ms:600000}")
+    public void purgar() {
+        int borrados = catalogChangeRepository.purgar(LocalDateTime.now().minus(retention));
+        if (borrados > 0) {
+            log.debug("Purgados {} cambios de catálogo anteriores a {}", borrados, retention);
+        }
+    }
+}
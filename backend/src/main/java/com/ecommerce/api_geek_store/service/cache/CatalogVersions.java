@@ -0,0 +1,117 @@
+package com.ecommerce.api_geek_store.service.cache;
+
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import com.ecommerce.api_geek_store.domain.repository.CatalogVersionRepository;
+import com.ecommerce.api_geek_store.domain.repository.CatalogVersionRepository.CatalogVersion;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Versiones compartidas de lo que se cachea en memoria (catálogo, categorías, marcas), en la tabla
+ * catalog_versions. Cada escritura confirmada sube la versión del recurso; los ETag salen de la copia
+ * en memoria, así que validar un GET no cuesta ninguna consulta. Cada nodo relee la tabla (unas pocas
+ * filas por clave primaria) cada pocos segundos: si otro nodo escribió, avisa para vaciar las cachés
+ * locales de ese recurso. Un nodo sirve datos de otro nodo con a lo sumo ese atraso.
+ */
+@Component
+public class CatalogVersions {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogVersions.class);
+
+    public static final String CATALOGO = "catalog";
+    public static final String CATEGORIAS = "categories";
+    public static final String MARCAS = "brands";
+
+    private static final List<String> RECURSOS = List.of(CATALOGO, CATEGORIAS, MARCAS);
+
+    private final CatalogVersionRepository catalogVersionRepository;
+    private final DataSource dataSource;
+    private final TransactionTemplate nuevaTransaccion;
+
+    private final Map<String, CatalogVersion> conocidas = new ConcurrentHashMap<>();
+    private final Map<String, List<Runnable>> alCambiarEnOtroNodo = new ConcurrentHashMap<>();
+
+    public CatalogVersions(CatalogVersionRepository catalogVersionRepository,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager) {
+        this.catalogVersionRepository = catalogVersionRepository;
+        this.dataSource = dataSource;
+        this.nuevaTransaccion = new TransactionTemplate(transactionManager);
+        this.nuevaTransaccion.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void init() {
+        new ResourceDatabasePopulator(new ClassPathResource("db/cache/catalog_versions.sql")).execute(dataSource);
+        nuevaTransaccion.executeWithoutResult(status -> RECURSOS.forEach(catalogVersionRepository::sembrar));
+        conocidas.putAll(catalogVersionRepository.leer());
+    }
+
+    public ResourceVersion resourceVersion(String recurso) {
+        CatalogVersion version = conocidas.get(recurso);
+        return ResourceVersion.of(recurso, version.lastModified(), version.version());
+    }
+
+    public long version(String recurso) {
+        return conocidas.get(recurso).version();
+    }
+
+    /**
+     * Acción a correr cuando la versión del recurso cambia por una escritura hecha en otro nodo.
+     */
+    public void alCambiarEnOtroNodo(String recurso, Runnable accion) {
+        alCambiarEnOtroNodo.computeIfAbsent(recurso, k -> new CopyOnWriteArrayList<>()).add(accion);
+    }
+
+    /**
+     * Sube la versión cuando confirma la transacción actual. Corre en una transacción propia y corta:
+     * la fila se bloquea solo lo que dura el UPDATE, no todo el pedido o la edición.
+     */
+    public void incrementarAfterCommit(String recurso) {
+        AfterCommit.run(() -> {
+            try {
+                CatalogVersion nueva = nuevaTransaccion.execute(status -> catalogVersionRepository.incrementar(recurso));
+                publicar(recurso, nueva, true);
+            } catch (RuntimeException e) {
+                // Lo local ya se invalidó; los demás nodos se enteran con la próxima escritura
+                log.error("No se pudo subir la versión de {}", recurso, e);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.versions.refresh-ms:2000}", initialDelayString = "${catalog.versions.refresh-ms:2000}")
+    public void sincronizar() {
+        catalogVersionRepository.leer().forEach((recurso, version) -> publicar(recurso, version, false));
+    }
+
+    private void publicar(String recurso, CatalogVersion nueva, boolean propia) {
+        boolean[] ajena = {false};
+        conocidas.compute(recurso, (k, actual) -> {
+            if (actual != null && actual.version() >= nueva.version()) return actual;
+            // Una escritura propia sube exactamente uno; cualquier salto mayor trae cambios de otro nodo
+            long esperada = actual != null ? actual.version() + 1 : 1;
+            ajena[0] = !propia || nueva.version() != esperada;
+            return nueva;
+        });
+
+        if (ajena[0]) {
+            log.debug("La versión de {} cambió en otro nodo ({}), se vacían las cachés locales", recurso, nueva.version());
+            alCambiarEnOtroNodo.getOrDefault(recurso, List.of()).forEach(Runnable::run);
+        }
+    }
+}
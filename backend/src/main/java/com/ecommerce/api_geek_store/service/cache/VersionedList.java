@@ -0,0 +1,53 @@
+package com.ecommerce.api_geek_store.service.cache;
+
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Lista inmutable de datos de referencia (categorías, marcas) atada a una versión de {@link CatalogVersions}.
+ * Cada escritura confirmada, en cualquier nodo, sube la versión; la lista se vuelve a leer en la siguiente
+ * consulta que vea una versión distinta y se publica con un único swap atómico. El ETag sale de la versión.
+ */
+public class VersionedList<T> {
+
+    private final String recurso;
+    private final CatalogVersions catalogVersions;
+    private final AtomicReference<State<T>> state = new AtomicReference<>(new State<>(0, null));
+
+    public record Snapshot<T>(List<T> items, String etag) {}
+
+    // items == null: se invalidó localmente y aún no se recargó
+    private record State<T>(long version, List<T> items) {}
+
+    public VersionedList(String recurso, CatalogVersions catalogVersions) {
+        this.recurso = recurso;
+        this.catalogVersions = catalogVersions;
+        catalogVersions.alCambiarEnOtroNodo(recurso, () -> state.set(new State<>(0, null)));
+    }
+
+    public ResourceVersion version() {
+        return catalogVersions.resourceVersion(recurso);
+    }
+
+    public Snapshot<T> get(Supplier<List<T>> loader) {
+        State<T> actual = state.get();
+        long vigente = catalogVersions.version(recurso);
+        if (actual.items() != null && actual.version() == vigente) {
+            return new Snapshot<>(actual.items(), version().etag());
+        }
+
+        State<T> cargado = new State<>(vigente, List.copyOf(loader.get()));
+        // Si otra escritura invalidó mientras se leía, no se publica: el siguiente lector recarga
+        state.compareAndSet(actual, cargado);
+        return new Snapshot<>(cargado.items(), version().etag());
+    }
+
+    public void invalidateAfterCommit() {
+        AfterCommit.run(() -> state.set(new State<>(0, null)));
+        catalogVersions.incrementarAfterCommit(recurso);
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.api_geek_store.service.export;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    public static ExportFormat from(String valor) {
+        if (valor == null || valor.isBlank()) return CSV;
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportación no soportado: " + valor);
+        }
+    }
+}
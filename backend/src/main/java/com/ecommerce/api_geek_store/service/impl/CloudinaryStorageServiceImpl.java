@@ -1,58 +1,113 @@
-package com.ecommerce.api_geek_store.service.impl;
-
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
-import com.ecommerce.api_geek_store.service.StorageService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
-
-import java.io.IOException;
-import java.util.Map;
-
-@Service
-public class CloudinaryStorageServiceImpl implements StorageService {
-
-    private static final Logger log = LoggerFactory.getLogger(CloudinaryStorageServiceImpl.class);
-
-    private final Cloudinary cloudinary;
-
-
-    @Value("${cloudinary.folder.root:geek_store_uploads}")
-    private String rootFolder;
-
-    public CloudinaryStorageServiceImpl(Cloudinary cloudinary) {
-        this.cloudinary = cloudinary;
-    }
-
-    @Override
-    public String uploadFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new RuntimeException("No se puede subir un archivo vacío.");
-        }
-
-        String originalFilename = file.getOriginalFilename();
-        log.info("Iniciando subida de imagen: {} (Tamaño: {} bytes)", originalFilename, file.getSize());
-
-        try {
-
-            String carpetaDestino = rootFolder + "/productos";
-
-            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-                    "folder", carpetaDestino
-            ));
-
-            String secureUrl = uploadResult.get("secure_url").toString();
-
-            log.info("Imagen subida exitosamente: {}", secureUrl);
-
-            return secureUrl;
-
-        } catch (IOException e) {
-            log.error("Fallo crítico al subir imagen a Cloudinary: {}", originalFilename, e);
-            throw new RuntimeException("Error al subir la imagen al servidor de archivos.", e);
-        }
-    }
-}
\ No newline at end of file
+package com.ecommerce.api_geek_store.service.impl;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import com.ecommerce.api_geek_store.service.StorageService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Service
+public class CloudinaryStorageServiceImpl implements StorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(CloudinaryStorageServiceImpl.class);
+
+    private final Cloudinary cloudinary;
+    private final MeterRegistry meterRegistry;
+
+
+    @Value("${cloudinary.folder.root:geek_store_uploads}")
+    private String rootFolder;
+
+    public CloudinaryStorageServiceImpl(Cloudinary cloudinary, MeterRegistry meterRegistry) {
+        this.cloudinary = cloudinary;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String uploadFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new RuntimeException("No se puede subir un archivo vacío.");
+        }
+
+        String originalFilename = file.getOriginalFilename();
+        log.info("Iniciando subida de imagen: {} (Tamaño: {} bytes)", originalFilename, file.getSize());
+
+        try {
+
+            String carpetaDestino = rootFolder + "/productos";
+
+            Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
+                    "folder", carpetaDestino
+            ));
+
+            String secureUrl = uploadResult.get("secure_url").toString();
+
+            log.info("Imagen subida exitosamente: {}", secureUrl);
+
+            return secureUrl;
+
+        } catch (IOException e) {
+            log.error("Fallo crítico al subir imagen a Cloudinary: {}", originalFilename, e);
+            throw new RuntimeException("Error al subir la imagen al servidor de archivos.", e);
+        }
+    }
+
+    @Override
+    public StoredFile uploadReceipt(MultipartFile file) {
+        String carpetaDestino = rootFolder + "/comprobantes";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultado = "error";
+        Path temporal = null;
+
+        try {
+            // El multipart ya está en disco: se mueve a un temporal y Cloudinary lo lee por streaming
+            temporal = Files.createTempFile("comprobante-", ".upload");
+            file.transferTo(temporal);
+
+            Map uploadResult = cloudinary.uploader().upload(temporal.toFile(), ObjectUtils.asMap(
+                    "folder", carpetaDestino
+            ));
+
+            StoredFile stored = new StoredFile(uploadResult.get("secure_url").toString(), uploadResult.get("public_id").toString());
+            resultado = "ok";
+            log.info("Comprobante subido a: {} -> {} ({} bytes)", carpetaDestino, stored.url(), file.getSize());
+            return stored;
+
+        } catch (IOException e) {
+            log.error("Error al subir comprobante a Cloudinary", e);
+            throw new RuntimeException("Error al subir el comprobante de pago");
+        } finally {
+            sample.stop(meterRegistry.timer("storage.upload", "tipo", "comprobante", "resultado", resultado));
+            borrarTemporal(temporal);
+        }
+    }
+
+    @Override
+    public void delete(String publicId) {
+        try {
+            cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
+            log.info("Archivo eliminado de Cloudinary: {}", publicId);
+        } catch (Exception e) {
+            log.warn("No se pudo eliminar {} de Cloudinary: {}", publicId, e.getMessage());
+        }
+    }
+
+    private void borrarTemporal(Path temporal) {
+        if (temporal == null) return;
+        try {
+            Files.deleteIfExists(temporal);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el temporal {}", temporal);
+        }
+    }
+}
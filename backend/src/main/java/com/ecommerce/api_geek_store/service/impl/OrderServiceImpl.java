@@ -1,556 +1,870 @@
-package com.ecommerce.api_geek_store.service.impl;
-
-
-
-import com.cloudinary.Cloudinary;
-
-import com.cloudinary.utils.ObjectUtils;
-
-import com.ecommerce.api_geek_store.api.dto.*;
-
-import com.ecommerce.api_geek_store.api.mapper.OrderMapper;
-
-import com.ecommerce.api_geek_store.domain.model.*;
-
-import com.ecommerce.api_geek_store.domain.repository.OrderRepository;
-
-import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
-
-import com.ecommerce.api_geek_store.domain.repository.UserRepository;
-
-import com.ecommerce.api_geek_store.exception.InsufficientStockException;
-
-import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
-
-import com.ecommerce.api_geek_store.service.OrderService;
-
-import com.ecommerce.api_geek_store.service.notification.EmailService;
-
-import org.slf4j.Logger;
-
-import org.slf4j.LoggerFactory;
-
-import org.springframework.beans.factory.annotation.Value;
-
-import org.springframework.security.core.userdetails.UserDetails;
-
-import org.springframework.stereotype.Service;
-
-import org.springframework.transaction.annotation.Transactional;
-
-import org.springframework.web.multipart.MultipartFile;
-
-
-
-import java.io.IOException;
-
-import java.math.BigDecimal;
-
-import java.time.LocalDateTime;
-
-import java.util.*;
-
-import java.util.stream.Collectors;
-
-
-
-@Service
-
-@Transactional
-
-public class OrderServiceImpl implements OrderService {
-
-
-
-    private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
-
-
-
-    private final OrderRepository orderRepository;
-
-    private final ProductRepository productRepository;
-
-    private final UserRepository userRepository;
-
-    private final OrderMapper orderMapper;
-
-    private final EmailService emailService;
-
-    private final Cloudinary cloudinary;
-
-    @Value("${cloudinary.folder.root}")
-
-    private String rootFolder;
-
-
-
-    public OrderServiceImpl(OrderRepository orderRepository,
-
-                            ProductRepository productRepository,
-
-                            UserRepository userRepository,
-
-                            OrderMapper orderMapper,
-
-                            EmailService emailService,
-
-                            Cloudinary cloudinary) {
-
-        this.orderRepository = orderRepository;
-
-        this.productRepository = productRepository;
-
-        this.userRepository = userRepository;
-
-        this.orderMapper = orderMapper;
-
-        this.emailService = emailService;
-
-        this.cloudinary = cloudinary;
-
-    }
-
-
-
-    @Override
-
-    @Transactional
-
-    public OrderResponse createOrder(OrderRequest orderRequest, UserDetails userDetails) {
-
-        return null;
-
-    }
-
-
-
-    @Override
-
-    @Transactional(readOnly = true)
-
-    public List<OrderResponse> findMyOrders(UserDetails userDetails) {
-
-        User user = userRepository.findByEmail(userDetails.getUsername())
-
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + userDetails.getUsername()));
-
-
-
-        return orderRepository.findByUserId(user.getId()).stream()
-
-                .map(orderMapper::toOrderResponse)
-
-                .collect(Collectors.toList());
-
-    }
-
-
-
-    @Override
-
-    @Transactional(readOnly = true)
-
-    public List<OrderResponse> findAllOrders() {
-
-        return orderRepository.findAll().stream()
-
-                .map(orderMapper::toOrderResponse)
-
-                .collect(Collectors.toList());
-
-    }
-
-
-
-    @Override
-
-    @Transactional
-
-    public OrderResponse updateOrderStatus(Long orderId, String status) {
-
-        Order order = orderRepository.findById(orderId)
-
-                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
-
-
-
-        String oldStatus = order.getEstado();
-
-        String newStatus = status.toUpperCase();
-
-
-
-        order.setEstado(newStatus);
-
-        Order savedOrder = orderRepository.save(order);
-
-
-
-        log.info("Orden ID {} actualizada: {} -> {}", orderId, oldStatus, newStatus);
-
-
-
-        if (!oldStatus.equals(newStatus)) {
-
-            final String userEmail = savedOrder.getUser().getEmail();
-
-            emailService.sendOrderStatusUpdate(userEmail, savedOrder);
-
-        }
-
-
-
-        return orderMapper.toOrderResponse(savedOrder);
-
-    }
-
-
-
-    @Override
-
-    @Transactional
-
-    public void createOrderFromPayment(
-
-            String email,
-
-            List<PaymentRequest.PaymentItem> itemsRequest,
-
-            PaymentRequest.PaymentAddress dirRequest,
-
-            BigDecimal totalPaid
-
-    ) {
-
-        User user = userRepository.findByEmail(email)
-
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + email));
-
-
-
-        log.info("Procesando orden pagada para: {}", email);
-
-
-
-        Order order = new Order();
-
-        order.setUser(user);
-
-        order.setEstado("PAGADO");
-
-        order.setTotal(totalPaid);
-
-        order.setFechaCreacion(LocalDateTime.now());
-
-        order.setMetodoPago("MERCADO_PAGO");
-
-
-
-        ShippingAddress addressEntity = new ShippingAddress(
-
-                dirRequest.calle(),
-
-                dirRequest.ciudad(),
-
-                dirRequest.estado(),
-
-                dirRequest.codigoPostal(),
-
-                dirRequest.pais()
-
-        );
-
-        order.setEnvio(addressEntity);
-
-
-
-        Set<OrderItem> orderItems = new HashSet<>();
-
-
-
-        for (PaymentRequest.PaymentItem itemReq : itemsRequest) {
-
-            Product product = productRepository.findById(itemReq.productId())
-
-                    .orElseThrow(() -> new ResourceNotFoundException("Producto ID " + itemReq.productId() + " no encontrado"));
-
-
-
-            ProductVariant variant = product.getVariants().stream()
-
-                    .filter(v -> v.getId().equals(itemReq.variantId()))
-
-                    .findFirst()
-
-                    .orElseThrow(() -> new ResourceNotFoundException("Variante no encontrada"));
-
-
-
-            if (variant.getStock() < itemReq.cantidad()) {
-
-                throw new InsufficientStockException("Sin stock para: " + product.getNombre());
-
-            }
-
-            variant.setStock(variant.getStock() - itemReq.cantidad());
-
-
-
-            OrderItem orderItem = new OrderItem();
-
-            orderItem.setOrder(order);
-
-            orderItem.setProduct(product);
-
-            orderItem.setCantidad(itemReq.cantidad());
-
-            orderItem.setPrecioUnitario(product.getPrecio());
-
-            orderItem.setNombreProducto(product.getNombre());
-
-            orderItem.setColor(variant.getColor());
-
-            orderItem.setTalla(variant.getTalla());
-
-
-
-            orderItems.add(orderItem);
-
-        }
-
-
-
-        order.setItems(orderItems);
-
-        Order savedOrder = orderRepository.save(order);
-
-
-
-        log.info("ORDEN GUARDADA EXITOSAMENTE: ID {}", savedOrder.getId());
-
-
-
-        emailService.sendOrderConfirmation(email, savedOrder);
-
-    }
-
-
-
-    @Override
-
-    @Transactional
-
-    public OrderResponse addTrackingInfo(Long orderId, String trackingNumber, String courierName) {
-
-        Order order = orderRepository.findById(orderId)
-
-                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
-
-
-
-        order.setTrackingNumber(trackingNumber);
-
-        order.setCourierName(courierName);
-
-
-
-        if ("PAGADO".equals(order.getEstado()) || "PENDIENTE".equals(order.getEstado())) {
-
-            order.setEstado("ENVIADO");
-
-        }
-
-
-
-        Order savedOrder = orderRepository.save(order);
-
-        log.info("Tracking agregado a orden {}: {}", orderId, trackingNumber);
-
-
-
-        emailService.sendOrderStatusUpdate(savedOrder.getUser().getEmail(), savedOrder);
-
-
-
-        return orderMapper.toOrderResponse(savedOrder);
-
-    }
-
-
-
-    @Override
-
-    @Transactional
-
-    public OrderResponse createManualOrder(OrderRequest req, MultipartFile file, UserDetails userDetails) {
-
-        User user = userRepository.findByEmail(userDetails.getUsername())
-
-                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
-
-
-
-        Order order = new Order();
-
-        order.setUser(user);
-
-        order.setFechaCreacion(LocalDateTime.now());
-
-        order.setMetodoPago("YAPE_QR");
-
-        order.setEstado("POR_CONFIRMAR");
-
-
-
-        if (req.direccion() != null) {
-
-            order.setEnvio(new ShippingAddress(
-
-                    req.direccion().calle(),
-
-                    req.direccion().ciudad(),
-
-                    req.direccion().estado(),
-
-                    req.direccion().codigoPostal(),
-
-                    req.direccion().pais()
-
-            ));
-
-        }
-
-
-
-        Set<OrderItem> orderItems = new HashSet<>();
-
-        BigDecimal totalOrder = BigDecimal.ZERO;
-
-        BigDecimal costoEnvio = BigDecimal.ZERO;
-
-        BigDecimal tarifaEnvio = new BigDecimal("20.00");
-
-
-
-        for (OrderItemRequest itemReq : req.items()) {
-
-            Product product = productRepository.findById(itemReq.productId())
-
-                    .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
-
-
-
-            ProductVariant variant = product.getVariants().stream()
-
-                    .filter(v -> v.getId().equals(itemReq.variantId()))
-
-                    .findFirst()
-
-                    .orElseThrow(() -> new ResourceNotFoundException("Variante no encontrada"));
-
-
-
-            if (variant.getStock() < itemReq.cantidad()) {
-
-                throw new InsufficientStockException("Stock insuficiente: " + product.getNombre());
-
-            }
-
-            variant.setStock(variant.getStock() - itemReq.cantidad());
-
-
-
-            OrderItem orderItem = new OrderItem();
-
-            orderItem.setOrder(order);
-
-            orderItem.setProduct(product);
-
-            orderItem.setCantidad(itemReq.cantidad());
-
-            orderItem.setPrecioUnitario(product.getPrecio());
-
-            orderItem.setNombreProducto(product.getNombre());
-
-            orderItem.setColor(variant.getColor());
-
-            orderItem.setTalla(variant.getTalla());
-
-
-
-            orderItems.add(orderItem);
-
-
-
-            totalOrder = totalOrder.add(product.getPrecio().multiply(BigDecimal.valueOf(itemReq.cantidad())));
-
-            costoEnvio = costoEnvio.add(tarifaEnvio.multiply(BigDecimal.valueOf(itemReq.cantidad())));
-
-        }
-
-
-
-        order.setItems(orderItems);
-
-        order.setTotal(totalOrder.add(costoEnvio));
-
-
-
-        if (req.codOperacion() != null && !req.codOperacion().isEmpty()) {
-
-            order.setCodOperacion(req.codOperacion());
-
-        }
-
-
-
-        if (file != null && !file.isEmpty()) {
-
-            try {
-
-
-
-                String carpetaDestino = rootFolder + "/comprobantes";
-
-
-
-                Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-
-                        "folder", carpetaDestino
-
-                ));
-
-
-
-                String url = uploadResult.get("secure_url").toString();
-
-                order.setUrlComprobante(url);
-
-                log.info("Comprobante subido a: {} -> {}", carpetaDestino, url);
-
-
-
-            } catch (IOException e) {
-
-                log.error("Error al subir comprobante a Cloudinary", e);
-
-                throw new RuntimeException("Error al subir el comprobante de pago");
-
-            }
-
-        }
-
-
-
-        Order savedOrder = orderRepository.save(order);
-
-
-
-        emailService.sendOrderConfirmation(user.getEmail(), savedOrder);
-
-
-        return orderMapper.toOrderResponse(savedOrder);
-
-    }
-
+package com.ecommerce.api_geek_store.service.impl;
+
+
+
+import com.ecommerce.api_geek_store.api.dto.*;
+
+import com.ecommerce.api_geek_store.api.mapper.OrderMapper;
+
+import com.ecommerce.api_geek_store.domain.model.*;
+
+import com.ecommerce.api_geek_store.domain.repository.OrderRepository;
+
+import com.ecommerce.api_geek_store.domain.repository.OrderSpecifications;
+
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+
+import com.ecommerce.api_geek_store.domain.repository.ProductVariantRepository;
+
+import com.ecommerce.api_geek_store.domain.repository.UserRepository;
+
+import com.ecommerce.api_geek_store.exception.InsufficientStockException;
+
+import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
+
+import com.ecommerce.api_geek_store.service.OrderService;
+
+import com.ecommerce.api_geek_store.service.StorageService;
+
+import com.ecommerce.api_geek_store.service.StorageService.StoredFile;
+
+import com.ecommerce.api_geek_store.service.cache.CatalogCache;
+
+import com.ecommerce.api_geek_store.service.inventory.InventoryEngine;
+
+import com.ecommerce.api_geek_store.service.inventory.StockReservationService;
+
+import com.ecommerce.api_geek_store.service.notification.EmailService;
+
+import com.ecommerce.api_geek_store.service.pagination.Cursor;
+
+import com.ecommerce.api_geek_store.service.pricing.Cotizacion;
+
+import com.ecommerce.api_geek_store.service.pricing.LineaCarrito;
+
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine;
+
+import com.ecommerce.api_geek_store.service.shipping.Destino;
+
+import org.slf4j.Logger;
+
+import org.slf4j.LoggerFactory;
+
+import org.springframework.data.domain.Sort;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import org.springframework.stereotype.Service;
+
+import org.springframework.transaction.PlatformTransactionManager;
+
+import org.springframework.transaction.annotation.Propagation;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.springframework.web.multipart.MultipartFile;
+
+
+
+import java.math.BigDecimal;
+
+import java.time.LocalDate;
+
+import java.time.LocalDateTime;
+
+import java.time.format.DateTimeParseException;
+
+import java.util.*;
+
+import java.util.stream.Collectors;
+
+
+
+@Service
+
+@Transactional
+
+public class OrderServiceImpl implements OrderService {
+
+
+
+    private static final Logger log = LoggerFactory.getLogger(OrderServiceImpl.class);
+
+
+
+    private final OrderRepository orderRepository;
+
+    private final ProductRepository productRepository;
+
+    private final ProductVariantRepository productVariantRepository;
+
+    private final UserRepository userRepository;
+
+    private final OrderMapper orderMapper;
+
+    private final EmailService emailService;
+
+    private final StorageService storageService;
+
+    private final CatalogCache catalogCache;
+
+    private final StockReservationService stockReservationService;
+
+    private final InventoryEngine inventoryEngine;
+
+    private final PricingEngine pricingEngine;
+
+    private final TransactionTemplate transactionTemplate;
+
+
+
+    public OrderServiceImpl(OrderRepository orderRepository,
+
+                            ProductRepository productRepository,
+
+                            ProductVariantRepository productVariantRepository,
+
+                            UserRepository userRepository,
+
+                            OrderMapper orderMapper,
+
+                            EmailService emailService,
+
+                            StorageService storageService,
+
+                            CatalogCache catalogCache,
+
+                            StockReservationService stockReservationService,
+
+                            InventoryEngine inventoryEngine,
+
+                            PricingEngine pricingEngine,
+
+                            PlatformTransactionManager transactionManager) {
+
+        this.orderRepository = orderRepository;
+
+        this.productRepository = productRepository;
+
+        this.productVariantRepository = productVariantRepository;
+
+        this.userRepository = userRepository;
+
+        this.orderMapper = orderMapper;
+
+        this.emailService = emailService;
+
+        this.storageService = storageService;
+
+        this.catalogCache = catalogCache;
+
+        this.stockReservationService = stockReservationService;
+
+        this.inventoryEngine = inventoryEngine;
+
+        this.pricingEngine = pricingEngine;
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+    }
+
+
+
+    @Override
+
+    @Transactional
+
+    public OrderResponse createOrder(OrderRequest orderRequest, UserDetails userDetails) {
+
+        return null;
+
+    }
+
+
+
+    @Override
+
+    @Transactional(readOnly = true)
+
+    public List<OrderResponse> findMyOrders(UserDetails userDetails) {
+
+        User user = userRepository.findByEmail(userDetails.getUsername())
+
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + userDetails.getUsername()));
+
+
+
+        return orderRepository.findByUserId(user.getId()).stream()
+
+                .map(orderMapper::toOrderResponse)
+
+                .collect(Collectors.toList());
+
+    }
+
+
+
+    @Override
+
+    @Transactional(readOnly = true)
+
+    public CursorPageResponse<OrderResponse> findAllOrders(OrderFilter filtro, String after, int size) {
+
+        Cursor cursor = Cursor.decode(after);
+
+        LocalDateTime afterFecha = cursor != null ? parseFechaCursor(cursor.sortKey()) : null;
+
+        Long afterId = cursor != null ? cursor.id() : null;
+
+
+
+        // Fase 1: ids de la página (uno extra para saber si hay más), por índice y sin count
+
+        List<Long> ids = orderRepository.findIds(
+
+                OrderSpecifications.conFiltros(filtro.estado(), filtro.desde(), filtro.hasta(), filtro.metodoPago(), filtro.email())
+
+                        .and(OrderSpecifications.antesDe(afterFecha, afterId)),
+
+                Sort.by(Sort.Direction.DESC, "fechaCreacion", "id"),
+
+                size + 1);
+
+
+
+        boolean hasNext = ids.size() > size;
+
+        List<Long> pagina = hasNext ? ids.subList(0, size) : ids;
+
+
+
+        // Fase 2: órdenes con usuario e ítems en una consulta, devueltas en el orden de la fase 1
+
+        Map<Long, Order> porId = pagina.isEmpty() ? Map.of() : orderRepository.findAllWithUserAndItemsByIdIn(pagina).stream()
+
+                .collect(Collectors.toMap(Order::getId, o -> o));
+
+
+
+        List<Order> ordenes = pagina.stream()
+
+                .map(porId::get)
+
+                .filter(Objects::nonNull)
+
+                .toList();
+
+
+
+        String nextCursor = null;
+
+        if (hasNext && !ordenes.isEmpty()) {
+
+            Order ultima = ordenes.get(ordenes.size() - 1);
+
+            nextCursor = new Cursor(ultima.getFechaCreacion().toString(), ultima.getId()).encode();
+
+        }
+
+
+
+        return new CursorPageResponse<>(ordenes.stream().map(orderMapper::toOrderResponse).toList(), nextCursor, hasNext);
+
+    }
+
+
+
+    @Override
+
+    @Transactional(readOnly = true)
+
+    public OrderSummaryResponse resumen(int dias) {
+
+        LocalDate hoy = LocalDate.now();
+
+        LocalDate inicioMes = hoy.withDayOfMonth(1);
+
+        LocalDate primerDia = hoy.minusDays(dias - 1L);
+
+        LocalDate desde = primerDia.isBefore(inicioMes) ? primerDia : inicioMes;
+
+
+
+        Map<LocalDate, BigDecimal> porDia = new HashMap<>();
+
+        for (Object[] fila : orderRepository.sumTotalByDia(desde.atStartOfDay())) {
+
+            porDia.put((LocalDate) fila[0], (BigDecimal) fila[1]);
+
+        }
+
+
+
+        Map<String, Long> porEstado = new TreeMap<>();
+
+        long totalOrdenes = 0;
+
+        for (Object[] fila : orderRepository.countByEstado()) {
+
+            long cantidad = ((Number) fila[1]).longValue();
+
+            porEstado.put((String) fila[0], cantidad);
+
+            totalOrdenes += cantidad;
+
+        }
+
+
+
+        BigDecimal ventasMes = porDia.entrySet().stream()
+
+                .filter(e -> !e.getKey().isBefore(inicioMes))
+
+                .map(Map.Entry::getValue)
+
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        List<OrderSummaryResponse.VentaDiaria> ultimosDias = primerDia.datesUntil(hoy.plusDays(1))
+
+                .map(dia -> new OrderSummaryResponse.VentaDiaria(dia, porDia.getOrDefault(dia, BigDecimal.ZERO)))
+
+                .toList();
+
+
+
+        return new OrderSummaryResponse(porDia.getOrDefault(hoy, BigDecimal.ZERO), ventasMes, totalOrdenes, porEstado, ultimosDias);
+
+    }
+
+
+
+    @Override
+
+    @Transactional
+
+    public OrderResponse updateOrderStatus(Long orderId, String status) {
+
+        Order order = orderRepository.findById(orderId)
+
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+
+
+
+        String oldStatus = order.getEstado();
+
+        String newStatus = status.toUpperCase();
+
+
+
+        order.setEstado(newStatus);
+
+        Order savedOrder = orderRepository.save(order);
+
+
+
+        log.info("Orden ID {} actualizada: {} -> {}", orderId, oldStatus, newStatus);
+
+
+
+        if (!oldStatus.equals(newStatus)) {
+
+            final String userEmail = savedOrder.getUser().getEmail();
+
+            emailService.sendOrderStatusUpdate(userEmail, savedOrder);
+
+        }
+
+
+
+        return orderMapper.toOrderResponse(savedOrder);
+
+    }
+
+
+
+    @Override
+
+    @Transactional
+
+    public Long createOrderFromPayment(
+
+            String email,
+
+            List<PaymentRequest.PaymentItem> itemsRequest,
+
+            PaymentRequest.PaymentAddress dirRequest,
+
+            BigDecimal totalPaid,
+
+            String reservationCode,
+
+            Long paymentId,
+
+            String checkoutKey
+
+    ) {
+
+        User user = userRepository.findByEmail(email)
+
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado: " + email));
+
+
+
+        log.info("Procesando orden pagada para: {}", email);
+
+
+
+        Order order = new Order();
+
+        order.setUser(user);
+
+        order.setEstado("PAGADO");
+
+        order.setTotal(totalPaid);
+
+        order.setFechaCreacion(LocalDateTime.now());
+
+        order.setMetodoPago("MERCADO_PAGO");
+
+
+
+        ShippingAddress addressEntity = new ShippingAddress(
+
+                dirRequest.calle(),
+
+                dirRequest.ciudad(),
+
+                dirRequest.estado(),
+
+                dirRequest.codigoPostal(),
+
+                dirRequest.pais()
+
+        );
+
+        order.setEnvio(addressEntity);
+
+
+
+        Set<OrderItem> orderItems = new HashSet<>();
+
+
+
+        // Orden fijo por variante: dos checkouts con las mismas variantes bloquean filas en el mismo orden
+
+        List<PaymentRequest.PaymentItem> itemsOrdenados = itemsRequest.stream()
+
+                .sorted(Comparator.comparing(PaymentRequest.PaymentItem::variantId, Comparator.nullsLast(Comparator.naturalOrder())))
+
+                .toList();
+
+        LineasCargadas cargadas = cargarLineas(
+
+                itemsOrdenados.stream().map(PaymentRequest.PaymentItem::productId).toList(),
+
+                itemsOrdenados.stream().map(PaymentRequest.PaymentItem::variantId).toList());
+
+        // El total es lo cobrado (validado contra la cotización antes de cobrar); de acá salen los unitarios.
+
+        // El destino no viaja hasta acá (el reconciliador tampoco lo tiene), así que solo se contrasta el subtotal
+
+        Cotizacion cotizacion = pricingEngine.cotizar(LineaCarrito.dePago(itemsOrdenados), Destino.NACIONAL);
+
+        if (Cotizacion.aSoles(cotizacion.subtotalCentimos()).compareTo(totalPaid) > 0) {
+
+            log.warn("El total cobrado ({}) no cubre el precio actual de los productos ({}): cambió el precio desde la cotización",
+
+                    totalPaid, Cotizacion.aSoles(cotizacion.subtotalCentimos()));
+
+        }
+
+        Iterator<Cotizacion.Linea> precios = cotizacion.lineas().iterator();
+
+        for (PaymentRequest.PaymentItem itemReq : itemsOrdenados) {
+
+            if (itemReq.cantidad() == null || itemReq.cantidad() <= 0) {
+
+                throw new IllegalArgumentException("Cantidad inválida para el producto ID " + itemReq.productId());
+
+            }
+
+            Product product = cargadas.producto(itemReq.productId(), "Producto ID " + itemReq.productId() + " no encontrado");
+
+            ProductVariant variant = cargadas.variante(product, itemReq.variantId());
+
+
+
+            // UPDATE condicional, o contador en memoria si el motor de inventario está activo
+
+            if (!inventoryEngine.descontar(variant, itemReq.cantidad())) {
+
+                throw new InsufficientStockException("Sin stock para: " + product.getNombre());
+
+            }
+
+
+
+            OrderItem orderItem = new OrderItem();
+
+            orderItem.setOrder(order);
+
+            orderItem.setProduct(product);
+
+            orderItem.setCantidad(itemReq.cantidad());
+
+            orderItem.setPrecioUnitario(Cotizacion.aSoles(precios.next().unitarioCentimos()));
+
+            orderItem.setNombreProducto(product.getNombre());
+
+            orderItem.setColor(variant.getColor());
+
+            orderItem.setTalla(variant.getTalla());
+
+
+
+            orderItems.add(orderItem);
+
+        }
+
+
+
+        order.setItems(orderItems);
+
+        // Índices únicos: un reintento o un segundo nodo con el mismo pago no puede insertar otra orden
+
+        order.setMpPaymentId(paymentId);
+
+        order.setCheckoutKey(checkoutKey);
+
+        // Las unidades ya se descontaron arriba: la reserva del checkout deja de retenerlas
+
+        stockReservationService.confirmar(reservationCode);
+
+        catalogCache.stockChangedAfterCommit(orderItems.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet()));
+
+        Order savedOrder = orderRepository.save(order);
+
+
+
+        log.info("ORDEN GUARDADA EXITOSAMENTE: ID {}", savedOrder.getId());
+
+
+
+        emailService.sendOrderConfirmation(email, savedOrder);
+
+        return savedOrder.getId();
+
+    }
+
+
+
+    @Override
+
+    @Transactional
+
+    public OrderResponse addTrackingInfo(Long orderId, String trackingNumber, String courierName) {
+
+        Order order = orderRepository.findById(orderId)
+
+                .orElseThrow(() -> new ResourceNotFoundException("Pedido no encontrado"));
+
+
+
+        order.setTrackingNumber(trackingNumber);
+
+        order.setCourierName(courierName);
+
+
+
+        if ("PAGADO".equals(order.getEstado()) || "PENDIENTE".equals(order.getEstado())) {
+
+            order.setEstado("ENVIADO");
+
+        }
+
+
+
+        Order savedOrder = orderRepository.save(order);
+
+        log.info("Tracking agregado a orden {}: {}", orderId, trackingNumber);
+
+
+
+        emailService.sendOrderStatusUpdate(savedOrder.getUser().getEmail(), savedOrder);
+
+
+
+        return orderMapper.toOrderResponse(savedOrder);
+
+    }
+
+
+
+    /**
+
+     * Dos fases: el comprobante se sube a storage sin ocupar una conexión de la base,
+
+     * y recién después la orden se registra en una transacción corta que solo toca la base.
+
+     */
+
+    @Override
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+
+    public OrderResponse createManualOrder(OrderRequest req, MultipartFile file, UserDetails userDetails) {
+
+        StoredFile comprobante = (file != null && !file.isEmpty()) ? storageService.uploadReceipt(file) : null;
+
+
+
+        try {
+
+            return transactionTemplate.execute(status -> registrarOrdenManual(req, comprobante, userDetails));
+
+        } catch (RuntimeException e) {
+
+            // La orden no se creó: el comprobante quedaría huérfano en storage
+
+            if (comprobante != null) storageService.delete(comprobante.publicId());
+
+            throw e;
+
+        }
+
+    }
+
+
+
+
+
+
+
+    private OrderResponse registrarOrdenManual(OrderRequest req, StoredFile comprobante, UserDetails userDetails) {
+
+        User user = userRepository.findByEmail(userDetails.getUsername())
+
+                .orElseThrow(() -> new ResourceNotFoundException("Usuario no encontrado"));
+
+
+
+        Order order = new Order();
+
+        order.setUser(user);
+
+        order.setFechaCreacion(LocalDateTime.now());
+
+        order.setMetodoPago("YAPE_QR");
+
+        order.setEstado("POR_CONFIRMAR");
+
+
+
+        if (req.direccion() != null) {
+
+            order.setEnvio(new ShippingAddress(
+
+                    req.direccion().calle(),
+
+                    req.direccion().ciudad(),
+
+                    req.direccion().estado(),
+
+                    req.direccion().codigoPostal(),
+
+                    req.direccion().pais()
+
+            ));
+
+        }
+
+
+
+        Set<OrderItem> orderItems = new HashSet<>();
+
+
+
+        List<OrderItemRequest> itemsOrdenados = req.items().stream()
+
+                .sorted(Comparator.comparing(OrderItemRequest::variantId))
+
+                .toList();
+
+        LineasCargadas cargadas = cargarLineas(
+
+                itemsOrdenados.stream().map(OrderItemRequest::productId).toList(),
+
+                itemsOrdenados.stream().map(OrderItemRequest::variantId).toList());
+
+        // Mismo motor de precios que el checkout con tarjeta: descuento y envío según el destino
+
+        Cotizacion cotizacion = pricingEngine.cotizar(LineaCarrito.deOrden(itemsOrdenados), Destino.de(req.destino()));
+
+        Iterator<Cotizacion.Linea> precios = cotizacion.lineas().iterator();
+
+        // Las unidades retenidas por checkouts en curso no están libres: se reservan como en el pago con tarjeta
+
+        String reservationCode = stockReservationService.reservar(itemsOrdenados.stream()
+
+                .map(item -> new PaymentRequest.PaymentItem(item.productId(), item.variantId(), item.cantidad()))
+
+                .toList());
+
+        for (OrderItemRequest itemReq : itemsOrdenados) {
+
+            Product product = cargadas.producto(itemReq.productId(), "Producto no encontrado");
+
+            ProductVariant variant = cargadas.variante(product, itemReq.variantId());
+
+
+
+            // UPDATE condicional, o contador en memoria si el motor de inventario está activo
+
+            if (!inventoryEngine.descontar(variant, itemReq.cantidad())) {
+
+                throw new InsufficientStockException("Stock insuficiente: " + product.getNombre());
+
+            }
+
+
+
+            OrderItem orderItem = new OrderItem();
+
+            orderItem.setOrder(order);
+
+            orderItem.setProduct(product);
+
+            orderItem.setCantidad(itemReq.cantidad());
+
+            orderItem.setPrecioUnitario(Cotizacion.aSoles(precios.next().unitarioCentimos()));
+
+            orderItem.setNombreProducto(product.getNombre());
+
+            orderItem.setColor(variant.getColor());
+
+            orderItem.setTalla(variant.getTalla());
+
+
+
+            orderItems.add(orderItem);
+
+        }
+
+
+
+        order.setItems(orderItems);
+
+        // Descontadas en esta misma transacción: la reserva deja de retenerlas al confirmar
+
+        stockReservationService.confirmar(reservationCode);
+
+        catalogCache.stockChangedAfterCommit(orderItems.stream().map(item -> item.getProduct().getId()).collect(Collectors.toSet()));
+
+        order.setTotal(cotizacion.total());
+
+
+
+        if (req.codOperacion() != null && !req.codOperacion().isEmpty()) {
+
+            order.setCodOperacion(req.codOperacion());
+
+        }
+
+
+
+        if (comprobante != null) {
+
+            order.setUrlComprobante(comprobante.url());
+
+        }
+
+
+
+        Order savedOrder = orderRepository.save(order);
+
+
+
+        emailService.sendOrderConfirmation(user.getEmail(), savedOrder);
+
+
+        return orderMapper.toOrderResponse(savedOrder);
+
+    }
+
+    /**
+
+     * Productos y variantes de todas las líneas del carrito en dos consultas IN,
+
+     * en lugar de un findById y un recorrido de variantes por línea.
+
+     */
+
+    private LineasCargadas cargarLineas(Collection<Long> productIds, Collection<Long> variantIds) {
+
+        Map<Long, Product> productos = productRepository.findAllById(new HashSet<>(productIds)).stream()
+
+                .collect(Collectors.toMap(Product::getId, p -> p));
+
+        Map<Long, ProductVariant> variantes = productVariantRepository.findAllById(
+
+                        variantIds.stream().filter(Objects::nonNull).collect(Collectors.toSet())).stream()
+
+                .collect(Collectors.toMap(ProductVariant::getId, v -> v));
+
+        return new LineasCargadas(productos, variantes);
+
+    }
+
+    private static LocalDateTime parseFechaCursor(String valor) {
+
+        try {
+
+            return LocalDateTime.parse(valor);
+
+        } catch (DateTimeParseException e) {
+
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+
+        }
+
+    }
+
+
+
+    private record LineasCargadas(Map<Long, Product> productos, Map<Long, ProductVariant> variantes) {
+
+        Product producto(Long productId, String mensajeNoEncontrado) {
+
+            Product product = productId != null ? productos.get(productId) : null;
+
+            if (product == null) {
+
+                throw new ResourceNotFoundException(mensajeNoEncontrado);
+
+            }
+
+            return product;
+
+        }
+
+        // La variante debe pertenecer al producto de la línea; getProduct().getId() no inicializa el proxy
+
+        ProductVariant variante(Product product, Long variantId) {
+
+            ProductVariant variant = variantId != null ? variantes.get(variantId) : null;
+
+            if (variant == null || !product.getId().equals(variant.getProduct().getId())) {
+
+                throw new ResourceNotFoundException("Variante no encontrada");
+
+            }
+
+            return variant;
+
+        }
+
+    }
+
 }
\ No newline at end of file
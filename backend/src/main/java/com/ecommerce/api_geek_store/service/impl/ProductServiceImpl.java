@@ -1,197 +1,481 @@
-package com.ecommerce.api_geek_store.service.impl;
-
-import com.ecommerce.api_geek_store.api.dto.ProductRequest;
-import com.ecommerce.api_geek_store.api.dto.ProductResponse;
-import com.ecommerce.api_geek_store.api.mapper.ProductMapper;
-import com.ecommerce.api_geek_store.domain.model.*;
-import com.ecommerce.api_geek_store.domain.repository.BrandRepository;
-import com.ecommerce.api_geek_store.domain.repository.CategoryRepository;
-import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
-import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
-import com.ecommerce.api_geek_store.service.ProductService;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.stream.Collectors;
-
-@Service
-@Transactional
-public class ProductServiceImpl implements ProductService {
-
-    private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
-
-    private final ProductRepository productRepository;
-    private final CategoryRepository categoryRepository;
-    private final BrandRepository brandRepository;
-    private final ProductMapper productMapper;
-
-    public ProductServiceImpl(ProductRepository productRepository,
-                              CategoryRepository categoryRepository,
-                              BrandRepository brandRepository,
-                              ProductMapper productMapper){
-        this.productRepository = productRepository;
-        this.productMapper = productMapper;
-        this.brandRepository = brandRepository;
-        this.categoryRepository = categoryRepository;
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public Page<ProductResponse> findAll(Pageable pageable, String keyword, Long categoryId, Long brandId, String gender) {
-        Genero generoEnum = null;
-
-        log.debug("Buscando productos: Keyword={}, Cat={}, Brand={}, Gender={}", keyword, categoryId, brandId, gender);
-
-        if (gender != null && !gender.isBlank()) {
-            try {
-                if (gender.equalsIgnoreCase("Men")) generoEnum = Genero.HOMBRE;
-                else if (gender.equalsIgnoreCase("Women")) generoEnum = Genero.MUJER;
-                else generoEnum = Genero.valueOf(gender.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                log.warn("Género inválido recibido: '{}'. Se ignorará el filtro.", gender);
-                generoEnum = null;
-            }
-        }
-
-        Page<Product> productPage = productRepository.buscarConFiltros(
-                categoryId,
-                brandId,
-                generoEnum,
-                keyword,
-                pageable
-        );
-
-        return productPage.map(productMapper::toResponse);
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public ProductResponse findById(Long id) {
-
-        Product product = productRepository.findByIdWithRelations(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con id: " + id));
-
-        return productMapper.toResponse(product);
-    }
-
-    @Override
-    @Transactional(readOnly = true)
-    public List<ProductResponse> findByCategoryId(Long categoryId) {
-        if(!categoryRepository.existsById(categoryId)){
-            throw new ResourceNotFoundException("Categoria no encontrada con id: " + categoryId);
-        }
-
-        return productRepository.findByCategoryId(categoryId).stream()
-                .map(productMapper::toResponse)
-                .collect(Collectors.toList());
-    }
-
-    @Transactional(readOnly = true)
-    public ProductResponse getFeatured() {
-        return productRepository.findFirstByFeaturedTrue()
-                .map(productMapper::toResponse)
-                .orElse(null);
-    }
-
-    @Override
-    public ProductResponse create(ProductRequest productRequest) {
-        log.info("Creando nuevo producto: {}", productRequest.nombre());
-
-        Category category = categoryRepository.findById(productRequest.categoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria no encontrada"));
-
-        if (Boolean.TRUE.equals(productRequest.featured())) {
-            log.info("Nuevo producto destacado. Reseteando anteriores.");
-            productRepository.resetFeatured();
-        }
-
-        Product product = productMapper.toEntity(productRequest);
-        product.setCategory(category);
-
-        if (productRequest.brandId() != null && productRequest.brandId() > 0) {
-            Brand brand = brandRepository.findById(productRequest.brandId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Marca no encontrada"));
-            product.setBrand(brand);
-        }
-
-        Product productGuardado = productRepository.save(product);
-        log.info("Producto creado con ID: {}", productGuardado.getId());
-
-        return productMapper.toResponse(productGuardado);
-    }
-
-    @Override
-    public ProductResponse update(Long id, ProductRequest productRequest) {
-        Product productExistente = productRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado ID: " + id));
-
-        Category category = categoryRepository.findById(productRequest.categoryId())
-                .orElseThrow(() -> new ResourceNotFoundException("Categoria no encontrada"));
-
-        if (Boolean.TRUE.equals(productRequest.featured()) && !productExistente.getFeatured()) {
-            log.info("Producto {} marcado como destacado. Reseteando otros.", id);
-            productRepository.resetFeatured();
-        }
-
-        productExistente.setNombre(productRequest.nombre());
-        productExistente.setDescripcion(productRequest.descripcion());
-        productExistente.setPrecio(productRequest.precio());
-        productExistente.setDescuento(productRequest.descuento() != null ? productRequest.descuento() : 0);
-        productExistente.setCategory(category);
-        productExistente.setGenero(productRequest.genero());
-        productExistente.setFeatured(productRequest.featured() != null ? productRequest.featured() : false);
-
-        if (productRequest.brandId() != null && productRequest.brandId() > 0) {
-            Brand brand = brandRepository.findById(productRequest.brandId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Marca no encontrada"));
-            productExistente.setBrand(brand);
-        } else {
-            productExistente.setBrand(null);
-        }
-
-
-        productExistente.getImages().clear();
-        if (productRequest.images() != null) {
-            for (String url : productRequest.images()) {
-                if (url != null && !url.isBlank()) {
-                    productExistente.addImage(new ProductImage(url));
-                }
-            }
-        }
-
-
-        productExistente.getVariants().clear();
-        if (productRequest.variantes() != null) {
-            for (ProductRequest.VariantRequest vReq : productRequest.variantes()) {
-                ProductVariant variant = new ProductVariant();
-                variant.setColor(vReq.color().toUpperCase());
-                variant.setColorHex(vReq.colorHex());
-                variant.setTalla(vReq.talla().toUpperCase());
-                variant.setStock(vReq.stock());
-                productExistente.addVariant(variant);
-            }
-        }
-
-        Product productActualizado = productRepository.save(productExistente);
-        log.info("Producto actualizado ID: {}", id);
-
-        return productMapper.toResponse(productActualizado);
-    }
-
-    @Override
-    public void deleteById(Long id) {
-        if(!productRepository.existsById(id)){
-            log.warn("Intento de eliminar producto inexistente ID: {}", id);
-            throw new ResourceNotFoundException("Producto no encontrado con id: " + id);
-        }
-        productRepository.deleteById(id);
-        log.info("Producto eliminado ID: {}", id);
-    }
-
-
+package com.ecommerce.api_geek_store.service.impl;
+
+import com.ecommerce.api_geek_store.api.dto.CursorPageResponse;
+import com.ecommerce.api_geek_store.api.dto.ProductFacetsResponse;
+import com.ecommerce.api_geek_store.api.dto.ProductRequest;
+import com.ecommerce.api_geek_store.api.dto.ProductResponse;
+import com.ecommerce.api_geek_store.api.dto.ResourceVersion;
+import com.ecommerce.api_geek_store.api.mapper.ProductMapper;
+import com.ecommerce.api_geek_store.domain.model.*;
+import com.ecommerce.api_geek_store.domain.repository.BrandRepository;
+import com.ecommerce.api_geek_store.domain.repository.CategoryRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductFacetRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductFacetRepository.FacetCounts;
+import com.ecommerce.api_geek_store.domain.repository.ProductListReadRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductSpecifications;
+import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
+import com.ecommerce.api_geek_store.service.ProductService;
+import com.ecommerce.api_geek_store.service.cache.CatalogCache;
+import com.ecommerce.api_geek_store.service.cache.CatalogCache.ProductRef;
+import com.ecommerce.api_geek_store.service.cache.CatalogCache.FacetsKey;
+import com.ecommerce.api_geek_store.service.inventory.InventoryEngine;
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine;
+import com.ecommerce.api_geek_store.service.pagination.Cursor;
+import com.ecommerce.api_geek_store.service.search.ProductSearchIndex;
+import com.ecommerce.api_geek_store.service.search.SearchMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class ProductServiceImpl implements ProductService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
+    // Prefijo de la clave del cursor: qué camino generó la página
+    private static final String CURSOR_INDICE = "idx:";
+    private static final String CURSOR_BASE = "db:";
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final BrandRepository brandRepository;
+    private final ProductMapper productMapper;
+    private final ProductSearchIndex searchIndex;
+    private final ProductFacetRepository productFacetRepository;
+    private final ProductListReadRepository productListReadRepository;
+    private final CatalogCache catalogCache;
+    private final InventoryEngine inventoryEngine;
+    private final PricingEngine pricingEngine;
+
+    @Value("${catalog.search.mode:INDEX}")
+    private SearchMode searchMode;
+
+    @Value("${catalog.listing.projection.enabled:true}")
+    private boolean listingProjectionEnabled;
+
+    public ProductServiceImpl(ProductRepository productRepository,
+                              CategoryRepository categoryRepository,
+                              BrandRepository brandRepository,
+                              ProductMapper productMapper,
+                              ProductSearchIndex searchIndex,
+                              ProductFacetRepository productFacetRepository,
+                              ProductListReadRepository productListReadRepository,
+                              CatalogCache catalogCache,
+                              InventoryEngine inventoryEngine,
+                              PricingEngine pricingEngine){
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.brandRepository = brandRepository;
+        this.categoryRepository = categoryRepository;
+        this.searchIndex = searchIndex;
+        this.productFacetRepository = productFacetRepository;
+        this.productListReadRepository = productListReadRepository;
+        this.catalogCache = catalogCache;
+        this.inventoryEngine = inventoryEngine;
+        this.pricingEngine = pricingEngine;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductResponse> findAll(Pageable pageable, String keyword, Long categoryId, Long brandId, String gender) {
+        log.debug("Buscando productos: Keyword={}, Cat={}, Brand={}, Gender={}", keyword, categoryId, brandId, gender);
+
+        Genero generoEnum = parseGenero(gender);
+        CatalogCache.ListingKey cacheKey = CatalogCache.ListingKey.of(pageable, keyword, categoryId, brandId, generoEnum);
+
+        return catalogCache.listing(cacheKey, () -> buscar(pageable, keyword, categoryId, brandId, generoEnum));
+    }
+
+    private Page<ProductResponse> buscar(Pageable pageable, String keyword, Long categoryId, Long brandId, Genero generoEnum) {
+        if (usarIndice(keyword, pageable.getSort())) {
+            List<Long> ids = searchIndex.search(keyword, categoryId, brandId, generoEnum, pageable.getSort());
+            return paginarIds(ids, pageable);
+        }
+
+        if (usarTextoCompleto(keyword, pageable)) {
+            // El orden lo define la relevancia (ts_rank), no el sort alfabético del Pageable
+            Page<Long> ids = productRepository.buscarIdsTextoCompleto(
+                    categoryId,
+                    brandId,
+                    generoEnum != null ? generoEnum.name() : null,
+                    keyword.trim(),
+                    PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+            );
+            return new PageImpl<>(hidratarEnOrden(ids.getContent()), pageable, ids.getTotalElements());
+        }
+
+        // Fase 1: solo ids de la página, con únicamente los filtros recibidos. Fase 2: hidratar en lote
+        Page<Long> ids = productRepository.findIds(
+                ProductSpecifications.conFiltros(categoryId, brandId, generoEnum, keyword),
+                pageable
+        );
+
+        return new PageImpl<>(hidratarEnOrden(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ProductResponse> findAllByCursor(String after, int size, String keyword,
+                                                               Long categoryId, Long brandId, String gender) {
+        Cursor cursor = Cursor.decode(after);
+        Genero generoEnum = parseGenero(gender);
+        boolean indice = usarIndice(keyword, Sort.by("nombre"));
+        String afterNombre = null;
+        Long afterId = null;
+
+        // El cursor recuerda qué camino lo generó: índice y base no ordenan igual (comparador en memoria
+        // vs. collation) y una página debe seguir por el mismo. Si el índice no está listo en este nodo
+        // (arranque), un cursor del índice sigue por la base, que puede repetir u omitir algún producto
+        if (cursor != null) {
+            String clave = cursor.sortKey();
+            if (clave.startsWith(CURSOR_INDICE)) {
+                afterNombre = clave.substring(CURSOR_INDICE.length());
+            } else if (clave.startsWith(CURSOR_BASE)) {
+                afterNombre = clave.substring(CURSOR_BASE.length());
+                indice = false;
+            } else {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            afterId = cursor.id();
+        }
+
+        // Se pide un elemento extra para saber si hay más sin ejecutar un count
+        List<Long> ids;
+        if (indice) {
+            ids = searchIndex.searchAfter(keyword, categoryId, brandId, generoEnum, afterNombre, afterId, size + 1);
+        } else {
+            ids = productRepository.findIds(
+                    ProductSpecifications.conFiltros(categoryId, brandId, generoEnum, keyword)
+                            .and(ProductSpecifications.despuesDe(afterNombre, afterId)),
+                    Sort.by("nombre", "id"),
+                    size + 1);
+        }
+
+        boolean hasNext = ids.size() > size;
+        List<ProductResponse> content = hidratarEnOrden(hasNext ? ids.subList(0, size) : ids);
+
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            ProductResponse ultimo = content.get(content.size() - 1);
+            nextCursor = new Cursor((indice ? CURSOR_INDICE : CURSOR_BASE) + ultimo.nombre(), ultimo.id()).encode();
+        }
+
+        return new CursorPageResponse<>(content, nextCursor, hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductFacetsResponse getFacets(String keyword, Long categoryId, Long brandId, String gender) {
+        Genero generoEnum = parseGenero(gender);
+        FacetsKey cacheKey = FacetsKey.of(keyword, categoryId, brandId, generoEnum);
+        return catalogCache.facets(cacheKey, () -> contarFacetas(keyword, categoryId, brandId, generoEnum));
+    }
+
+    private ProductFacetsResponse contarFacetas(String keyword, Long categoryId, Long brandId, Genero generoEnum) {
+        FacetCounts counts;
+        if (usarIndice(keyword, Sort.unsorted())) {
+            counts = searchIndex.facets(keyword, categoryId, brandId, generoEnum);
+        } else {
+            String keywordPredicate = searchMode == SearchMode.FULLTEXT
+                    ? "(p.search_vector @@ websearch_to_tsquery('spanish', :keyword) OR :keyword <% p.nombre)"
+                    : "LOWER(p.nombre) LIKE LOWER(CONCAT('%', :keyword, '%'))";
+            counts = productFacetRepository.countFacets(categoryId, brandId, generoEnum, keyword, keywordPredicate);
+        }
+
+        return toFacetsResponse(counts);
+    }
+
+    private ProductFacetsResponse toFacetsResponse(FacetCounts counts) {
+        Map<Long, String> categorias = categoryRepository.findAllById(counts.categories().keySet()).stream()
+                .collect(Collectors.toMap(Category::getId, Category::getNombre));
+        Map<Long, String> marcas = brandRepository.findAllById(counts.brands().keySet()).stream()
+                .collect(Collectors.toMap(Brand::getId, Brand::getNombre));
+
+        Comparator<ProductFacetsResponse.FacetValue> porCantidad =
+                Comparator.comparingLong(ProductFacetsResponse.FacetValue::count).reversed();
+
+        List<ProductFacetsResponse.FacetValue> categoryFacets = counts.categories().entrySet().stream()
+                .filter(e -> categorias.containsKey(e.getKey()))
+                .map(e -> new ProductFacetsResponse.FacetValue(e.getKey(), categorias.get(e.getKey()), e.getValue()))
+                .sorted(porCantidad)
+                .toList();
+
+        List<ProductFacetsResponse.FacetValue> brandFacets = counts.brands().entrySet().stream()
+                .filter(e -> marcas.containsKey(e.getKey()))
+                .map(e -> new ProductFacetsResponse.FacetValue(e.getKey(), marcas.get(e.getKey()), e.getValue()))
+                .sorted(porCantidad)
+                .toList();
+
+        List<ProductFacetsResponse.FacetValue> generoFacets = counts.generos().entrySet().stream()
+                .map(e -> new ProductFacetsResponse.FacetValue(null, e.getKey().name(), e.getValue()))
+                .sorted(porCantidad)
+                .toList();
+
+        List<BigDecimal> limites = ProductFacetRepository.PRICE_BOUNDS;
+        List<ProductFacetsResponse.PriceRange> precios = new ArrayList<>();
+        for (int i = 0; i <= limites.size(); i++) {
+            precios.add(new ProductFacetsResponse.PriceRange(
+                    i == 0 ? BigDecimal.ZERO : limites.get(i - 1),
+                    i < limites.size() ? limites.get(i) : null,
+                    counts.priceBuckets()[i]
+            ));
+        }
+
+        return new ProductFacetsResponse(categoryFacets, brandFacets, generoFacets, precios);
+    }
+
+    private Genero parseGenero(String gender) {
+        if (gender == null || gender.isBlank()) return null;
+
+        try {
+            if (gender.equalsIgnoreCase("Men")) return Genero.HOMBRE;
+            if (gender.equalsIgnoreCase("Women")) return Genero.MUJER;
+            return Genero.valueOf(gender.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            log.warn("Género inválido recibido: '{}'. Se ignorará el filtro.", gender);
+            return null;
+        }
+    }
+
+    private boolean usarIndice(String keyword, Sort sort) {
+        return searchMode == SearchMode.INDEX
+                && keyword != null && !keyword.isBlank()
+                && searchIndex.isReady()
+                && searchIndex.supports(sort);
+    }
+
+    private boolean usarTextoCompleto(String keyword, Pageable pageable) {
+        return searchMode == SearchMode.FULLTEXT
+                && keyword != null && !keyword.isBlank()
+                && pageable.isPaged();
+    }
+
+    private Page<ProductResponse> paginarIds(List<Long> ids, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(hidratarEnOrden(ids), pageable, ids.size());
+        }
+
+        int desde = (int) Math.min(pageable.getOffset(), ids.size());
+        int hasta = Math.min(desde + pageable.getPageSize(), ids.size());
+
+        return new PageImpl<>(hidratarEnOrden(ids.subList(desde, hasta)), pageable, ids.size());
+    }
+
+    private List<ProductResponse> hidratarEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+
+        if (listingProjectionEnabled) {
+            return productListReadRepository.findByIdsInOrder(ids).stream()
+                    .map(productMapper::toResponse)
+                    .toList();
+        }
+
+        Map<Long, Product> porId = productRepository.findAllWithRelationsByIdIn(ids).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        return ids.stream()
+                .map(porId::get)
+                .filter(Objects::nonNull)
+                .map(productMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductResponse findById(Long id) {
+        return catalogCache.product(id, key -> {
+            Product product = productRepository.findByIdWithRelations(key)
+                    .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado con id: " + key));
+
+            return productMapper.toResponse(product);
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductResponse> findByCategoryId(Long categoryId) {
+        if(!categoryRepository.existsById(categoryId)){
+            throw new ResourceNotFoundException("Categoria no encontrada con id: " + categoryId);
+        }
+
+        return hidratarEnOrden(productRepository.findIdsByCategoryId(categoryId));
+    }
+
+    @Transactional(readOnly = true)
+    public ProductResponse getFeatured() {
+        return catalogCache.featured(() -> productRepository.findFirstByFeaturedTrue()
+                .map(productMapper::toResponse)
+                .orElse(null));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ResourceVersion> findVersion(Long id) {
+        return productRepository.findVersionById(id)
+                .map(v -> ResourceVersion.of(
+                        "product-" + id,
+                        ResourceVersion.latest(v.getUpdatedAt(), v.getCategoryUpdatedAt(), v.getBrandUpdatedAt()),
+                        v.getVersion(), v.getCategoryVersion(), v.getBrandVersion(), v.getStock()));
+    }
+
+    /**
+     * Validador de listados, scroll y facetas: la versión compartida del catálogo, que suben las escrituras
+     * del admin y no las ventas. El stock de cada tarjeta puede quedar atrasado en un 304; el detalle
+     * y el checkout lo validan contra la base.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResourceVersion catalogVersion() {
+        return catalogCache.version();
+    }
+
+    // El destacado es un producto: su ETag es el del detalle, y cambia también si se elige otro
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion featuredVersion() {
+        ProductResponse destacado = getFeatured();
+        if (destacado == null) return catalogVersion();
+        return findVersion(destacado.id()).orElseGet(this::catalogVersion);
+    }
+
+    @Override
+    public ProductResponse create(ProductRequest productRequest) {
+        log.info("Creando nuevo producto: {}", productRequest.nombre());
+
+        Category category = categoryRepository.findById(productRequest.categoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Categoria no encontrada"));
+
+        if (Boolean.TRUE.equals(productRequest.featured())) {
+            log.info("Nuevo producto destacado. Reseteando anteriores.");
+            resetFeatured();
+        }
+
+        Product product = productMapper.toEntity(productRequest);
+        product.setCategory(category);
+
+        if (productRequest.brandId() != null && productRequest.brandId() > 0) {
+            Brand brand = brandRepository.findById(productRequest.brandId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Marca no encontrada"));
+            product.setBrand(brand);
+        }
+
+        Product productGuardado = productRepository.save(product);
+        searchIndex.indexAfterCommit(productGuardado);
+        catalogCache.productChangedAfterCommit(null, ProductRef.of(productGuardado));
+        pricingEngine.actualizarAfterCommit(productGuardado.getId(), productGuardado.getPrecio(), productGuardado.getDescuento());
+        log.info("Producto creado con ID: {}", productGuardado.getId());
+
+        return productMapper.toResponse(productGuardado);
+    }
+
+    @Override
+    public ProductResponse update(Long id, ProductRequest productRequest) {
+        Product productExistente = productRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado ID: " + id));
+        ProductRef antes = ProductRef.of(productExistente);
+
+        Category category = categoryRepository.findById(productRequest.categoryId())
+                .orElseThrow(() -> new ResourceNotFoundException("Categoria no encontrada"));
+
+        if (Boolean.TRUE.equals(productRequest.featured()) && !productExistente.getFeatured()) {
+            log.info("Producto {} marcado como destacado. Reseteando otros.", id);
+            resetFeatured();
+        }
+
+        productExistente.setNombre(productRequest.nombre());
+        productExistente.setDescripcion(productRequest.descripcion());
+        productExistente.setPrecio(productRequest.precio());
+        productExistente.setDescuento(productRequest.descuento() != null ? productRequest.descuento() : 0);
+        productExistente.setCategory(category);
+        productExistente.setGenero(productRequest.genero());
+        productExistente.setFeatured(productRequest.featured() != null ? productRequest.featured() : false);
+
+        if (productRequest.brandId() != null && productRequest.brandId() > 0) {
+            Brand brand = brandRepository.findById(productRequest.brandId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Marca no encontrada"));
+            productExistente.setBrand(brand);
+        } else {
+            productExistente.setBrand(null);
+        }
+
+
+        productExistente.getImages().clear();
+        if (productRequest.images() != null) {
+            for (String url : productRequest.images()) {
+                if (url != null && !url.isBlank()) {
+                    productExistente.addImage(new ProductImage(url));
+                }
+            }
+        }
+
+
+        // Las variantes se recrean con ids nuevos: los contadores en memoria de las viejas ya no sirven
+        inventoryEngine.olvidarAfterCommit(variantIds(productExistente));
+        productExistente.getVariants().clear();
+        if (productRequest.variantes() != null) {
+            for (ProductRequest.VariantRequest vReq : productRequest.variantes()) {
+                ProductVariant variant = new ProductVariant();
+                variant.setColor(vReq.color().toUpperCase());
+                variant.setColorHex(vReq.colorHex());
+                variant.setTalla(vReq.talla().toUpperCase());
+                variant.setStock(vReq.stock());
+                productExistente.addVariant(variant);
+            }
+        }
+
+        productExistente.markUpdated();
+        Product productActualizado = productRepository.save(productExistente);
+        searchIndex.indexAfterCommit(productActualizado);
+        catalogCache.productChangedAfterCommit(antes, ProductRef.of(productActualizado));
+        pricingEngine.actualizarAfterCommit(productActualizado.getId(), productActualizado.getPrecio(), productActualizado.getDescuento());
+        log.info("Producto actualizado ID: {}", id);
+
+        return productMapper.toResponse(productActualizado);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Product product = productRepository.findById(id).orElseThrow(() -> {
+            log.warn("Intento de eliminar producto inexistente ID: {}", id);
+            return new ResourceNotFoundException("Producto no encontrado con id: " + id);
+        });
+        ProductRef antes = ProductRef.of(product);
+        inventoryEngine.olvidarAfterCommit(variantIds(product));
+        productRepository.deleteById(id);
+        searchIndex.removeAfterCommit(id);
+        catalogCache.productChangedAfterCommit(antes, null);
+        pricingEngine.quitarAfterCommit(id);
+        log.info("Producto eliminado ID: {}", id);
+    }
+
+    private static List<Long> variantIds(Product product) {
+        return product.getVariants().stream().map(ProductVariant::getId).toList();
+    }
+
+    private void resetFeatured() {
+        List<Long> destacados = productRepository.findFeaturedIds();
+        productRepository.resetFeatured();
+        catalogCache.featuredResetAfterCommit(destacados);
+    }
+
+
 }
\ No newline at end of file
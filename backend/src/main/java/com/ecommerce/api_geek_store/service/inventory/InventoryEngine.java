@@ -0,0 +1,225 @@
+package com.ecommerce.api_geek_store.service.inventory;
+
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import com.ecommerce.api_geek_store.domain.repository.ProductVariantRepository;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Motor de inventario opcional para picos de venta (inventory.engine.enabled).
+ * Con el motor activo el stock disponible de cada variante vive en contadores atómicos en memoria,
+ * repartidos en franjas por hash del id. El CAS sobre el contador aparta las unidades y el descuento
+ * se inserta en inventory_deltas dentro de la misma transacción del pedido: confirma o se pierde con él,
+ * así que una caída nunca pierde un descuento confirmado ni aplica uno que no confirmó.
+ * El volcado suma esas filas por variante, las aplica a product_variants en lotes cada pocos milisegundos
+ * y las borra en la misma transacción; la columna queda atrasada como mucho un intervalo de volcado.
+ * Al arrancar se vuelca lo pendiente antes de leer ningún contador.
+ * Apagado, delega en el UPDATE condicional de {@link ProductVariantRepository#descontarStock}.
+ * Los contadores son de cada nodo: con el motor activo la API debe correr en una sola instancia
+ * (con varias, cada una vendería sobre su propia copia del stock). En despliegues de varios nodos
+ * se deja apagado y el UPDATE condicional serializa en la base.
+ */
+@Component
+public class InventoryEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryEngine.class);
+
+    private static final String REGISTRAR_DELTA = "INSERT INTO inventory_deltas (variant_id, cantidad) VALUES (?, ?)";
+    // FOR UPDATE: si dos volcados coinciden, el segundo espera y ya no ve las filas que borró el primero
+    private static final String LEER_DELTAS =
+            "SELECT id, variant_id, cantidad FROM inventory_deltas ORDER BY id LIMIT ? FOR UPDATE";
+    private static final String APLICAR_DELTA = "UPDATE product_variants SET stock = stock - ? WHERE id = ?";
+    private static final String BORRAR_DELTA = "DELETE FROM inventory_deltas WHERE id = ?";
+
+    private final ProductVariantRepository productVariantRepository;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private Stripe[] stripes;
+
+    @Value("${inventory.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${inventory.engine.stripes:64}")
+    private int stripeCount;
+
+    @Value("${inventory.engine.flush-batch-size:5000}")
+    private int flushBatchSize;
+
+    public InventoryEngine(ProductVariantRepository productVariantRepository,
+                           DataSource dataSource,
+                           PlatformTransactionManager transactionManager) {
+        this.productVariantRepository = productVariantRepository;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private static final class Stripe {
+        private final Map<Long, Counter> counters = new HashMap<>();
+    }
+
+    private record Volcado(int filas, Map<Long, Integer> deltas) {}
+
+    private static final class Counter {
+        private final AtomicInteger disponible;
+        // Confirmado y todavía no aplicado a product_variants
+        private final AtomicInteger pendiente = new AtomicInteger();
+
+        private Counter(int stock) {
+            this.disponible = new AtomicInteger(stock);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("Motor de inventario en memoria deshabilitado: el stock se descuenta con UPDATE condicional");
+            return;
+        }
+
+        stripes = new Stripe[Integer.highestOneBit(Math.max(1, stripeCount))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+
+        new ResourceDatabasePopulator(new ClassPathResource("db/inventory/deltas.sql")).execute(dataSource);
+
+        // Descuentos confirmados antes de una caída: la columna tiene que estar al día antes del primer contador
+        int aplicados = 0;
+        for (int filas; (filas = volcarLote().filas()) > 0; ) {
+            aplicados += filas;
+        }
+        if (aplicados > 0) {
+            log.warn("Descuentos de inventario pendientes aplicados al arrancar: {}", aplicados);
+        }
+        log.info("Motor de inventario en memoria habilitado: {} franjas", stripes.length);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Descuenta unidades de la variante si alcanzan. Con el motor activo las unidades quedan apartadas
+     * en memoria y el descuento se registra en inventory_deltas dentro de la transacción que lo pidió;
+     * si hace rollback la fila desaparece con ella y las unidades vuelven al contador.
+     */
+    public boolean descontar(ProductVariant variant, int cantidad) {
+        if (!enabled) {
+            return productVariantRepository.descontarStock(variant.getId(), cantidad) == 1;
+        }
+
+        Counter counter = counter(variant);
+        int actual;
+        do {
+            actual = counter.disponible.get();
+            if (actual < cantidad) return false;
+        } while (!counter.disponible.compareAndSet(actual, actual - cantidad));
+
+        jdbcTemplate.update(REGISTRAR_DELTA, variant.getId(), cantidad);
+        AfterCommit.run(() -> counter.pendiente.addAndGet(cantidad));
+        AfterCommit.onRollback(() -> counter.disponible.addAndGet(cantidad));
+        return true;
+    }
+
+    /**
+     * Stock vendible de la variante: el contador en memoria si el motor está activo, si no la columna.
+     */
+    public int disponible(ProductVariant variant) {
+        return enabled ? counter(variant).disponible.get() : variant.getStock();
+    }
+
+    /**
+     * Las variantes borradas o reemplazadas por el admin dejan de existir; sus contadores se descartan al confirmar.
+     * Lo que tuvieran pendiente se sigue volcando desde la tabla (el UPDATE no encuentra la fila y no hace nada).
+     */
+    public void olvidarAfterCommit(Collection<Long> variantIds) {
+        if (!enabled || variantIds.isEmpty()) return;
+
+        List<Long> ids = List.copyOf(variantIds);
+        AfterCommit.run(() -> ids.forEach(id -> {
+            Stripe stripe = stripe(id);
+            synchronized (stripe) {
+                Counter counter = stripe.counters.get(id);
+                if (counter != null && counter.pendiente.get() == 0) stripe.counters.remove(id);
+            }
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.engine.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled) return;
+
+        try {
+            Volcado volcado;
+            do {
+                volcado = volcarLote();
+                volcado.deltas().forEach((id, delta) -> {
+                    Stripe stripe = stripe(id);
+                    synchronized (stripe) {
+                        Counter counter = stripe.counters.get(id);
+                        if (counter != null) counter.pendiente.addAndGet(-delta);
+                    }
+                });
+            } while (volcado.filas() == flushBatchSize);
+        } catch (RuntimeException e) {
+            // Las filas siguen en inventory_deltas: se reintenta en el próximo ciclo
+            log.error("Fallo al volcar el inventario, se reintentará", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) return;
+        flush();
+    }
+
+    // Aplica y borra un lote de deltas en una sola transacción; devuelve cuántas filas y el neto por variante
+    private Volcado volcarLote() {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            Map<Long, Integer> deltas = new TreeMap<>();
+            jdbcTemplate.query(LEER_DELTAS, rs -> {
+                ids.add(rs.getLong("id"));
+                deltas.merge(rs.getLong("variant_id"), rs.getInt("cantidad"), Integer::sum);
+            }, flushBatchSize);
+            if (ids.isEmpty()) return new Volcado(0, deltas);
+
+            List<Object[]> filas = new ArrayList<>(deltas.size());
+            deltas.forEach((id, delta) -> filas.add(new Object[]{delta, id}));
+            jdbcTemplate.batchUpdate(APLICAR_DELTA, filas);
+            jdbcTemplate.batchUpdate(BORRAR_DELTA, ids.stream().map(id -> new Object[]{id}).toList());
+            return new Volcado(ids.size(), deltas);
+        });
+    }
+
+    private Counter counter(ProductVariant variant) {
+        Stripe stripe = stripe(variant.getId());
+        synchronized (stripe) {
+            // La primera vez la columna es exacta: nada se descontó aún en memoria para esta variante
+            return stripe.counters.computeIfAbsent(variant.getId(), id -> new Counter(variant.getStock()));
+        }
+    }
+
+    private Stripe stripe(Long variantId) {
+        int h = variantId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,148 @@
+package com.ecommerce.api_geek_store.service.inventory;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.model.EstadoReserva;
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import com.ecommerce.api_geek_store.domain.model.StockReservation;
+import com.ecommerce.api_geek_store.domain.repository.ProductVariantRepository;
+import com.ecommerce.api_geek_store.domain.repository.StockReservationRepository;
+import com.ecommerce.api_geek_store.exception.InsufficientStockException;
+import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Reservas de stock con vencimiento mientras se cobra un pago, en el ledger stock_reservations.
+ * Reservar bloquea las filas de las variantes y suma sus reservas activas en la misma transacción:
+ * la disponibilidad sale de la base, así que vale igual con varias instancias de la API.
+ */
+@Service
+public class StockReservationService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReservationService.class);
+
+    private final StockReservationRepository reservationRepository;
+    private final ProductVariantRepository productVariantRepository;
+    private final InventoryEngine inventoryEngine;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${inventory.reservations.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${inventory.reservations.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    public StockReservationService(StockReservationRepository reservationRepository,
+                                   ProductVariantRepository productVariantRepository,
+                                   InventoryEngine inventoryEngine,
+                                   PlatformTransactionManager transactionManager) {
+        this.reservationRepository = reservationRepository;
+        this.productVariantRepository = productVariantRepository;
+        this.inventoryEngine = inventoryEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Aparta las unidades de todas las líneas o de ninguna. Devuelve el código de la reserva
+     * (null si no hay líneas) o lanza {@link InsufficientStockException} sin haber retenido nada.
+     */
+    @Transactional
+    public String reservar(List<PaymentRequest.PaymentItem> items) {
+        if (items == null || items.isEmpty()) return null;
+
+        // Agrupado y ordenado por variante: misma línea repetida suma, y el orden es estable
+        Map<Long, Integer> porVariante = new TreeMap<>();
+        for (PaymentRequest.PaymentItem item : items) {
+            if (item.variantId() == null || item.cantidad() == null || item.cantidad() <= 0) {
+                throw new IllegalArgumentException("Línea de compra inválida para el producto ID " + item.productId());
+            }
+            porVariante.merge(item.variantId(), item.cantidad(), Integer::sum);
+        }
+
+        // Con las filas bloqueadas, la suma de abajo ya incluye cualquier reserva que compitiera por ellas
+        Map<Long, Integer> stock = productVariantRepository.findAllForUpdate(porVariante.keySet()).stream()
+                .collect(Collectors.toMap(ProductVariant::getId, inventoryEngine::disponible));
+        LocalDateTime ahora = LocalDateTime.now();
+        Map<Long, Integer> retenidas = new HashMap<>();
+        for (Object[] fila : reservationRepository.sumByVariant(porVariante.keySet(), EstadoReserva.ACTIVA, ahora)) {
+            retenidas.put((Long) fila[0], ((Number) fila[1]).intValue());
+        }
+
+        porVariante.forEach((variantId, cantidad) -> {
+            Integer enStock = stock.get(variantId);
+            if (enStock == null) {
+                throw new ResourceNotFoundException("Variante no encontrada");
+            }
+            if (enStock - retenidas.getOrDefault(variantId, 0) < cantidad) {
+                throw new InsufficientStockException("Sin stock disponible para la variante " + variantId);
+            }
+        });
+
+        String codigo = UUID.randomUUID().toString();
+        LocalDateTime expira = ahora.plus(ttl);
+        reservationRepository.saveAll(porVariante.entrySet().stream()
+                .map(e -> new StockReservation(codigo, e.getKey(), e.getValue(), expira))
+                .toList());
+
+        log.info("Reserva {} creada: {} variantes, vence {}", codigo, porVariante.size(), expira);
+        return codigo;
+    }
+
+    /**
+     * Pago aprobado: la orden ya descontó el stock real en esta transacción, la reserva deja de retener.
+     * Si la reserva venció antes, no hay nada que confirmar y la orden se apoya solo en su UPDATE condicional.
+     */
+    @Transactional
+    public void confirmar(String codigo) {
+        cerrar(codigo, EstadoReserva.CONFIRMADA);
+    }
+
+    /**
+     * Pago rechazado o fallido: devuelve las unidades.
+     */
+    @Transactional
+    public void liberar(String codigo) {
+        cerrar(codigo, EstadoReserva.LIBERADA);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservations.sweep-interval-ms:30000}")
+    public void liberarVencidas() {
+        int total = 0;
+        int lote;
+        do {
+            Integer liberadas = transactionTemplate.execute(status -> {
+                List<StockReservation> vencidas = reservationRepository.findExpiredForUpdate(
+                        EstadoReserva.ACTIVA, LocalDateTime.now(), PageRequest.of(0, sweepBatchSize));
+                marcar(vencidas, EstadoReserva.LIBERADA);
+                return vencidas.size();
+            });
+            lote = liberadas != null ? liberadas : 0;
+            total += lote;
+        } while (lote == sweepBatchSize);
+
+        if (total > 0) {
+            log.info("Barrido de reservas: {} líneas vencidas liberadas", total);
+        }
+    }
+
+    private void cerrar(String codigo, EstadoReserva estado) {
+        if (codigo == null) return;
+        marcar(reservationRepository.findForUpdate(codigo, EstadoReserva.ACTIVA), estado);
+    }
+
+    private void marcar(List<StockReservation> lineas, EstadoReserva estado) {
+        lineas.forEach(linea -> linea.setEstado(estado));
+    }
+}
@@ -1,84 +1,80 @@
-package com.ecommerce.api_geek_store.service.jwt;
-
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
-import jakarta.annotation.PostConstruct;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Service;
-
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Function;
-
-@Service
-public class JwtService {
-
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
-
-    @Value("${application.security.jwt.expiration}")
-    private long jwtExpiration;
-
-    @PostConstruct
-    public void init() {
-        if (secretKey == null || secretKey.length() < 32) {
-            throw new RuntimeException("CONFIG ERROR: La JWT Secret Key es nula o demasiado corta. Debe ser segura.");
-        }
-    }
-
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
-    }
-
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return Jwts.builder()
-                .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-}
\ No newline at end of file
+package com.ecommerce.api_geek_store.service.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Emisión y validación de JWT. La clave HMAC y el parser se arman una sola vez al arrancar
+ * (ambos son inmutables y seguros entre hilos); validar un token es un único parseo con verificación
+ * de firma y vencimiento, y de ahí sale una vista inmutable de los claims.
+ */
+@Service
+public class JwtService {
+
+    private final long jwtExpiration;
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtService(@Value("${application.security.jwt.secret-key}") String secretKey,
+                      @Value("${application.security.jwt.expiration}") long jwtExpiration) {
+        if (secretKey == null || secretKey.length() < 32) {
+            throw new RuntimeException("CONFIG ERROR: La JWT Secret Key es nula o demasiado corta. Debe ser segura.");
+        }
+        this.jwtExpiration = jwtExpiration;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+
+    /**
+     * Verifica firma y vencimiento una sola vez. Propaga las JwtException del parser
+     * (ExpiredJwtException, MalformedJwtException, SignatureException...) para que quien llama decida.
+     */
+    public TokenClaims validate(String token) {
+        return TokenClaims.of(extractAllClaims(token));
+    }
+
+    public String extractUsername(String token) {
+        return extractClaim(token, Claims::getSubject);
+    }
+
+    public String generateToken(UserDetails userDetails) {
+        return generateToken(new HashMap<>(), userDetails);
+    }
+
+    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        return Jwts.builder()
+                .setClaims(extraClaims)
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(new Date(System.currentTimeMillis()))
+                .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    // El vencimiento ya lo verificó el parser al validar
+    public boolean isTokenValid(TokenClaims claims, UserDetails userDetails) {
+        return claims.subject() != null && claims.subject().equals(userDetails.getUsername());
+    }
+
+    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
+        final Claims claims = extractAllClaims(token);
+        return claimsResolver.apply(claims);
+    }
+
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+}
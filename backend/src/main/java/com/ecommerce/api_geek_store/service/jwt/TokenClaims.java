@@ -0,0 +1,28 @@
+package com.ecommerce.api_geek_store.service.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Claims de un token ya validado (firma y vencimiento), copiados a una vista inmutable:
+ * se pueden pasar entre capas sin volver a parsear el token ni exponer el mapa mutable de jjwt.
+ */
+public record TokenClaims(String subject, Instant issuedAt, Instant expiration, Map<String, Object> claims) {
+
+    static TokenClaims of(Claims claims) {
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                // unmodifiableMap y no Map.copyOf: un claim puede venir con valor null
+                Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+    }
+
+    public Object get(String name) {
+        return claims.get(name);
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.api_geek_store.service.notification;
+
+import com.ecommerce.api_geek_store.domain.model.EmailOutbox;
+import com.ecommerce.api_geek_store.domain.model.EstadoEmail;
+import com.ecommerce.api_geek_store.domain.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Entrega los correos de email_outbox. Reclama lotes con SKIP LOCKED y les corre el próximo intento
+ * (un turno), así otro nodo no los toma mientras se envían; si este nodo muere, el turno vence y se reintentan.
+ * El SMTP se llama fuera de la transacción y con concurrencia acotada por un pool propio.
+ */
+@Component
+public class EmailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailService emailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    @Value("${mail.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${mail.outbox.lease:5m}")
+    private Duration lease;
+
+    @Value("${mail.outbox.backoff.initial:30s}")
+    private Duration backoffInitial;
+
+    @Value("${mail.outbox.backoff.max:1h}")
+    private Duration backoffMax;
+
+    public EmailDispatcher(EmailOutboxRepository emailOutboxRepository,
+                           EmailService emailService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${mail.outbox.concurrency:4}") int concurrency) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailService = emailService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger hilos = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "email-outbox-" + hilos.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private record Resultado(Long id, String error) {}
+
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:2000}")
+    public void despachar() {
+        List<EmailOutbox> lote = reclamar();
+        if (lote.isEmpty()) return;
+
+        List<Future<Resultado>> envios = lote.stream()
+                .map(email -> executor.submit(() -> enviar(email)))
+                .toList();
+
+        List<Resultado> resultados = new ArrayList<>(envios.size());
+        for (Future<Resultado> envio : envios) {
+            try {
+                resultados.add(envio.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // enviar() no lanza; si pasara, el turno vence y el correo se reintenta
+                log.error("Envío de correo abortado", e.getCause());
+            }
+        }
+
+        registrar(resultados);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private List<EmailOutbox> reclamar() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            List<EmailOutbox> lote = emailOutboxRepository.findDueForUpdate(
+                    EstadoEmail.PENDIENTE, ahora, PageRequest.of(0, batchSize));
+            for (EmailOutbox email : lote) {
+                email.setIntentos(email.getIntentos() + 1);
+                email.setProximoIntento(ahora.plus(lease));
+            }
+            return lote;
+        });
+    }
+
+    private Resultado enviar(EmailOutbox email) {
+        try {
+            emailService.deliver(email);
+            return new Resultado(email.getId(), null);
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            return new Resultado(email.getId(), error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+    }
+
+    private void registrar(List<Resultado> resultados) {
+        Map<Long, String> errores = new HashMap<>();
+        resultados.forEach(r -> errores.put(r.id(), r.error()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            for (EmailOutbox email : emailOutboxRepository.findAllById(errores.keySet())) {
+                String error = errores.get(email.getId());
+                if (error == null) {
+                    email.setEstado(EstadoEmail.ENVIADO);
+                    email.setEnviadoEn(ahora);
+                    email.setUltimoError(null);
+                } else if (email.getIntentos() >= maxAttempts) {
+                    email.setEstado(EstadoEmail.FALLIDO);
+                    email.setUltimoError(error);
+                    log.error("Correo {} #{} a {} descartado tras {} intentos: {}",
+                            email.getTipo(), email.getId(), email.getDestinatario(), email.getIntentos(), error);
+                } else {
+                    email.setProximoIntento(ahora.plus(backoff(email.getIntentos())));
+                    email.setUltimoError(error);
+                    log.warn("Fallo al enviar correo {} #{} (intento {}), se reintentará: {}",
+                            email.getTipo(), email.getId(), email.getIntentos(), error);
+                }
+            }
+        });
+    }
+
+    // Exponencial desde backoff.initial, con tope en backoff.max
+    private Duration backoff(int intentos) {
+        Duration espera = backoffInitial.multipliedBy(1L << Math.min(intentos - 1, 20));
+        return espera.compareTo(backoffMax) > 0 ? backoffMax : espera;
+    }
+}
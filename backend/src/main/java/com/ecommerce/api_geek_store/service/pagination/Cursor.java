@@ -0,0 +1,27 @@
+package com.ecommerce.api_geek_store.service.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición opaca para paginación por keyset: (clave de orden, id).
+ */
+public record Cursor(String sortKey, Long id) {
+
+    public String encode() {
+        String raw = id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) return null;
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separador = raw.indexOf(':');
+            return new Cursor(raw.substring(separador + 1), Long.valueOf(raw.substring(0, separador)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+
+/**
+ * Resultado de un intento de checkout: estado del cobro y, si se aprobó, la orden registrada.
+ * orderId null con pago aprobado significa que la orden quedó pendiente de sincronizar.
+ */
+public record CheckoutResult(String status, String statusDetail, Long paymentId, Long orderId) {
+
+    public static CheckoutResult of(GatewayPayment payment, Long orderId) {
+        return new CheckoutResult(payment.status(), payment.statusDetail(), payment.id(), orderId);
+    }
+
+    public boolean approved() {
+        return "approved".equals(status);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.exception.PaymentGatewayUnavailableException;
+import com.mercadopago.MercadoPagoConfig;
+import com.mercadopago.client.payment.PaymentClient;
+import com.mercadopago.client.payment.PaymentCreateRequest;
+import com.mercadopago.client.payment.PaymentPayerRequest;
+import com.mercadopago.core.MPRequestOptions;
+import com.mercadopago.exceptions.MPApiException;
+import com.mercadopago.exceptions.MPException;
+import com.mercadopago.net.MPResultsResourcesPage;
+import com.mercadopago.net.MPSearchRequest;
+import com.mercadopago.resources.payment.Payment;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@ConditionalOnProperty(name = "payments.gateway", havingValue = "mercadopago", matchIfMissing = true)
+public class MercadoPagoGatewayClient implements PaymentGatewayClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MercadoPagoGatewayClient.class);
+
+    @Value("${mercadopago.access_token}")
+    private String accessToken;
+
+    // Vacía: se usa la URL configurada en el panel de Mercado Pago
+    @Value("${mercadopago.webhook.notification-url:}")
+    private String notificationUrl;
+
+    // Por defecto el SDK espera 20 s en cada fase; más allá de esto conviene fallar y dejarlo al reconciliador
+    @Value("${mercadopago.http.connect-timeout-ms:3000}")
+    private int connectTimeoutMs;
+
+    @Value("${mercadopago.http.read-timeout-ms:15000}")
+    private int readTimeoutMs;
+
+    @Value("${mercadopago.http.max-connections:50}")
+    private int maxConnections;
+
+    // Un solo cliente: comparte el pool de conexiones HTTP del SDK entre llamadas
+    private PaymentClient client;
+
+    @PostConstruct
+    public void init() {
+        if (accessToken == null || accessToken.isBlank()) {
+            throw new RuntimeException("FATAL: El Token de Mercado Pago no está configurado.");
+        }
+        MercadoPagoConfig.setAccessToken(accessToken);
+        MercadoPagoConfig.setConnectionTimeout(connectTimeoutMs);
+        MercadoPagoConfig.setConnectionRequestTimeout(connectTimeoutMs);
+        MercadoPagoConfig.setSocketTimeout(readTimeoutMs);
+        MercadoPagoConfig.setMaxConnections(maxConnections);
+        client = new PaymentClient();
+        log.info("Servicio de Pagos inicializado con Mercado Pago (connect {} ms, read {} ms).", connectTimeoutMs, readTimeoutMs);
+    }
+
+    @Override
+    public GatewayPayment create(PaymentRequest request, String idempotencyKey, String externalReference) {
+        try {
+            BigDecimal amount = request.transactionAmount()
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            PaymentPayerRequest payerRequest = PaymentPayerRequest.builder()
+                    .email(request.payerEmail())
+
+                    .build();
+
+            PaymentCreateRequest createRequest = PaymentCreateRequest.builder()
+                    .transactionAmount(amount)
+                    .token(request.token())
+                    .description("Geek Store Order")
+                    .installments(request.installments())
+                    .paymentMethodId(request.paymentMethodId())
+                    .payer(payerRequest)
+                    .externalReference(externalReference)
+                    .notificationUrl(notificationUrl.isBlank() ? null : notificationUrl)
+                    .build();
+
+            Map<String, String> customHeaders = new HashMap<>();
+            customHeaders.put("X-Idempotency-Key", idempotencyKey);
+
+            MPRequestOptions options = MPRequestOptions.builder()
+                    .customHeaders(customHeaders)
+                    .build();
+
+            log.info("Iniciando proceso de pago para: {} | Monto: {}", request.payerEmail(), amount);
+
+            Payment payment = client.create(createRequest, options);
+
+            log.info("Pago procesado exitosamente. Estado: {} | ID: {}", payment.getStatus(), payment.getId());
+
+            return toGatewayPayment(payment);
+
+        } catch (MPApiException ex) {
+            log.error("Error API Mercado Pago. Status: {} | Detalle: {}", ex.getStatusCode(), ex.getApiResponse().getContent());
+
+            if (ex.getStatusCode() >= 500) {
+                throw new PaymentGatewayUnavailableException("Hubo un problema de comunicación con el banco. Intente nuevamente.", ex);
+            }
+            throw new IllegalArgumentException("El pago fue rechazado por la procesadora. Verifique los datos de su tarjeta.");
+
+        } catch (MPException ex) {
+            log.error("Error de conexión con Mercado Pago: {}", ex.getMessage());
+            throw new PaymentGatewayUnavailableException("Hubo un problema de comunicación con el banco. Intente nuevamente.", ex);
+
+        } catch (Exception e) {
+            log.error("Error interno inesperado en PaymentService: ", e);
+            throw new RuntimeException("Ocurrió un error interno al procesar el pago.");
+        }
+    }
+
+    @Override
+    public Optional<GatewayPayment> findByExternalReference(String externalReference) {
+        try {
+            MPSearchRequest search = MPSearchRequest.builder()
+                    .filters(Map.of("external_reference", externalReference))
+                    .limit(10)
+                    .offset(0)
+                    .build();
+            MPResultsResourcesPage<Payment> page = client.search(search);
+
+            // Si hubiera varios (no debería, por la clave de idempotencia) vale el aprobado o el más reciente
+            return page.getResults().stream()
+                    .max(Comparator.comparing((Payment p) -> "approved".equals(p.getStatus()))
+                            .thenComparing(Payment::getId))
+                    .map(this::toGatewayPayment);
+
+        } catch (MPApiException ex) {
+            throw new IllegalStateException("Mercado Pago rechazó la búsqueda de " + externalReference
+                    + " (status " + ex.getStatusCode() + ")", ex);
+        } catch (MPException ex) {
+            throw new PaymentGatewayUnavailableException("Error de conexión con Mercado Pago al buscar " + externalReference, ex);
+        }
+    }
+
+    @Override
+    public Optional<GatewayPayment> findById(Long paymentId) {
+        try {
+            return Optional.of(toGatewayPayment(client.get(paymentId)));
+
+        } catch (MPApiException ex) {
+            if (ex.getStatusCode() == 404) return Optional.empty();
+            throw new IllegalStateException("Mercado Pago rechazó la consulta del pago " + paymentId
+                    + " (status " + ex.getStatusCode() + ")", ex);
+        } catch (MPException ex) {
+            throw new PaymentGatewayUnavailableException("Error de conexión con Mercado Pago al consultar el pago " + paymentId, ex);
+        }
+    }
+
+    private GatewayPayment toGatewayPayment(Payment payment) {
+        return new GatewayPayment(payment.getId(), payment.getStatus(), payment.getStatusDetail(), payment.getExternalReference());
+    }
+}
@@ -0,0 +1,89 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Valida el header x-signature de las notificaciones de Mercado Pago:
+ * HMAC-SHA256 con la clave secreta del webhook sobre "id:{data.id};request-id:{x-request-id};ts:{ts};".
+ * Un ts fuera de la tolerancia se rechaza aunque la firma sea correcta: una notificación capturada
+ * no se puede reenviar más tarde. Sin clave solo arranca con el gateway stub (desarrollo local),
+ * donde acepta todo; con Mercado Pago la clave es obligatoria.
+ */
+@Component
+public class MercadoPagoWebhookSignature {
+
+    private static final Logger log = LoggerFactory.getLogger(MercadoPagoWebhookSignature.class);
+
+    private final SecretKeySpec key;
+    private final Duration tolerancia;
+
+    public MercadoPagoWebhookSignature(@Value("${mercadopago.webhook.secret:}") String secret,
+                                       @Value("${mercadopago.webhook.max-clock-skew:5m}") Duration tolerancia,
+                                       @Value("${payments.gateway:mercadopago}") String gateway) {
+        this.key = secret.isBlank() ? null : new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.tolerancia = tolerancia;
+        if (key == null) {
+            if (!"stub".equals(gateway)) {
+                throw new IllegalStateException("mercadopago.webhook.secret es obligatorio con payments.gateway=" + gateway);
+            }
+            log.warn("mercadopago.webhook.secret no configurado: con el gateway stub las notificaciones no se verifican");
+        }
+    }
+
+    public boolean valida(String signatureHeader, String requestId, String dataId) {
+        if (key == null) return true;
+        if (signatureHeader == null || dataId == null) return false;
+
+        String ts = null;
+        String v1 = null;
+        for (String parte : signatureHeader.split(",")) {
+            String[] kv = parte.trim().split("=", 2);
+            if (kv.length != 2) continue;
+            if ("ts".equals(kv[0])) ts = kv[1];
+            else if ("v1".equals(kv[0])) v1 = kv[1];
+        }
+        if (ts == null || v1 == null || !vigente(ts)) return false;
+
+        StringBuilder manifest = new StringBuilder()
+                .append("id:").append(dataId.toLowerCase(Locale.ROOT)).append(';');
+        if (requestId != null && !requestId.isBlank()) manifest.append("request-id:").append(requestId).append(';');
+        manifest.append("ts:").append(ts).append(';');
+
+        try {
+            // Mac no es thread-safe: una instancia por verificación (el init es barato comparado con el HMAC)
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            byte[] esperado = mac.doFinal(manifest.toString().getBytes(StandardCharsets.UTF_8));
+            return MessageDigest.isEqual(esperado, HexFormat.of().parseHex(v1.toLowerCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+
+    // Mercado Pago manda ts en milisegundos; se acepta también en segundos
+    private boolean vigente(String ts) {
+        try {
+            long valor = Long.parseLong(ts);
+            Instant enviada = valor > 100_000_000_000L ? Instant.ofEpochMilli(valor) : Instant.ofEpochSecond(valor);
+            return Duration.between(enviada, Instant.now()).abs().compareTo(tolerancia) <= 0;
+        } catch (NumberFormatException | DateTimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker de la procesadora. Mira los últimos N resultados: si la tasa de fallos supera el umbral
+ * se abre y rechaza en el acto durante open-duration; después deja pasar unas pocas llamadas de prueba
+ * (semiabierto) y según cómo salgan vuelve a cerrar o a abrir.
+ * Un pago rechazado por la tarjeta es un resultado válido, no un fallo: solo cuentan errores y timeouts.
+ */
+@Component
+public class PaymentCircuitBreaker implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentCircuitBreaker.class);
+
+    public enum Estado { CERRADO, ABIERTO, SEMIABIERTO }
+
+    private final boolean[] ventana;
+    private final int minimoLlamadas;
+    private final int umbralPorcentaje;
+    private final long abiertoNanos;
+    private final int pruebas;
+
+    private Estado estado = Estado.CERRADO;
+    private int posicion = 0;
+    private int registradas = 0;
+    private int fallos = 0;
+    private long abiertoDesde;
+    private int pruebasEnCurso = 0;
+    private int pruebasExitosas = 0;
+
+    public PaymentCircuitBreaker(@Value("${payments.gateway.breaker.window-size:20}") int tamanoVentana,
+                                 @Value("${payments.gateway.breaker.minimum-calls:10}") int minimoLlamadas,
+                                 @Value("${payments.gateway.breaker.failure-rate-threshold:50}") int umbralPorcentaje,
+                                 @Value("${payments.gateway.breaker.open-duration:30s}") Duration abierto,
+                                 @Value("${payments.gateway.breaker.half-open-calls:3}") int pruebas) {
+        this.ventana = new boolean[tamanoVentana];
+        this.minimoLlamadas = Math.min(minimoLlamadas, tamanoVentana);
+        this.umbralPorcentaje = umbralPorcentaje;
+        this.abiertoNanos = abierto.toNanos();
+        this.pruebas = pruebas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("payments.gateway.breaker.state", this, breaker -> breaker.estado().ordinal())
+                .description("0 = cerrado, 1 = abierto, 2 = semiabierto")
+                .register(registry);
+    }
+
+    /**
+     * true si la llamada puede salir. Cada permiso concedido debe cerrarse con exito(), fallo() o liberar().
+     */
+    public synchronized boolean permitir() {
+        if (estado == Estado.ABIERTO) {
+            if (System.nanoTime() - abiertoDesde < abiertoNanos) return false;
+            estado = Estado.SEMIABIERTO;
+            pruebasEnCurso = 0;
+            pruebasExitosas = 0;
+            log.info("Circuito de la procesadora semiabierto: se prueban {} llamadas", pruebas);
+        }
+        if (estado == Estado.SEMIABIERTO) {
+            if (pruebasEnCurso >= pruebas) return false;
+            pruebasEnCurso++;
+        }
+        return true;
+    }
+
+    public synchronized void exito() {
+        if (estado == Estado.SEMIABIERTO) {
+            if (++pruebasExitosas >= pruebas) {
+                cerrar();
+            }
+            return;
+        }
+        registrar(false);
+    }
+
+    public synchronized void fallo() {
+        if (estado == Estado.SEMIABIERTO) {
+            abrir("falló una llamada de prueba");
+            return;
+        }
+        if (estado == Estado.CERRADO) {
+            registrar(true);
+            if (registradas >= minimoLlamadas && fallos * 100 >= umbralPorcentaje * registradas) {
+                abrir(fallos + " fallos en las últimas " + registradas + " llamadas");
+            }
+        }
+    }
+
+    // Permiso concedido que no llegó a usarse (no hubo llamada): no cuenta ni a favor ni en contra
+    public synchronized void liberar() {
+        if (estado == Estado.SEMIABIERTO && pruebasEnCurso > 0) pruebasEnCurso--;
+    }
+
+    public synchronized Estado estado() {
+        return estado;
+    }
+
+    private void registrar(boolean fallo) {
+        if (registradas == ventana.length) {
+            if (ventana[posicion]) fallos--;
+        } else {
+            registradas++;
+        }
+        ventana[posicion] = fallo;
+        if (fallo) fallos++;
+        posicion = (posicion + 1) % ventana.length;
+    }
+
+    private void abrir(String motivo) {
+        estado = Estado.ABIERTO;
+        abiertoDesde = System.nanoTime();
+        log.error("Circuito de la procesadora ABIERTO ({}): se rechazan cobros por {} s", motivo, abiertoNanos / 1_000_000_000L);
+    }
+
+    private void cerrar() {
+        estado = Estado.CERRADO;
+        posicion = 0;
+        registradas = 0;
+        fallos = 0;
+        log.info("Circuito de la procesadora cerrado de nuevo");
+    }
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+
+import java.util.Optional;
+
+/**
+ * Procesadora de pagos. La implementación se elige con payments.gateway:
+ * mercadopago (por defecto) o stub para desarrollo y pruebas sin red.
+ */
+public interface PaymentGatewayClient {
+
+    /**
+     * Crea el cobro. Con la misma idempotencyKey la procesadora devuelve el pago ya creado.
+     * externalReference queda asociada al pago para poder buscarlo si la respuesta se pierde.
+     */
+    GatewayPayment create(PaymentRequest request, String idempotencyKey, String externalReference);
+
+    Optional<GatewayPayment> findByExternalReference(String externalReference);
+
+    Optional<GatewayPayment> findById(Long paymentId);
+
+    record GatewayPayment(Long id, String status, String statusDetail, String externalReference) {
+
+        public boolean approved() {
+            return "approved".equals(status);
+        }
+
+        // Estados terminales sin cobro
+        public boolean rejected() {
+            return "rejected".equals(status) || "cancelled".equals(status);
+        }
+    }
+}
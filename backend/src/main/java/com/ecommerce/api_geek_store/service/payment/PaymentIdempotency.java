@@ -0,0 +1,130 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.model.Order;
+import com.ecommerce.api_geek_store.domain.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Un checkout del cliente se cobra una sola vez. La clave se deriva del checkoutId que manda el front
+ * (y del email del pagador), se usa como X-Idempotency-Key en Mercado Pago y queda guardada en la orden.
+ * Antes de cobrar se mira una caché de claves recientes y, si no está, la orden en la base;
+ * dos pedidos simultáneos con la misma clave en este nodo comparten un único cobro.
+ */
+@Component
+public class PaymentIdempotency {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIdempotency.class);
+
+    private static final String STATUS_DETAIL_REPLAY = "accredited";
+
+    private final OrderRepository orderRepository;
+    private final Cache<String, CheckoutResult> recientes;
+    private final ConcurrentHashMap<String, CompletableFuture<CheckoutResult>> enCurso = new ConcurrentHashMap<>();
+
+    @Value("${payments.idempotency.wait-timeout:60s}")
+    private Duration waitTimeout;
+
+    public PaymentIdempotency(OrderRepository orderRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${payments.idempotency.recent.max-entries:10000}") long maxEntries,
+                              @Value("${payments.idempotency.recent.ttl:24h}") Duration ttl) {
+        this.orderRepository = orderRepository;
+        this.recientes = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recientes, "payments.idempotency");
+    }
+
+    /**
+     * Clave determinística del checkout, o null si el cliente no envió checkoutId.
+     */
+    public String key(PaymentRequest request) {
+        if (request.checkoutId() == null || request.checkoutId().isBlank()) return null;
+
+        String semilla = "checkout:" + request.payerEmail().trim().toLowerCase(Locale.ROOT) + ":" + request.checkoutId().trim();
+        return UUID.nameUUIDFromBytes(semilla.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Devuelve el resultado ya conocido para la clave o ejecuta el cobro una vez.
+     * Solo se recuerdan los pagos aprobados: un rechazo se puede reintentar con otro checkoutId.
+     */
+    public CheckoutResult once(String key, Supplier<CheckoutResult> cobro) {
+        CheckoutResult previo = previo(key);
+        if (previo != null) {
+            log.info("Checkout {} repetido: se devuelve la orden {} sin volver a cobrar", key, previo.orderId());
+            return previo;
+        }
+
+        CompletableFuture<CheckoutResult> propio = new CompletableFuture<>();
+        CompletableFuture<CheckoutResult> otro = enCurso.putIfAbsent(key, propio);
+        if (otro != null) {
+            log.info("Checkout {} ya en proceso en este nodo: se espera su resultado", key);
+            return esperar(otro);
+        }
+
+        try {
+            CheckoutResult resultado = cobro.get();
+            if (resultado.approved() && resultado.orderId() != null) recientes.put(key, resultado);
+            propio.complete(resultado);
+            return resultado;
+        } catch (RuntimeException e) {
+            propio.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(key, propio);
+        }
+    }
+
+    /**
+     * Orden ya registrada para un pago (la insertó otro nodo o un reintento anterior).
+     */
+    public Optional<Long> ordenDelPago(Long paymentId) {
+        return orderRepository.findByMpPaymentId(paymentId).map(Order::getId);
+    }
+
+    private CheckoutResult previo(String key) {
+        CheckoutResult cacheado = recientes.getIfPresent(key);
+        if (cacheado != null) return cacheado;
+
+        return orderRepository.findByCheckoutKey(key)
+                .map(order -> {
+                    CheckoutResult resultado = new CheckoutResult("approved", STATUS_DETAIL_REPLAY, order.getMpPaymentId(), order.getId());
+                    recientes.put(key, resultado);
+                    return resultado;
+                })
+                .orElse(null);
+    }
+
+    private CheckoutResult esperar(CompletableFuture<CheckoutResult> otro) {
+        try {
+            return otro.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) throw runtime;
+            throw new IllegalStateException("Falló el checkout en curso", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("El pago sigue en proceso. Consulta tus pedidos en unos minutos.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Se interrumpió la espera del pago en curso");
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.model.EstadoIntento;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import com.ecommerce.api_geek_store.domain.repository.PaymentIntentRepository;
+import com.ecommerce.api_geek_store.exception.ResourceNotFoundException;
+import com.ecommerce.api_geek_store.service.inventory.StockReservationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Registro durable de cada intento de cobro. Cada transición se confirma en su propia transacción
+ * (REQUIRES_NEW): el estado tiene que quedar escrito aunque lo que venga después falle.
+ */
+@Service
+public class PaymentIntentService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentIntentService.class);
+
+    public static final Set<EstadoIntento> PENDIENTES = EnumSet.of(EstadoIntento.INICIADO, EstadoIntento.APROBADO);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String REFERENCE_PREFIX = "intent-";
+
+    private final PaymentIntentRepository paymentIntentRepository;
+    private final ObjectMapper objectMapper;
+    private final StockReservationService stockReservationService;
+
+    // Margen para que el pedido en curso termine antes de que el reconciliador mire el intento
+    @Value("${payments.reconciler.grace:2m}")
+    private Duration grace;
+
+    @Value("${payments.reconciler.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${payments.reconciler.backoff.initial:1m}")
+    private Duration backoffInitial;
+
+    @Value("${payments.reconciler.backoff.max:1h}")
+    private Duration backoffMax;
+
+    public PaymentIntentService(PaymentIntentRepository paymentIntentRepository,
+                                ObjectMapper objectMapper,
+                                StockReservationService stockReservationService) {
+        this.paymentIntentRepository = paymentIntentRepository;
+        this.objectMapper = objectMapper;
+        this.stockReservationService = stockReservationService;
+    }
+
+    // Lo necesario para registrar la orden sin el request original
+    public record Payload(List<PaymentRequest.PaymentItem> items, PaymentRequest.PaymentAddress direccion) {}
+
+    /**
+     * Registra el intento antes de cobrar. Un reintento del mismo checkout reutiliza el intento abierto,
+     * así conserva la misma referencia externa y la procesadora lo reconoce. La reserva del intento
+     * anterior se libera en la misma transacción: cada reintento trae la suya y el carrito no queda
+     * retenido dos veces hasta que venza.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public PaymentIntent abrir(PaymentRequest request, String checkoutKey, String reservationCode) {
+        LocalDateTime revisar = LocalDateTime.now().plus(grace);
+
+        if (checkoutKey != null) {
+            PaymentIntent abierto = paymentIntentRepository
+                    .findFirstByCheckoutKeyAndEstadoInOrderByIdDesc(checkoutKey, PENDIENTES)
+                    .orElse(null);
+            if (abierto != null) {
+                String anterior = abierto.getReservationCode();
+                if (anterior != null && !anterior.equals(reservationCode)) {
+                    stockReservationService.liberar(anterior);
+                }
+                abierto.setReservationCode(reservationCode);
+                abierto.setProximoIntento(revisar);
+                return abierto;
+            }
+        }
+
+        PaymentIntent intent = new PaymentIntent(
+                checkoutKey,
+                request.payerEmail(),
+                request.transactionAmount(),
+                snapshot(new Payload(request.items(), request.direccion())),
+                reservationCode
+        );
+        intent.setProximoIntento(revisar);
+        return paymentIntentRepository.save(intent);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void aprobado(Long intentId, Long paymentId) {
+        PaymentIntent intent = buscar(intentId);
+        intent.setEstado(EstadoIntento.APROBADO);
+        intent.setMpPaymentId(paymentId);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void completado(Long intentId, Long orderId) {
+        PaymentIntent intent = buscar(intentId);
+        intent.setEstado(EstadoIntento.COMPLETADO);
+        intent.setOrderId(orderId);
+        intent.setUltimoError(null);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void rechazado(Long intentId, Long paymentId, String motivo) {
+        PaymentIntent intent = buscar(intentId);
+        intent.setEstado(EstadoIntento.RECHAZADO);
+        intent.setMpPaymentId(paymentId);
+        intent.setUltimoError(recortar(motivo));
+    }
+
+    /**
+     * Anota el fallo y programa el próximo intento con backoff exponencial.
+     * Pasado el máximo queda FALLIDO: si hubo cobro, hay que devolverlo o registrar la orden a mano.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void reintentar(Long intentId, String error) {
+        PaymentIntent intent = buscar(intentId);
+        if (!intent.isPendiente()) return;
+
+        intent.setIntentos(intent.getIntentos() + 1);
+        intent.setUltimoError(recortar(error));
+
+        if (intent.getIntentos() >= maxAttempts) {
+            intent.setEstado(EstadoIntento.FALLIDO);
+            log.error("Intento de pago {} (MP_ID: {}, {}) FALLIDO tras {} intentos, requiere revisión manual: {}",
+                    intent.getId(), intent.getMpPaymentId(), intent.getPayerEmail(), intent.getIntentos(), error);
+        } else {
+            intent.setProximoIntento(LocalDateTime.now().plus(backoff(intent.getIntentos())));
+            log.warn("Intento de pago {} sin resolver (intento {}), se reintentará: {}",
+                    intent.getId(), intent.getIntentos(), error);
+        }
+    }
+
+    /**
+     * Intento al que pertenece un pago, según la referencia externa con la que se creó.
+     */
+    @Transactional(readOnly = true)
+    public Optional<PaymentIntent> buscarPorReferencia(String externalReference) {
+        if (externalReference == null || !externalReference.startsWith(REFERENCE_PREFIX)) return Optional.empty();
+        try {
+            return paymentIntentRepository.findById(Long.parseLong(externalReference.substring(REFERENCE_PREFIX.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Payload payload(PaymentIntent intent) {
+        try {
+            return objectMapper.readValue(intent.getPayload(), Payload.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Payload ilegible en el intento de pago " + intent.getId(), e);
+        }
+    }
+
+    private PaymentIntent buscar(Long intentId) {
+        return paymentIntentRepository.findById(intentId)
+                .orElseThrow(() -> new ResourceNotFoundException("Intento de pago no encontrado: " + intentId));
+    }
+
+    private String snapshot(Payload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el intento de pago", e);
+        }
+    }
+
+    private String recortar(String error) {
+        if (error == null) return null;
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    // Exponencial desde backoff.initial, con tope en backoff.max
+    private Duration backoff(int intentos) {
+        Duration espera = backoffInitial.multipliedBy(1L << Math.min(intentos - 1, 20));
+        return espera.compareTo(backoffMax) > 0 ? backoffMax : espera;
+    }
+}
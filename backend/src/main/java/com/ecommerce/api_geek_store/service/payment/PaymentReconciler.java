@@ -0,0 +1,235 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.domain.model.EstadoIntento;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import com.ecommerce.api_geek_store.domain.repository.PaymentIntentRepository;
+import com.ecommerce.api_geek_store.service.OrderService;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Retoma los intentos de pago que quedaron sin resolver (pending_sync, caídas a mitad de checkout).
+ * INICIADO: se busca el pago en la procesadora por la referencia externa del intento.
+ * APROBADO: se reintenta registrar la orden; el índice único sobre el pago evita duplicarla.
+ * Solo un nodo reconcilia a la vez (advisory lock de Postgres); todos publican el tamaño del backlog.
+ */
+@Component
+public class PaymentReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciler.class);
+
+    // Clave arbitraria pero fija del advisory lock: la comparten todos los nodos
+    private static final long LOCK_KEY = 0x7061796d656e74L;
+
+    private final PaymentIntentRepository paymentIntentRepository;
+    private final PaymentIntentService paymentIntentService;
+    private final PaymentService paymentService;
+    private final PaymentIdempotency paymentIdempotency;
+    private final OrderService orderService;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong backlogOldestSeconds = new AtomicLong();
+    private final Counter completados;
+    private final Counter rechazados;
+    private final Counter reintentos;
+
+    @Value("${payments.reconciler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${payments.reconciler.batch-size:50}")
+    private int batchSize;
+
+    @Value("${payments.reconciler.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    // Un INICIADO que la procesadora no conoce pasado este tiempo nunca llegó a cobrarse
+    @Value("${payments.reconciler.abandon-after:30m}")
+    private Duration abandonAfter;
+
+    public PaymentReconciler(PaymentIntentRepository paymentIntentRepository,
+                             PaymentIntentService paymentIntentService,
+                             PaymentService paymentService,
+                             PaymentIdempotency paymentIdempotency,
+                             OrderService orderService,
+                             JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry) {
+        this.paymentIntentRepository = paymentIntentRepository;
+        this.paymentIntentService = paymentIntentService;
+        this.paymentService = paymentService;
+        this.paymentIdempotency = paymentIdempotency;
+        this.orderService = orderService;
+        this.jdbcTemplate = jdbcTemplate;
+
+        Gauge.builder("payments.intents.backlog", backlog, AtomicLong::get)
+                .description("Intentos de pago sin resolver (INICIADO o APROBADO)")
+                .register(meterRegistry);
+        Gauge.builder("payments.intents.backlog.oldest", backlogOldestSeconds, AtomicLong::get)
+                .description("Antigüedad del intento sin resolver más viejo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.completados = meterRegistry.counter("payments.reconciler.intents", "resultado", "completado");
+        this.rechazados = meterRegistry.counter("payments.reconciler.intents", "resultado", "rechazado");
+        this.reintentos = meterRegistry.counter("payments.reconciler.intents", "resultado", "reintento");
+    }
+
+    @Scheduled(fixedDelayString = "${payments.reconciler.poll-interval-ms:30000}",
+            initialDelayString = "${payments.reconciler.initial-delay-ms:60000}")
+    public void reconciliar() {
+        medirBacklog();
+        if (!enabled) return;
+
+        // Lock de sesión: se toma y se suelta en la misma conexión, que queda ocupada mientras dura la pasada
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement lock = connection.prepareStatement("SELECT pg_try_advisory_lock(?)")) {
+                lock.setLong(1, LOCK_KEY);
+                try (ResultSet rs = lock.executeQuery()) {
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        log.debug("Reconciliación de pagos en curso en otro nodo");
+                        return null;
+                    }
+                }
+            }
+
+            try {
+                procesarPendientes();
+            } finally {
+                try (PreparedStatement unlock = connection.prepareStatement("SELECT pg_advisory_unlock(?)")) {
+                    unlock.setLong(1, LOCK_KEY);
+                    unlock.execute();
+                }
+            }
+            return null;
+        });
+    }
+
+    private void procesarPendientes() {
+        int procesados = 0;
+        List<PaymentIntent> lote;
+        int lotes = 0;
+
+        // Cada intento procesado sale de la ventana (terminal o reprogramado), así el siguiente lote trae otros
+        do {
+            lote = paymentIntentRepository.findDue(PaymentIntentService.PENDIENTES, LocalDateTime.now(), PageRequest.of(0, batchSize));
+            for (PaymentIntent intent : lote) {
+                try {
+                    procesar(intent);
+                } catch (RuntimeException e) {
+                    reintentos.increment();
+                    paymentIntentService.reintentar(intent.getId(), e.getClass().getSimpleName() + ": " + e.getMessage());
+                }
+                procesados++;
+            }
+        } while (lote.size() == batchSize && ++lotes < maxBatchesPerRun);
+
+        if (procesados > 0) {
+            log.info("Reconciliación de pagos: {} intentos procesados", procesados);
+            medirBacklog();
+        }
+    }
+
+    private void procesar(PaymentIntent intent) {
+        if (intent.getEstado() == EstadoIntento.INICIADO) {
+            Optional<GatewayPayment> pago = paymentService.findByExternalReference(intent.getExternalReference());
+
+            if (pago.isEmpty()) {
+                if (intent.getCreadoEn().plus(abandonAfter).isBefore(LocalDateTime.now())) {
+                    paymentIntentService.rechazado(intent.getId(), null, "La procesadora no registra el cobro");
+                    rechazados.increment();
+                } else {
+                    reintentos.increment();
+                    paymentIntentService.reintentar(intent.getId(), "Cobro aún no visible en la procesadora");
+                }
+                return;
+            }
+
+            if (!conciliar(intent, pago.get())) {
+                reintentos.increment();
+                paymentIntentService.reintentar(intent.getId(), "Pago " + pago.get().id() + " en estado " + pago.get().status());
+            }
+            return;
+        }
+
+        registrarOrden(intent);
+    }
+
+    /**
+     * Aplica al intento el estado que informa la procesadora (búsqueda propia o notificación).
+     * Devuelve false si el pago sigue en proceso y hay que volver a mirarlo más tarde.
+     */
+    public boolean conciliar(PaymentIntent intent, GatewayPayment payment) {
+        if (!intent.isPendiente()) {
+            if (payment.approved() && intent.getEstado() != EstadoIntento.COMPLETADO) {
+                log.error("Pago {} aprobado para el intento {} ya cerrado como {}: requiere revisión manual",
+                        payment.id(), intent.getId(), intent.getEstado());
+            }
+            return true;
+        }
+
+        if (payment.rejected()) {
+            paymentIntentService.rechazado(intent.getId(), payment.id(), payment.statusDetail());
+            rechazados.increment();
+            return true;
+        }
+        if (!payment.approved()) {
+            return false;
+        }
+
+        if (intent.getEstado() == EstadoIntento.INICIADO) {
+            paymentIntentService.aprobado(intent.getId(), payment.id());
+            intent.setMpPaymentId(payment.id());
+        }
+        registrarOrden(intent);
+        return true;
+    }
+
+    private void registrarOrden(PaymentIntent intent) {
+        Long existente = paymentIdempotency.ordenDelPago(intent.getMpPaymentId()).orElse(null);
+        if (existente == null) {
+            PaymentIntentService.Payload payload = paymentIntentService.payload(intent);
+            try {
+                existente = orderService.createOrderFromPayment(
+                        intent.getPayerEmail(),
+                        payload.items(),
+                        payload.direccion(),
+                        intent.getMonto(),
+                        intent.getReservationCode(),
+                        intent.getMpPaymentId(),
+                        intent.getCheckoutKey()
+                );
+                log.info("Orden {} registrada por reconciliación para el pago {}", existente, intent.getMpPaymentId());
+            } catch (DataIntegrityViolationException e) {
+                // El pedido original (u otro reintento) la insertó entre la consulta y el insert
+                existente = paymentIdempotency.ordenDelPago(intent.getMpPaymentId()).orElseThrow(() -> e);
+            }
+        }
+
+        paymentIntentService.completado(intent.getId(), existente);
+        completados.increment();
+    }
+
+    private void medirBacklog() {
+        backlog.set(paymentIntentRepository.countByEstadoIn(PaymentIntentService.PENDIENTES));
+        LocalDateTime masViejo = paymentIntentRepository.findOldestCreadoEn(PaymentIntentService.PENDIENTES);
+        backlogOldestSeconds.set(masViejo != null ? Duration.between(masViejo, LocalDateTime.now()).toSeconds() : 0);
+    }
+}
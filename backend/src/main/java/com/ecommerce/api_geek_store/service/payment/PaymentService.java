@@ -1,94 +1,171 @@
-package com.ecommerce.api_geek_store.service.payment;
-
-import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
-import com.mercadopago.MercadoPagoConfig;
-import com.mercadopago.client.payment.PaymentClient;
-import com.mercadopago.client.payment.PaymentCreateRequest;
-import com.mercadopago.client.payment.PaymentPayerRequest;
-import com.mercadopago.core.MPRequestOptions;
-import com.mercadopago.exceptions.MPApiException;
-import com.mercadopago.exceptions.MPException;
-import com.mercadopago.resources.payment.Payment;
-import jakarta.annotation.PostConstruct;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.stereotype.Service;
-
-import java.math.BigDecimal;
-import java.math.RoundingMode;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.UUID;
-
-@Service
-public class PaymentService {
-
-    private static final Logger log = LoggerFactory.getLogger(PaymentService.class);
-
-    @Value("${mercadopago.access_token}")
-    private String accessToken;
-
-    @PostConstruct
-    public void init() {
-        if (accessToken == null || accessToken.isBlank()) {
-            throw new RuntimeException("FATAL: El Token de Mercado Pago no está configurado.");
-        }
-        MercadoPagoConfig.setAccessToken(accessToken);
-        log.info("Servicio de Pagos inicializado con Mercado Pago.");
-    }
-
-    public Payment processPayment(PaymentRequest request) {
-
-        String idempotencyKey = UUID.randomUUID().toString();
-
-        try {
-            PaymentClient client = new PaymentClient();
-
-            BigDecimal amount = request.transactionAmount()
-                    .setScale(2, RoundingMode.HALF_UP);
-
-            PaymentPayerRequest payerRequest = PaymentPayerRequest.builder()
-                    .email(request.payerEmail())
-
-                    .build();
-
-            PaymentCreateRequest createRequest = PaymentCreateRequest.builder()
-                    .transactionAmount(amount)
-                    .token(request.token())
-                    .description("Geek Store Order")
-                    .installments(request.installments())
-                    .paymentMethodId(request.paymentMethodId())
-                    .payer(payerRequest)
-                    .build();
-
-            Map<String, String> customHeaders = new HashMap<>();
-            customHeaders.put("X-Idempotency-Key", idempotencyKey);
-
-            MPRequestOptions options = MPRequestOptions.builder()
-                    .customHeaders(customHeaders)
-                    .build();
-
-            log.info("Iniciando proceso de pago para: {} | Monto: {}", request.payerEmail(), amount);
-
-            Payment payment = client.create(createRequest, options);
-
-            log.info("Pago procesado exitosamente. Estado: {} | ID: {}", payment.getStatus(), payment.getId());
-
-            return payment;
-
-        } catch (MPApiException ex) {
-            log.error("Error API Mercado Pago. Status: {} | Detalle: {}", ex.getStatusCode(), ex.getApiResponse().getContent());
-
-            throw new RuntimeException("El pago fue rechazado por la procesadora. Verifique los datos de su tarjeta.");
-
-        } catch (MPException ex) {
-            log.error("Error de conexión con Mercado Pago: {}", ex.getMessage());
-            throw new RuntimeException("Hubo un problema de comunicación con el banco. Intente nuevamente.");
-
-        } catch (Exception e) {
-            log.error("Error interno inesperado en PaymentService: ", e);
-            throw new RuntimeException("Ocurrió un error interno al procesar el pago.");
-        }
-    }
-}
\ No newline at end of file
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.exception.PaymentGatewayUnavailableException;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Punto único de salida hacia la procesadora. Cada llamada corre en un hilo virtual propio dentro de un
+ * bulkhead (semáforo con tope de llamadas simultáneas), con plazo total y detrás del circuit breaker:
+ * si la procesadora se pone lenta se rechaza rápido en lugar de acumular hilos esperando.
+ * La latencia queda en payments.gateway por operación y resultado.
+ */
+@Service
+public class PaymentService {
+
+    private final PaymentGatewayClient gatewayClient;
+    private final PaymentCircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("payment-gateway-", 0).factory());
+
+    // Cuánto espera una llamada por un lugar en el bulkhead antes de rendirse
+    @Value("${payments.gateway.bulkhead.max-wait:200ms}")
+    private Duration maxWait;
+
+    // Plazo total de la llamada (debe ser mayor que connect + read timeout del cliente HTTP)
+    @Value("${payments.gateway.call-timeout:25s}")
+    private Duration callTimeout;
+
+    public PaymentService(PaymentGatewayClient gatewayClient,
+                          PaymentCircuitBreaker circuitBreaker,
+                          MeterRegistry meterRegistry,
+                          @Value("${payments.gateway.bulkhead.max-concurrent:20}") int maxConcurrent) {
+        this.gatewayClient = gatewayClient;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Con la misma clave de idempotencia la procesadora devuelve el pago ya creado en lugar de cobrar de nuevo.
+     * Sin checkoutKey (clientes que no envían checkoutId) la clave es la referencia del intento:
+     * única por intento, y estable si el reconciliador o un reintento vuelven sobre él.
+     */
+    public GatewayPayment processPayment(PaymentRequest request, String checkoutKey, String externalReference) {
+        String idempotencyKey = checkoutKey != null ? checkoutKey : externalReference;
+        return llamar("create", () -> gatewayClient.create(request, idempotencyKey, externalReference), GatewayPayment::status);
+    }
+
+    public Optional<GatewayPayment> findByExternalReference(String externalReference) {
+        return llamar("search", () -> gatewayClient.findByExternalReference(externalReference), PaymentService::resultadoBusqueda);
+    }
+
+    public Optional<GatewayPayment> findById(Long paymentId) {
+        return llamar("get", () -> gatewayClient.findById(paymentId), PaymentService::resultadoBusqueda);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T llamar(String operacion, Supplier<T> llamada, Function<T, String> resultado) {
+        if (!circuitBreaker.permitir()) {
+            registrar(operacion, "circuit_open", 0);
+            throw new PaymentGatewayUnavailableException("El servicio de pagos no está disponible en este momento. Intenta nuevamente en unos minutos.");
+        }
+
+        long inicio = System.nanoTime();
+        boolean conPermiso;
+        try {
+            conPermiso = bulkhead.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.liberar();
+            throw new PaymentGatewayUnavailableException("Se interrumpió la llamada a la procesadora de pagos.", e);
+        }
+        if (!conPermiso) {
+            // Saturación local, no falla de la procesadora: no cuenta para el circuito
+            circuitBreaker.liberar();
+            registrar(operacion, "bulkhead_full", System.nanoTime() - inicio);
+            throw new PaymentGatewayUnavailableException("Hay demasiados pagos en curso. Intenta nuevamente en unos segundos.");
+        }
+
+        // El permiso lo suelta la llamada al terminar, no quien espera: si vence el plazo, la llamada
+        // bloqueante del SDK sigue abierta contra la procesadora y tiene que seguir contando.
+        // execute y no submit: una tarea cancelada antes de arrancar nunca devolvería el permiso
+        CompletableFuture<T> futuro = new CompletableFuture<>();
+        AtomicReference<Thread> hilo = new AtomicReference<>();
+        try {
+            executor.execute(() -> {
+                hilo.set(Thread.currentThread());
+                T valor = null;
+                Throwable error = null;
+                try {
+                    valor = llamada.get();
+                } catch (Throwable t) {
+                    error = t;
+                } finally {
+                    hilo.set(null);
+                    // Antes de completar: quien recibe el resultado ya encuentra el lugar libre
+                    bulkhead.release();
+                }
+                if (error != null) futuro.completeExceptionally(error);
+                else futuro.complete(valor);
+            });
+        } catch (RejectedExecutionException e) {
+            bulkhead.release();
+            circuitBreaker.liberar();
+            throw new PaymentGatewayUnavailableException("El servicio de pagos se está deteniendo.", e);
+        }
+
+        try {
+            T valor = futuro.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            circuitBreaker.exito();
+            registrar(operacion, resultado.apply(valor), System.nanoTime() - inicio);
+            return valor;
+
+        } catch (TimeoutException e) {
+            // Se interrumpe lo que se pueda; el permiso sigue tomado hasta que la llamada termine de verdad
+            Thread enCurso = hilo.get();
+            if (enCurso != null) enCurso.interrupt();
+            circuitBreaker.fallo();
+            registrar(operacion, "timeout", System.nanoTime() - inicio);
+            throw new PaymentGatewayUnavailableException("La procesadora de pagos no respondió a tiempo.", e);
+
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            // Datos de tarjeta inválidos y similares: la procesadora respondió bien
+            if (causa instanceof IllegalArgumentException) {
+                circuitBreaker.exito();
+                registrar(operacion, "client_error", System.nanoTime() - inicio);
+            } else {
+                circuitBreaker.fallo();
+                registrar(operacion, "error", System.nanoTime() - inicio);
+            }
+            if (causa instanceof RuntimeException runtime) throw runtime;
+            throw new PaymentGatewayUnavailableException("Error al comunicarse con la procesadora de pagos.", causa);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.liberar();
+            throw new PaymentGatewayUnavailableException("Se interrumpió la llamada a la procesadora de pagos.", e);
+        }
+    }
+
+    private void registrar(String operacion, String resultado, long nanos) {
+        Timer.builder("payments.gateway")
+                .tag("operacion", operacion)
+                .tag("resultado", resultado != null ? resultado : "unknown")
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String resultadoBusqueda(Optional<GatewayPayment> pago) {
+        return pago.map(GatewayPayment::status).orElse("not_found");
+    }
+}
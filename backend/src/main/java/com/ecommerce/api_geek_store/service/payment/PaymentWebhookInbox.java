@@ -0,0 +1,160 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entrada de las notificaciones de pago. El webhook solo filtra repetidas (LRU en memoria) y encola:
+ * un hilo propio vuelca la cola a payment_notifications por lotes (INSERT ... ON CONFLICT DO NOTHING).
+ * Si la cola está llena la notificación se escribe en el momento, así una ráfaga se frena pero no se pierde.
+ * Lo que quede en la cola si el proceso muere sin apagarse se pierde como notificación: el webhook ya
+ * respondió 200 y Mercado Pago no la reenvía. Esos pagos los recupera solo PaymentReconciler,
+ * que consulta a la procesadora por los intentos que siguen sin resolver.
+ */
+@Component
+public class PaymentWebhookInbox {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookInbox.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO payment_notifications (notification_id, payment_id, estado, intentos, proximo_intento, recibido_en) " +
+            "VALUES (?, ?, 'PENDIENTE', 0, ?, ?) ON CONFLICT (notification_id) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<Notificacion> cola;
+    private final Set<String> vistas;
+    private final Counter aceptadas;
+    private final Counter duplicadas;
+
+    private volatile boolean activo = true;
+    private Thread escritor;
+    // Solo lo toca el hilo escritor; shutdown() lo lee después del join
+    private final List<Notificacion> enVuelo = new ArrayList<>();
+
+    @Value("${payments.webhook.inbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${payments.webhook.inbox.flush-interval-ms:50}")
+    private long flushIntervalMs;
+
+    public PaymentWebhookInbox(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${payments.webhook.queue-capacity:10000}") int capacidad,
+                               @Value("${payments.webhook.dedupe.max-entries:50000}") int maxVistas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cola = new ArrayBlockingQueue<>(capacidad);
+
+        // LRU por orden de acceso: una id repetida vuelve al final y sobrevive más
+        this.vistas = Collections.synchronizedSet(Collections.newSetFromMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxVistas;
+            }
+        }));
+
+        Gauge.builder("payments.webhook.queue.size", cola, BlockingQueue::size).register(meterRegistry);
+        this.aceptadas = meterRegistry.counter("payments.webhook.notifications", "resultado", "aceptada");
+        this.duplicadas = meterRegistry.counter("payments.webhook.notifications", "resultado", "duplicada");
+    }
+
+    public record Notificacion(String notificationId, Long paymentId, LocalDateTime recibidoEn) {}
+
+    @PostConstruct
+    public void start() {
+        escritor = new Thread(this::volcar, "payment-webhook-inbox");
+        escritor.setDaemon(true);
+        escritor.start();
+    }
+
+    /**
+     * Devuelve false si la notificación ya se había recibido. Sin id (IPN) no se filtra: cada una se encola
+     * con una id propia y el worker vuelve a consultar el pago, lo que no tiene efecto si ya se resolvió.
+     */
+    public boolean recibir(String notificationId, Long paymentId) {
+        boolean conId = notificationId != null;
+        String id = conId ? notificationId : "ipn:" + paymentId + ":" + UUID.randomUUID();
+        if (conId && !vistas.add(id)) {
+            duplicadas.increment();
+            return false;
+        }
+
+        Notificacion notificacion = new Notificacion(id, paymentId, LocalDateTime.now());
+        if (!cola.offer(notificacion)) {
+            log.warn("Cola de notificaciones llena: se escribe {} directamente", id);
+            try {
+                insertar(List.of(notificacion));
+            } catch (RuntimeException e) {
+                // Que Mercado Pago la reenvíe: sin fila en la base no hay que recordarla como vista
+                if (conId) vistas.remove(id);
+                throw e;
+            }
+        }
+        aceptadas.increment();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        activo = false;
+        escritor.interrupt();
+        escritor.join(TimeUnit.SECONDS.toMillis(10));
+
+        List<Notificacion> resto = new ArrayList<>(enVuelo);
+        cola.drainTo(resto);
+        if (!resto.isEmpty()) {
+            insertar(resto);
+            log.info("Inbox de notificaciones: {} pendientes guardadas al apagar", resto.size());
+        }
+    }
+
+    private void volcar() {
+        List<Notificacion> lote = enVuelo;
+        while (activo) {
+            try {
+                if (lote.isEmpty()) {
+                    Notificacion primera = cola.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                    if (primera == null) continue;
+                    lote.add(primera);
+                    cola.drainTo(lote, batchSize - 1);
+                }
+                insertar(lote);
+                lote.clear();
+            } catch (InterruptedException e) {
+                break;
+            } catch (RuntimeException e) {
+                // Se conserva el lote y se reintenta: la base puede estar momentáneamente caída
+                log.error("No se pudo guardar un lote de {} notificaciones de pago: {}", lote.size(), e.getMessage());
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private void insertar(List<Notificacion> lote) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, lote, lote.size(), (ps, n) -> {
+            Timestamp recibido = Timestamp.valueOf(n.recibidoEn());
+            ps.setString(1, n.notificationId());
+            ps.setLong(2, n.paymentId());
+            ps.setTimestamp(3, recibido);
+            ps.setTimestamp(4, recibido);
+        });
+    }
+}
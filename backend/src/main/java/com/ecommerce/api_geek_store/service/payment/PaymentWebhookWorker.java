@@ -0,0 +1,184 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.domain.model.EstadoNotificacion;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import com.ecommerce.api_geek_store.domain.model.PaymentNotification;
+import com.ecommerce.api_geek_store.domain.repository.PaymentNotificationRepository;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Procesa payment_notifications: reclama lotes con SKIP LOCKED y un turno (como el outbox de correos),
+ * consulta cada pago distinto del lote una sola vez y le aplica el estado a su intento,
+ * lo que registra la orden si quedó aprobado. Los pagos se resuelven en paralelo en un pool propio.
+ */
+@Component
+public class PaymentWebhookWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PaymentNotificationRepository notificationRepository;
+    private final PaymentService paymentService;
+    private final PaymentIntentService paymentIntentService;
+    private final PaymentReconciler paymentReconciler;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+
+    @Value("${payments.webhook.worker.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payments.webhook.worker.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payments.webhook.worker.lease:2m}")
+    private Duration lease;
+
+    @Value("${payments.webhook.worker.backoff.initial:10s}")
+    private Duration backoffInitial;
+
+    @Value("${payments.webhook.worker.backoff.max:30m}")
+    private Duration backoffMax;
+
+    public PaymentWebhookWorker(PaymentNotificationRepository notificationRepository,
+                                PaymentService paymentService,
+                                PaymentIntentService paymentIntentService,
+                                PaymentReconciler paymentReconciler,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${payments.webhook.worker.concurrency:4}") int concurrency) {
+        this.notificationRepository = notificationRepository;
+        this.paymentService = paymentService;
+        this.paymentIntentService = paymentIntentService;
+        this.paymentReconciler = paymentReconciler;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        AtomicInteger hilos = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, r -> {
+            Thread thread = new Thread(r, "payment-webhook-" + hilos.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${payments.webhook.worker.poll-interval-ms:500}")
+    public void procesar() {
+        List<PaymentNotification> lote = reclamar();
+        if (lote.isEmpty()) return;
+
+        // Varias notificaciones del mismo pago (created, updated...) se resuelven con una sola consulta
+        Set<Long> pagos = lote.stream().map(PaymentNotification::getPaymentId).collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<Long, Future<String>> resoluciones = new LinkedHashMap<>();
+        for (Long paymentId : pagos) {
+            resoluciones.put(paymentId, executor.submit(() -> resolver(paymentId)));
+        }
+
+        Map<Long, String> errores = new HashMap<>();
+        for (Map.Entry<Long, Future<String>> resolucion : resoluciones.entrySet()) {
+            try {
+                errores.put(resolucion.getKey(), resolucion.getValue().get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                // resolver() no lanza; si pasara, el turno vence y se reintenta
+                log.error("Resolución del pago {} abortada", resolucion.getKey(), e.getCause());
+            }
+        }
+
+        registrar(lote, errores);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private List<PaymentNotification> reclamar() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            List<PaymentNotification> lote = notificationRepository.findDueForUpdate(
+                    EstadoNotificacion.PENDIENTE, ahora, PageRequest.of(0, batchSize));
+            for (PaymentNotification notificacion : lote) {
+                notificacion.setIntentos(notificacion.getIntentos() + 1);
+                notificacion.setProximoIntento(ahora.plus(lease));
+            }
+            return lote;
+        });
+    }
+
+    // Devuelve el error, o null si el pago quedó resuelto (o no hay nada que hacer con él)
+    private String resolver(Long paymentId) {
+        try {
+            Optional<GatewayPayment> pago = paymentService.findById(paymentId);
+            if (pago.isEmpty()) {
+                return "Pago " + paymentId + " no encontrado en la procesadora";
+            }
+
+            GatewayPayment payment = pago.get();
+            Optional<PaymentIntent> intent = paymentIntentService.buscarPorReferencia(payment.externalReference());
+            if (intent.isEmpty()) {
+                log.warn("Notificación del pago {} ({}) sin intento asociado (referencia: {}), se ignora",
+                        paymentId, payment.status(), payment.externalReference());
+                return null;
+            }
+
+            // Un pago aún en proceso no es error: llegará otra notificación cuando cambie de estado
+            paymentReconciler.conciliar(intent.get(), payment);
+            return null;
+
+        } catch (Exception e) {
+            String error = e.getClass().getSimpleName() + ": " + e.getMessage();
+            return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        }
+    }
+
+    private void registrar(List<PaymentNotification> lote, Map<Long, String> errores) {
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            List<Long> ids = lote.stream().map(PaymentNotification::getId).toList();
+            for (PaymentNotification notificacion : notificationRepository.findAllById(ids)) {
+                if (!errores.containsKey(notificacion.getPaymentId())) continue;
+
+                String error = errores.get(notificacion.getPaymentId());
+                if (error == null) {
+                    notificacion.setEstado(EstadoNotificacion.PROCESADA);
+                    notificacion.setProcesadoEn(ahora);
+                    notificacion.setUltimoError(null);
+                } else if (notificacion.getIntentos() >= maxAttempts) {
+                    notificacion.setEstado(EstadoNotificacion.FALLIDA);
+                    notificacion.setUltimoError(error);
+                    log.error("Notificación {} del pago {} descartada tras {} intentos: {}",
+                            notificacion.getNotificationId(), notificacion.getPaymentId(), notificacion.getIntentos(), error);
+                } else {
+                    notificacion.setProximoIntento(ahora.plus(backoff(notificacion.getIntentos())));
+                    notificacion.setUltimoError(error);
+                    log.warn("Fallo al procesar la notificación {} del pago {} (intento {}), se reintentará: {}",
+                            notificacion.getNotificationId(), notificacion.getPaymentId(), notificacion.getIntentos(), error);
+                }
+            }
+        });
+    }
+
+    // Exponencial desde backoff.initial, con tope en backoff.max
+    private Duration backoff(int intentos) {
+        Duration espera = backoffInitial.multipliedBy(1L << Math.min(intentos - 1, 20));
+        return espera.compareTo(backoffMax) > 0 ? backoffMax : espera;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.exception.PaymentGatewayUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Procesadora local para correr el checkout y la reconciliación sin Mercado Pago (payments.gateway=stub).
+ * Aprueba todo salvo tokens que empiecen con "reject" (rechazo) o "pending" (queda en proceso).
+ * Respeta la idempotencia: la misma clave devuelve el mismo pago.
+ * Para pruebas de carga se le puede agregar latencia y una tasa de fallos (payments.gateway.stub.*).
+ * Un fallo simulado ocurre antes de cobrar; la latencia, después: un timeout del lado de la API deja
+ * un cobro real que solo recuperan el reconciliador o el webhook, como con la procesadora de verdad.
+ */
+@Component
+@ConditionalOnProperty(name = "payments.gateway", havingValue = "stub")
+public class StubPaymentGatewayClient implements PaymentGatewayClient {
+
+    private static final Logger log = LoggerFactory.getLogger(StubPaymentGatewayClient.class);
+
+    private final AtomicLong ids = new AtomicLong(System.currentTimeMillis());
+    private final Map<String, GatewayPayment> porClave = new ConcurrentHashMap<>();
+    private final Map<String, GatewayPayment> porReferencia = new ConcurrentHashMap<>();
+    private final Map<Long, GatewayPayment> porId = new ConcurrentHashMap<>();
+
+    @Value("${payments.gateway.stub.latency-ms:0}")
+    private long latencyMs;
+
+    @Value("${payments.gateway.stub.latency-jitter-ms:0}")
+    private long latencyJitterMs;
+
+    // Porcentaje de llamadas que fallan como si la procesadora estuviera caída
+    @Value("${payments.gateway.stub.failure-rate:0}")
+    private int failureRate;
+
+    @Override
+    public GatewayPayment create(PaymentRequest request, String idempotencyKey, String externalReference) {
+        simularFallo();
+        GatewayPayment payment = porClave.computeIfAbsent(idempotencyKey, key -> {
+            String token = request.token() != null ? request.token().toLowerCase(Locale.ROOT) : "";
+            if (token.startsWith("reject")) return new GatewayPayment(ids.incrementAndGet(), "rejected", "cc_rejected_other_reason", externalReference);
+            if (token.startsWith("pending")) return new GatewayPayment(ids.incrementAndGet(), "in_process", "pending_review_manual", externalReference);
+            return new GatewayPayment(ids.incrementAndGet(), "approved", "accredited", externalReference);
+        });
+        porReferencia.put(externalReference, payment);
+        porId.put(payment.id(), payment);
+
+        log.warn("Pago SIMULADO {} para {} por {}: {}", payment.id(), request.payerEmail(), request.transactionAmount(), payment.status());
+        simularLatencia();
+        return payment;
+    }
+
+    /**
+     * Cierra un pago que quedó en proceso, como la revisión manual de Mercado Pago.
+     */
+    public GatewayPayment resolver(Long paymentId, boolean aprobado) {
+        GatewayPayment actual = porId.get(paymentId);
+        if (actual == null) {
+            throw new IllegalArgumentException("Pago simulado no encontrado: " + paymentId);
+        }
+        GatewayPayment resuelto = aprobado
+                ? new GatewayPayment(paymentId, "approved", "accredited", actual.externalReference())
+                : new GatewayPayment(paymentId, "rejected", "cc_rejected_other_reason", actual.externalReference());
+        porId.put(paymentId, resuelto);
+        porReferencia.put(actual.externalReference(), resuelto);
+        porClave.replaceAll((clave, pago) -> pago.id().equals(paymentId) ? resuelto : pago);
+        return resuelto;
+    }
+
+    @Override
+    public Optional<GatewayPayment> findByExternalReference(String externalReference) {
+        simularFallo();
+        simularLatencia();
+        return Optional.ofNullable(porReferencia.get(externalReference));
+    }
+
+    @Override
+    public Optional<GatewayPayment> findById(Long paymentId) {
+        simularFallo();
+        simularLatencia();
+        return Optional.ofNullable(porId.get(paymentId));
+    }
+
+    private void simularLatencia() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long espera = latencyMs + (latencyJitterMs > 0 ? random.nextLong(latencyJitterMs + 1) : 0);
+        if (espera > 0) {
+            try {
+                Thread.sleep(espera);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayUnavailableException("Llamada simulada interrumpida", e);
+            }
+        }
+    }
+
+    private void simularFallo() {
+        if (failureRate > 0 && ThreadLocalRandom.current().nextInt(100) < failureRate) {
+            throw new PaymentGatewayUnavailableException("Fallo simulado de la procesadora");
+        }
+    }
+}
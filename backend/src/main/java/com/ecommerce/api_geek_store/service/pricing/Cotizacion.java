@@ -0,0 +1,21 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Precio de un carrito en céntimos. El precio unitario ya tiene el descuento aplicado y redondeado,
+ * así cantidad × unitario suma exactamente al subtotal.
+ */
+public record Cotizacion(List<Linea> lineas, long subtotalCentimos, long envioCentimos, long totalCentimos) {
+
+    public record Linea(Long productId, Long variantId, int cantidad, long unitarioCentimos, long subtotalCentimos) {}
+
+    public BigDecimal total() {
+        return aSoles(totalCentimos);
+    }
+
+    public static BigDecimal aSoles(long centimos) {
+        return BigDecimal.valueOf(centimos, 2);
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import com.ecommerce.api_geek_store.api.dto.OrderItemRequest;
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+
+import java.util.List;
+
+public record LineaCarrito(Long productId, Long variantId, int cantidad) {
+
+    public static List<LineaCarrito> dePago(List<PaymentRequest.PaymentItem> items) {
+        if (items == null) return List.of();
+        return items.stream()
+                .map(item -> new LineaCarrito(item.productId(), item.variantId(), item.cantidad() != null ? item.cantidad() : 0))
+                .toList();
+    }
+
+    public static List<LineaCarrito> deOrden(List<OrderItemRequest> items) {
+        if (items == null) return List.of();
+        return items.stream()
+                .map(item -> new LineaCarrito(item.productId(), item.variantId(), item.cantidad() != null ? item.cantidad() : 0))
+                .toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Foto inmutable de los precios del catálogo, en céntimos.
+ * Se reemplaza entera al refrescar: quien la tenga en la mano cotiza siempre contra un estado coherente.
+ */
+public final class PriceSnapshot {
+
+    public record Precio(long centimos, int descuento) {
+
+        // Se redondea el monto del descuento (half-up al céntimo) y se resta, igual que el precio que se muestra
+        long unitario() {
+            if (descuento <= 0) return centimos;
+            return centimos - (centimos * descuento + 50) / 100;
+        }
+    }
+
+    private final Map<Long, Precio> precios;
+    private final Instant tomadaEn;
+
+    public PriceSnapshot(Map<Long, Precio> precios, Instant tomadaEn) {
+        this.precios = Map.copyOf(precios);
+        this.tomadaEn = tomadaEn;
+    }
+
+    public static long centimos(BigDecimal monto) {
+        return monto.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static Precio precio(BigDecimal precio, Integer descuento) {
+        int porcentaje = descuento != null ? Math.max(0, Math.min(100, descuento)) : 0;
+        return new Precio(centimos(precio), porcentaje);
+    }
+
+    /**
+     * Precio final de catálogo en soles: el mismo redondeo con el que se cotiza y se cobra.
+     */
+    public static BigDecimal precioFinal(BigDecimal precio, Integer descuento) {
+        if (precio == null) return null;
+        Precio calculado = precio(precio, descuento);
+        return calculado.descuento() > 0 ? Cotizacion.aSoles(calculado.unitario()) : precio;
+    }
+
+    public boolean contiene(Long productId) {
+        return precios.containsKey(productId);
+    }
+
+    Map<Long, Precio> precios() {
+        return precios;
+    }
+
+    public Instant tomadaEn() {
+        return tomadaEn;
+    }
+
+    public int size() {
+        return precios.size();
+    }
+
+    // El envío depende del destino, que no es parte de la foto: se calcula con el total de unidades
+    public Cotizacion cotizar(List<LineaCarrito> lineas, LongUnaryOperator envioPorUnidades) {
+        List<Cotizacion.Linea> cotizadas = new ArrayList<>(lineas.size());
+        long subtotal = 0;
+        long unidades = 0;
+
+        for (LineaCarrito linea : lineas) {
+            if (linea.cantidad() <= 0) {
+                throw new IllegalArgumentException("Cantidad inválida para el producto ID " + linea.productId());
+            }
+            Precio precio = precios.get(linea.productId());
+            if (precio == null) {
+                throw new IllegalArgumentException("Producto ID " + linea.productId() + " no encontrado");
+            }
+
+            long unitario = precio.unitario();
+            long importe = Math.multiplyExact(unitario, (long) linea.cantidad());
+            cotizadas.add(new Cotizacion.Linea(linea.productId(), linea.variantId(), linea.cantidad(), unitario, importe));
+            subtotal = Math.addExact(subtotal, importe);
+            unidades += linea.cantidad();
+        }
+
+        long envio = envioPorUnidades.applyAsLong(unidades);
+        return new Cotizacion(List.copyOf(cotizadas), subtotal, envio, Math.addExact(subtotal, envio));
+    }
+}
@@ -0,0 +1,227 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import com.ecommerce.api_geek_store.domain.repository.PriceView;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.service.shipping.Destino;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Precio de carritos del lado del servidor, en céntimos (long) sobre una foto inmutable del catálogo.
+ * La foto se refresca completa cada cierto tiempo (cambios hechos en otros nodos); un cambio de producto
+ * en este nodo reemplaza solo su entrada. Un producto que todavía no está en la foto se carga puntualmente,
+ * y los ids que no existen se recuerdan hasta el siguiente refresco para no volver a la base por ellos.
+ * El envío sale de la tabla de tarifas según el destino y el total de unidades.
+ * Cada cotización sale firmada (HMAC): el checkout la acepta tal cual mientras no venza,
+ * aunque el precio cambie entre que el cliente la vio y paga.
+ */
+@Component
+public class PricingEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(PricingEngine.class);
+
+    private static final Base64.Encoder B64 = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder B64_DECODER = Base64.getUrlDecoder();
+
+    private final ProductRepository productRepository;
+    private final ShippingRateService shippingRateService;
+    private final SecretKeySpec clave;
+    private final Duration vigencia;
+
+    private volatile PriceSnapshot snapshot;
+    // Serializa los reemplazos de la foto; ReentrantLock y no synchronized porque se toma desde hilos virtuales
+    private final ReentrantLock reemplazo = new ReentrantLock();
+    // Ids consultados que no existen; acotado porque POST /payments/quote es anónimo
+    private final Cache<Long, Boolean> inexistentes;
+
+    public PricingEngine(ProductRepository productRepository,
+                         ShippingRateService shippingRateService,
+                         @Value("${pricing.quote.secret:}") String secreto,
+                         @Value("${pricing.quote.ttl:15m}") Duration vigencia,
+                         @Value("${pricing.snapshot.missing-max-entries:10000}") long maxInexistentes) {
+        this.productRepository = productRepository;
+        this.shippingRateService = shippingRateService;
+        this.vigencia = vigencia;
+        this.snapshot = new PriceSnapshot(Map.of(), Instant.EPOCH);
+        this.inexistentes = Caffeine.newBuilder().maximumSize(maxInexistentes).build();
+
+        byte[] bytes;
+        if (secreto.isBlank()) {
+            // Sin secreto compartido cada nodo firma con su propia clave: una cotización de otro nodo
+            // no valida y el checkout recalcula el precio
+            bytes = new byte[32];
+            new SecureRandom().nextBytes(bytes);
+            log.warn("pricing.quote.secret no configurado: las cotizaciones solo valen en este nodo");
+        } else {
+            bytes = secreto.getBytes(StandardCharsets.UTF_8);
+        }
+        this.clave = new SecretKeySpec(bytes, "HmacSHA256");
+    }
+
+    public record CotizacionFirmada(Cotizacion cotizacion, String firma, Instant expiraEn) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${pricing.snapshot.refresh-ms:30000}", initialDelayString = "${pricing.snapshot.refresh-ms:30000}")
+    public void refrescar() {
+        long inicio = System.nanoTime();
+        reemplazo.lock();
+        try {
+            Map<Long, PriceSnapshot.Precio> precios = new HashMap<>();
+            for (PriceView view : productRepository.findAllPrices()) {
+                if (view.getPrecio() != null) precios.put(view.getId(), PriceSnapshot.precio(view.getPrecio(), view.getDescuento()));
+            }
+            snapshot = new PriceSnapshot(precios, Instant.now());
+            // Un producto creado en otro nodo aparece en la foto nueva: lo recordado como inexistente ya no vale
+            inexistentes.invalidateAll();
+            log.debug("Foto de precios refrescada: {} productos en {} ms", precios.size(), (System.nanoTime() - inicio) / 1_000_000);
+        } finally {
+            reemplazo.unlock();
+        }
+    }
+
+    /**
+     * Producto creado o editado en este nodo: tras el commit se reemplaza solo su entrada de la foto.
+     */
+    public void actualizarAfterCommit(Long productId, BigDecimal precio, Integer descuento) {
+        PriceSnapshot.Precio nuevo = precio != null ? PriceSnapshot.precio(precio, descuento) : null;
+        AfterCommit.run(() -> reemplazar(productId, nuevo));
+    }
+
+    public void quitarAfterCommit(Long productId) {
+        AfterCommit.run(() -> reemplazar(productId, null));
+    }
+
+    private void reemplazar(Long productId, PriceSnapshot.Precio precio) {
+        reemplazo.lock();
+        try {
+            PriceSnapshot actual = snapshot;
+            Map<Long, PriceSnapshot.Precio> precios = new HashMap<>(actual.precios());
+            if (precio != null) {
+                precios.put(productId, precio);
+            } else {
+                precios.remove(productId);
+            }
+            snapshot = new PriceSnapshot(precios, actual.tomadaEn());
+            inexistentes.invalidate(productId);
+        } finally {
+            reemplazo.unlock();
+        }
+    }
+
+    public Cotizacion cotizar(List<LineaCarrito> lineas, Destino destino) {
+        final PriceSnapshot base = snapshot;
+        Set<Long> faltantes = lineas.stream()
+                .map(LineaCarrito::productId)
+                .filter(id -> id != null && !base.contiene(id) && inexistentes.getIfPresent(id) == null)
+                .collect(Collectors.toSet());
+        PriceSnapshot actual = faltantes.isEmpty() ? base : completar(faltantes);
+        return actual.cotizar(lineas, unidades -> shippingRateService.envioCentimos(destino, unidades));
+    }
+
+    public CotizacionFirmada cotizarFirmado(List<LineaCarrito> lineas, Destino destino) {
+        Cotizacion cotizacion = cotizar(lineas, destino);
+        Instant expiraEn = Instant.now().plus(vigencia);
+        String contenido = expiraEn.getEpochSecond() + "|" + cotizacion.totalCentimos() + "|" + canonico(lineas, destino);
+        String firma = B64.encodeToString(contenido.getBytes(StandardCharsets.UTF_8)) + "." + B64.encodeToString(hmac(contenido));
+        return new CotizacionFirmada(cotizacion, firma, expiraEn);
+    }
+
+    /**
+     * Total en céntimos que el checkout debe cobrar: el de la cotización firmada si es válida,
+     * vigente y corresponde a estas mismas líneas y destino; si no, el precio actual.
+     */
+    public long totalEsperado(List<LineaCarrito> lineas, Destino destino, String firma) {
+        return totalFirmado(lineas, destino, firma).orElseGet(() -> cotizar(lineas, destino).totalCentimos());
+    }
+
+    private OptionalLong totalFirmado(List<LineaCarrito> lineas, Destino destino, String firma) {
+        if (firma == null || firma.isBlank()) return OptionalLong.empty();
+
+        int punto = firma.indexOf('.');
+        if (punto <= 0) return OptionalLong.empty();
+        try {
+            byte[] contenido = B64_DECODER.decode(firma.substring(0, punto));
+            byte[] recibida = B64_DECODER.decode(firma.substring(punto + 1));
+            String texto = new String(contenido, StandardCharsets.UTF_8);
+            if (!MessageDigest.isEqual(hmac(texto), recibida)) return OptionalLong.empty();
+
+            String[] partes = texto.split("\\|", 3);
+            if (partes.length != 3) return OptionalLong.empty();
+            if (Instant.ofEpochSecond(Long.parseLong(partes[0])).isBefore(Instant.now())) return OptionalLong.empty();
+            if (!partes[2].equals(canonico(lineas, destino))) return OptionalLong.empty();
+            return OptionalLong.of(Long.parseLong(partes[1]));
+
+        } catch (IllegalArgumentException e) {
+            // Base64 o números mal formados (NumberFormatException es IllegalArgumentException)
+            return OptionalLong.empty();
+        }
+    }
+
+    // La consulta va fuera del lock: solo la mezcla en la foto se serializa
+    private PriceSnapshot completar(Set<Long> faltantes) {
+        Map<Long, PriceSnapshot.Precio> encontrados = new HashMap<>();
+        for (PriceView view : productRepository.findPricesByIdIn(faltantes)) {
+            if (view.getPrecio() != null) encontrados.put(view.getId(), PriceSnapshot.precio(view.getPrecio(), view.getDescuento()));
+        }
+
+        reemplazo.lock();
+        try {
+            PriceSnapshot actual = snapshot;
+            for (Long id : faltantes) {
+                if (!encontrados.containsKey(id) && !actual.contiene(id)) inexistentes.put(id, Boolean.TRUE);
+            }
+            // Lo que ya está en la foto (refresco o cambio posterior a la consulta) no se pisa
+            encontrados.keySet().removeIf(actual::contiene);
+            if (encontrados.isEmpty()) return actual;
+
+            Map<Long, PriceSnapshot.Precio> precios = new HashMap<>(actual.size() + encontrados.size());
+            precios.putAll(actual.precios());
+            precios.putAll(encontrados);
+            PriceSnapshot completada = new PriceSnapshot(precios, actual.tomadaEn());
+            snapshot = completada;
+            return completada;
+        } finally {
+            reemplazo.unlock();
+        }
+    }
+
+    // Mismas líneas en cualquier orden dan el mismo texto; el destino va al final porque cambia el envío
+    private static String canonico(List<LineaCarrito> lineas, Destino destino) {
+        return lineas.stream()
+                .map(l -> l.productId() + ":" + l.variantId() + ":" + l.cantidad())
+                .sorted()
+                .collect(Collectors.joining(",")) + "@" + destino;
+    }
+
+    private byte[] hmac(String contenido) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(clave);
+            return mac.doFinal(contenido.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 no disponible", e);
+        }
+    }
+}
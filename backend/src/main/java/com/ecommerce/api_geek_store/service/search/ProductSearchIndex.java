@@ -0,0 +1,326 @@
+package com.ecommerce.api_geek_store.service.search;
+
+import com.ecommerce.api_geek_store.domain.model.Genero;
+import com.ecommerce.api_geek_store.domain.model.Product;
+import com.ecommerce.api_geek_store.domain.repository.ProductFacetRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductFacetRepository.FacetCounts;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.service.cache.CatalogChanges;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria sobre nombre, descripción, marca y categoría.
+ * Las lecturas no bloquean; las escrituras (altas y ediciones del admin) se serializan.
+ * Cada nodo tiene su propio índice: los cambios hechos en este nodo entran al confirmar la transacción,
+ * los de otros nodos con la sincronización periódica (productos escritos desde la última pasada) y las bajas
+ * con el registro de {@link CatalogChanges}, donde cada baja deja el id del producto.
+ * Ordena con su propio comparador, que no es la collation de la base: un cursor generado aquí
+ * solo se continúa aquí (ver ProductServiceImpl.findAllByCursor).
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Set<String> SORTABLE = Set.of("nombre", "precio", "id");
+    // updated_at se fija antes del commit: la ventana se solapa para no perder transacciones largas
+    private static final Duration SOLAPE = Duration.ofMinutes(1);
+
+    private final ProductRepository productRepository;
+    private final CatalogChanges catalogChanges;
+
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Long, IndexedProduct> documents = new ConcurrentHashMap<>();
+    private volatile boolean ready = false;
+    private volatile LocalDateTime sincronizadoDesde;
+
+    @Value("${catalog.search.mode:INDEX}")
+    private SearchMode searchMode;
+
+    @Value("${catalog.search.index.batch-size:1000}")
+    private int batchSize;
+
+    public ProductSearchIndex(ProductRepository productRepository, CatalogChanges catalogChanges) {
+        this.productRepository = productRepository;
+        this.catalogChanges = catalogChanges;
+        catalogChanges.alCambiar(this::descartarBorrados);
+    }
+
+    public record IndexedProduct(
+            Long id,
+            String nombre,
+            BigDecimal precio,
+            Long categoryId,
+            Long brandId,
+            Genero genero,
+            LocalDateTime updatedAt,
+            Set<String> tokens
+    ) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (searchMode != SearchMode.INDEX) {
+            log.info("Índice de búsqueda deshabilitado (modo: {})", searchMode);
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        sincronizadoDesde = LocalDateTime.now();
+        Long afterId = 0L;
+        List<Product> batch;
+
+        do {
+            batch = productRepository.findBatchForIndex(afterId, PageRequest.of(0, batchSize));
+            for (Product product : batch) {
+                put(toDocument(product));
+                afterId = product.getId();
+            }
+        } while (batch.size() == batchSize);
+
+        ready = true;
+        log.info("Índice de búsqueda construido: {} productos, {} términos en {} ms",
+                documents.size(), postings.size(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Trae lo que otros nodos escribieron desde la última pasada. Por el solape puede volver a leer
+     * una fila que este nodo ya indexó con una versión más nueva tras su commit: esa no se pisa.
+     */
+    @Scheduled(fixedDelayString = "${catalog.search.index.refresh-ms:30000}", initialDelayString = "${catalog.search.index.refresh-ms:30000}")
+    public void sincronizar() {
+        if (!ready) return;
+
+        LocalDateTime desde = sincronizadoDesde.minus(SOLAPE);
+        sincronizadoDesde = LocalDateTime.now();
+        List<Product> cambiados = productRepository.findForIndexUpdatedAfter(desde);
+        cambiados.forEach(product -> putSiMasNuevo(toDocument(product)));
+
+        if (!cambiados.isEmpty()) {
+            log.debug("Índice de búsqueda sincronizado: {} productos actualizados", cambiados.size());
+        }
+    }
+
+    /**
+     * Recibe los productos cambiados que registró cualquier nodo (ventas y bajas) y saca del índice
+     * los que ya no existen. Solo consulta los ids de esa lectura que están indexados.
+     */
+    private void descartarBorrados(Set<Long> productIds) {
+        if (!ready) return;
+
+        List<Long> indexados = productIds.stream().filter(documents::containsKey).toList();
+        if (indexados.isEmpty()) return;
+
+        Set<Long> vigentes = new HashSet<>(productRepository.findIdsByIdIn(indexados));
+        List<Long> borrados = indexados.stream().filter(id -> !vigentes.contains(id)).toList();
+        borrados.forEach(this::remove);
+
+        if (!borrados.isEmpty()) {
+            log.debug("Índice de búsqueda sincronizado: {} productos eliminados", borrados.size());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean supports(Sort sort) {
+        return sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()));
+    }
+
+    /**
+     * Devuelve los ids que contienen todos los términos del keyword (por prefijo),
+     * aplicando los filtros y el orden pedido.
+     */
+    public List<Long> search(String keyword, Long categoryId, Long brandId, Genero genero, Sort sort) {
+        return matching(keyword, categoryId, brandId, genero)
+                .sorted(comparator(sort))
+                .map(IndexedProduct::id)
+                .toList();
+    }
+
+    /**
+     * Variante keyset de {@link #search}: orden (nombre, id) y solo lo posterior al cursor.
+     */
+    public List<Long> searchAfter(String keyword, Long categoryId, Long brandId, Genero genero,
+                                  String afterNombre, Long afterId, int limit) {
+        Comparator<IndexedProduct> orden = comparator(Sort.by("nombre"));
+        IndexedProduct cursor = afterId != null
+                ? new IndexedProduct(afterId, afterNombre, null, null, null, null, null, Set.of())
+                : null;
+
+        return matching(keyword, categoryId, brandId, genero)
+                .filter(doc -> cursor == null || orden.compare(doc, cursor) > 0)
+                .sorted(orden)
+                .limit(limit)
+                .map(IndexedProduct::id)
+                .toList();
+    }
+
+    public FacetCounts facets(String keyword, Long categoryId, Long brandId, Genero genero) {
+        FacetCounts counts = FacetCounts.empty();
+
+        matching(keyword, categoryId, brandId, genero).forEach(doc -> {
+            if (doc.categoryId() != null) counts.categories().merge(doc.categoryId(), 1L, Long::sum);
+            if (doc.brandId() != null) counts.brands().merge(doc.brandId(), 1L, Long::sum);
+            if (doc.genero() != null) counts.generos().merge(doc.genero(), 1L, Long::sum);
+            counts.priceBuckets()[ProductFacetRepository.priceBucket(doc.precio())]++;
+        });
+
+        return counts;
+    }
+
+    private Stream<IndexedProduct> matching(String keyword, Long categoryId, Long brandId, Genero genero) {
+        List<String> terms = tokenize(keyword).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Stream.empty();
+        }
+
+        Set<Long> candidates = null;
+        for (String term : terms) {
+            Set<Long> matches = matchPrefix(term);
+            if (candidates == null) {
+                candidates = matches;
+            } else {
+                candidates.retainAll(matches);
+            }
+            if (candidates.isEmpty()) {
+                return Stream.empty();
+            }
+        }
+
+        return candidates.stream()
+                .map(documents::get)
+                .filter(Objects::nonNull)
+                .filter(doc -> categoryId == null || categoryId.equals(doc.categoryId()))
+                .filter(doc -> brandId == null || brandId.equals(doc.brandId()))
+                .filter(doc -> genero == null || genero == doc.genero());
+    }
+
+    public void indexAfterCommit(Product product) {
+        IndexedProduct doc = toDocument(product);
+        runAfterCommit(() -> put(doc));
+    }
+
+    /**
+     * Además de sacarlo de este índice, deja la baja en catalog_changes dentro de la transacción
+     * para que los demás nodos la vean.
+     */
+    public void removeAfterCommit(Long productId) {
+        catalogChanges.registrar(List.of(productId));
+        runAfterCommit(() -> remove(productId));
+    }
+
+    private Set<Long> matchPrefix(String term) {
+        Set<Long> ids = new HashSet<>();
+        postings.subMap(term, true, term + Character.MAX_VALUE, true)
+                .values()
+                .forEach(ids::addAll);
+        return ids;
+    }
+
+    private synchronized void put(IndexedProduct doc) {
+        removeTokens(documents.get(doc.id()));
+        documents.put(doc.id(), doc);
+        for (String token : doc.tokens()) {
+            postings.computeIfAbsent(token, k -> ConcurrentHashMap.newKeySet()).add(doc.id());
+        }
+    }
+
+    private synchronized void putSiMasNuevo(IndexedProduct doc) {
+        IndexedProduct actual = documents.get(doc.id());
+        if (actual != null && actual.updatedAt() != null && doc.updatedAt() != null
+                && doc.updatedAt().isBefore(actual.updatedAt())) {
+            return;
+        }
+        put(doc);
+    }
+
+    private synchronized void remove(Long productId) {
+        removeTokens(documents.remove(productId));
+    }
+
+    private void removeTokens(IndexedProduct previous) {
+        if (previous == null) return;
+        for (String token : previous.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(previous.id());
+                if (ids.isEmpty()) postings.remove(token);
+            }
+        }
+    }
+
+    private IndexedProduct toDocument(Product product) {
+        Set<String> tokens = new HashSet<>();
+        tokens.addAll(tokenize(product.getNombre()));
+        tokens.addAll(tokenize(product.getDescripcion()));
+        if (product.getBrand() != null) tokens.addAll(tokenize(product.getBrand().getNombre()));
+        if (product.getCategory() != null) tokens.addAll(tokenize(product.getCategory().getNombre()));
+
+        return new IndexedProduct(
+                product.getId(),
+                product.getNombre(),
+                product.getPrecio(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getBrand() != null ? product.getBrand().getId() : null,
+                product.getGenero(),
+                product.getUpdatedAt(),
+                Set.copyOf(tokens)
+        );
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return Collections.emptyList();
+
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        return Arrays.stream(SEPARATORS.split(folded))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private Comparator<IndexedProduct> comparator(Sort sort) {
+        Comparator<IndexedProduct> comparator = null;
+
+        for (Sort.Order order : sort) {
+            Comparator<IndexedProduct> next = switch (order.getProperty()) {
+                case "nombre" -> Comparator.comparing(IndexedProduct::nombre, String.CASE_INSENSITIVE_ORDER);
+                case "precio" -> Comparator.comparing(IndexedProduct::precio);
+                default -> Comparator.comparing(IndexedProduct::id);
+            };
+            if (order.isDescending()) next = next.reversed();
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+
+        Comparator<IndexedProduct> byId = Comparator.comparing(IndexedProduct::id);
+        return comparator == null ? byId : comparator.thenComparing(byId);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (searchMode != SearchMode.INDEX) return;
+        AfterCommit.run(action);
+    }
+}
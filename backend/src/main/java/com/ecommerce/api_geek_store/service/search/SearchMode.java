@@ -0,0 +1,7 @@
+package com.ecommerce.api_geek_store.service.search;
+
+public enum SearchMode {
+    LIKE,
+    INDEX,
+    FULLTEXT
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.api_geek_store.service.shipping;
+
+import com.ecommerce.api_geek_store.api.dto.ShippingDestination;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Destino de un envío ya normalizado (sin tildes, mayúsculas, espacios simples), listo para buscarlo
+ * en la tabla de tarifas. "Lima", " lima " y "LIMA" caen en la misma fila; un nivel vacío queda en "".
+ */
+public record Destino(String departamento, String provincia, String distrito) {
+
+    public static final Destino NACIONAL = new Destino("", "", "");
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    public static Destino de(String departamento, String provincia, String distrito) {
+        return new Destino(normalizar(departamento), normalizar(provincia), normalizar(distrito));
+    }
+
+    public static Destino de(ShippingDestination destino) {
+        if (destino == null) return NACIONAL;
+        return de(destino.departamento(), destino.provincia(), destino.distrito());
+    }
+
+    static String normalizar(String valor) {
+        if (valor == null || valor.isBlank()) return "";
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(valor.trim(), Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinTildes).replaceAll(" ").toUpperCase(Locale.ROOT);
+    }
+
+    // Del más específico al más general: distrito, provincia, departamento, país
+    String[] claves() {
+        return new String[] {
+                ShippingRateTable.clave(departamento, provincia, distrito),
+                ShippingRateTable.clave(departamento, provincia, ""),
+                ShippingRateTable.clave(departamento, "", ""),
+                ShippingRateTable.clave("", "", "")
+        };
+    }
+
+    @Override
+    public String toString() {
+        return departamento + "/" + provincia + "/" + distrito;
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.api_geek_store.service.shipping;
+
+import com.ecommerce.api_geek_store.api.dto.ShippingRateRequest;
+import com.ecommerce.api_geek_store.api.dto.ShippingRateResponse;
+import com.ecommerce.api_geek_store.api.mapper.ShippingRateMapper;
+import com.ecommerce.api_geek_store.domain.model.ShippingRate;
+import com.ecommerce.api_geek_store.domain.repository.ShippingRateRepository;
+import com.ecommerce.api_geek_store.domain.repository.ShippingRateRepository.RatesVersion;
+import com.ecommerce.api_geek_store.service.pricing.PriceSnapshot;
+import com.ecommerce.api_geek_store.service.support.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tarifas de envío por departamento/provincia/distrito y banda de unidades.
+ * Las cotizaciones leen una foto inmutable en memoria; el admin reemplaza la tabla entera y la foto
+ * se recarga al confirmar. Los demás nodos comparan una huella barata de la tabla cada cierto tiempo
+ * y recargan solo si cambió, sin reiniciar.
+ */
+@Service
+public class ShippingRateService {
+
+    private static final Logger log = LoggerFactory.getLogger(ShippingRateService.class);
+
+    private final ShippingRateRepository shippingRateRepository;
+    private final ShippingRateMapper shippingRateMapper;
+    private final long porDefectoPorUnidadCentimos;
+
+    private volatile ShippingRateTable tabla;
+    private volatile String huella;
+    // ReentrantLock y no synchronized: se puede tomar desde hilos virtuales del checkout
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    public ShippingRateService(ShippingRateRepository shippingRateRepository,
+                               ShippingRateMapper shippingRateMapper,
+                               @Value("${pricing.shipping.per-unit:20.00}") BigDecimal porDefectoPorUnidad) {
+        this.shippingRateRepository = shippingRateRepository;
+        this.shippingRateMapper = shippingRateMapper;
+        this.porDefectoPorUnidadCentimos = PriceSnapshot.centimos(porDefectoPorUnidad);
+        this.tabla = ShippingRateTable.vacia(porDefectoPorUnidadCentimos);
+    }
+
+    public long envioCentimos(Destino destino, long unidades) {
+        return tabla.envioCentimos(destino, unidades);
+    }
+
+    public ShippingRateTable tabla() {
+        return tabla;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recargar() {
+        long inicio = System.nanoTime();
+        recarga.lock();
+        try {
+            // La huella se lee antes que las filas: un cambio concurrente fuerza otra recarga, nunca se pierde
+            String actual = huella(shippingRateRepository.version());
+            ShippingRateTable nueva = ShippingRateTable.de(shippingRateRepository.findAll(), porDefectoPorUnidadCentimos);
+            tabla = nueva;
+            huella = actual;
+            log.info("Tarifas de envío cargadas: {} filas, {} destinos en {} ms",
+                    nueva.filas(), nueva.destinos(), (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IllegalArgumentException e) {
+            // Filas cargadas por fuera del admin que no pasan la validación: se mantiene la foto anterior
+            log.error("Tarifas de envío inválidas en la base, se mantienen las anteriores: {}", e.getMessage());
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shipping.rates.refresh-ms:30000}", initialDelayString = "${shipping.rates.refresh-ms:30000}")
+    public void sincronizar() {
+        String actual = huella(shippingRateRepository.version());
+        if (!Objects.equals(actual, huella)) {
+            log.debug("Cambió la tabla de tarifas de envío ({} -> {}), recargando", huella, actual);
+            recargar();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShippingRateResponse> listar() {
+        return shippingRateRepository.findAllOrdenadas().stream()
+                .map(shippingRateMapper::toResponse)
+                .toList();
+    }
+
+    /**
+     * Reemplaza la tabla completa. Se valida armando la foto antes de tocar la base: si las filas
+     * son incoherentes no se borra nada y la foto vigente sigue sirviendo.
+     */
+    @Transactional
+    public List<ShippingRateResponse> reemplazar(List<ShippingRateRequest> requests) {
+        List<ShippingRate> nuevas = requests.stream().map(shippingRateMapper::toEntity).toList();
+        ShippingRateTable.de(nuevas, porDefectoPorUnidadCentimos);
+
+        shippingRateRepository.deleteAllInBatch();
+        List<ShippingRate> guardadas = shippingRateRepository.saveAll(nuevas);
+        log.info("Tabla de tarifas de envío reemplazada: {} filas", guardadas.size());
+
+        AfterCommit.run(this::recargar);
+        return guardadas.stream().map(shippingRateMapper::toResponse).toList();
+    }
+
+    private static String huella(RatesVersion version) {
+        LocalDateTime modificado = version.getModificado();
+        return version.getFilas() + "@" + (modificado != null ? modificado : "-");
+    }
+}
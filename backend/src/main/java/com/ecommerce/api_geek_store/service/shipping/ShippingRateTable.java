@@ -0,0 +1,118 @@
+package com.ecommerce.api_geek_store.service.shipping;
+
+import com.ecommerce.api_geek_store.domain.model.ShippingRate;
+import com.ecommerce.api_geek_store.service.pricing.PriceSnapshot;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Foto inmutable de las tarifas de envío, indexada por destino normalizado. Cotizar son a lo sumo
+ * cuatro búsquedas en un HashMap (distrito, provincia, departamento, país) y un recorrido por las
+ * pocas bandas de esa clave, sin tocar la base. Se reemplaza entera al recargar.
+ */
+public final class ShippingRateTable {
+
+    // Banda de unidades [desde, hasta] con costo base + porUnidad × unidades, en céntimos
+    record Banda(int desde, int hasta, long baseCentimos, long porUnidadCentimos) {
+
+        boolean cubre(long unidades) {
+            return unidades >= desde && unidades <= hasta;
+        }
+
+        long costo(long unidades) {
+            return Math.addExact(baseCentimos, Math.multiplyExact(porUnidadCentimos, unidades));
+        }
+    }
+
+    private final Map<String, Banda[]> bandas;
+    private final long porDefectoPorUnidadCentimos;
+    private final int filas;
+    private final Instant cargadaEn;
+
+    private ShippingRateTable(Map<String, Banda[]> bandas, long porDefectoPorUnidadCentimos, int filas, Instant cargadaEn) {
+        this.bandas = bandas;
+        this.porDefectoPorUnidadCentimos = porDefectoPorUnidadCentimos;
+        this.filas = filas;
+        this.cargadaEn = cargadaEn;
+    }
+
+    public static ShippingRateTable vacia(long porDefectoPorUnidadCentimos) {
+        return new ShippingRateTable(Map.of(), porDefectoPorUnidadCentimos, 0, Instant.EPOCH);
+    }
+
+    /**
+     * Arma la tabla desde las filas persistidas. Rechaza filas incoherentes (distrito sin provincia,
+     * bandas invertidas o que se pisan dentro del mismo destino) con IllegalArgumentException.
+     */
+    public static ShippingRateTable de(Collection<ShippingRate> rates, long porDefectoPorUnidadCentimos) {
+        Map<String, List<Banda>> agrupadas = new HashMap<>();
+        for (ShippingRate rate : rates) {
+            Destino destino = Destino.de(rate.getDepartamento(), rate.getProvincia(), rate.getDistrito());
+            if (!destino.distrito().isEmpty() && destino.provincia().isEmpty()) {
+                throw new IllegalArgumentException("La tarifa del distrito " + rate.getDistrito() + " necesita provincia");
+            }
+            if (!destino.provincia().isEmpty() && destino.departamento().isEmpty()) {
+                throw new IllegalArgumentException("La tarifa de la provincia " + rate.getProvincia() + " necesita departamento");
+            }
+
+            int desde = rate.getUnidadesDesde();
+            int hasta = rate.getUnidadesHasta() != null ? rate.getUnidadesHasta() : Integer.MAX_VALUE;
+            if (desde < 1 || hasta < desde) {
+                throw new IllegalArgumentException("Banda de unidades inválida para " + destino + ": " + desde + "-" + rate.getUnidadesHasta());
+            }
+
+            agrupadas.computeIfAbsent(clave(destino.departamento(), destino.provincia(), destino.distrito()), k -> new ArrayList<>())
+                    .add(new Banda(desde, hasta, PriceSnapshot.centimos(rate.getBase()), PriceSnapshot.centimos(rate.getPorUnidad())));
+        }
+
+        Map<String, Banda[]> indice = new HashMap<>(agrupadas.size() * 2);
+        agrupadas.forEach((clave, lista) -> {
+            Banda[] ordenadas = lista.stream().sorted(Comparator.comparingInt(Banda::desde)).toArray(Banda[]::new);
+            for (int i = 1; i < ordenadas.length; i++) {
+                if (ordenadas[i].desde() <= ordenadas[i - 1].hasta()) {
+                    throw new IllegalArgumentException("Bandas de unidades superpuestas para "
+                            + clave.replace('\u0000', '/') + " desde " + ordenadas[i].desde());
+                }
+            }
+            indice.put(clave, ordenadas);
+        });
+
+        return new ShippingRateTable(Map.copyOf(indice), porDefectoPorUnidadCentimos, rates.size(), Instant.now());
+    }
+
+    static String clave(String departamento, String provincia, String distrito) {
+        return departamento + '\u0000' + provincia + '\u0000' + distrito;
+    }
+
+    /**
+     * Envío en céntimos: la banda del nivel más específico que tenga tarifa para esa cantidad.
+     * Si ningún nivel la cubre se aplica la regla por unidad de respaldo.
+     */
+    public long envioCentimos(Destino destino, long unidades) {
+        if (unidades <= 0) return 0;
+        if (!bandas.isEmpty()) {
+            for (String clave : destino.claves()) {
+                Banda[] candidatas = bandas.get(clave);
+                if (candidatas == null) continue;
+                for (Banda banda : candidatas) {
+                    if (banda.cubre(unidades)) return banda.costo(unidades);
+                    if (banda.desde() > unidades) break;
+                }
+            }
+        }
+        return Math.multiplyExact(porDefectoPorUnidadCentimos, unidades);
+    }
+
+    public int filas() {
+        return filas;
+    }
+
+    public int destinos() {
+        return bandas.size();
+    }
+
+    public Instant cargadaEn() {
+        return cargadaEn;
+    }
+}
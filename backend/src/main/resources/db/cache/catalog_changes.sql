@@ -0,0 +1,8 @@
+-- Productos cuyo detalle o listados cambiaron (ventas, bajas), para que cada nodo descarte solo esas entradas
+CREATE TABLE IF NOT EXISTS catalog_changes (
+    id          BIGINT    GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    product_id  BIGINT    NOT NULL,
+    creado_en   TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_catalog_changes_creado_en ON catalog_changes (creado_en);
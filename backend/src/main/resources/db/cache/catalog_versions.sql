@@ -0,0 +1,6 @@
+-- Versión monótona por recurso cacheado (catálogo, categorías, marcas), compartida entre nodos
+CREATE TABLE IF NOT EXISTS catalog_versions (
+    nombre         VARCHAR(32) PRIMARY KEY,
+    version        BIGINT      NOT NULL,
+    actualizado_en TIMESTAMP   NOT NULL
+);
@@ -0,0 +1,6 @@
+-- Descuentos del motor de inventario confirmados junto con su pedido y todavía no aplicados a product_variants
+CREATE TABLE IF NOT EXISTS inventory_deltas (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    variant_id BIGINT NOT NULL,
+    cantidad   INT    NOT NULL
+);
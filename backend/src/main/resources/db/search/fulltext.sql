@@ -0,0 +1,11 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('spanish', coalesce(nombre, '')), 'A') ||
+        setweight(to_tsvector('spanish', coalesce(descripcion, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_product_search_vector ON products USING GIN (search_vector);
+
+CREATE INDEX IF NOT EXISTS idx_product_nombre_trgm ON products USING GIN (nombre gin_trgm_ops);
@@ -0,0 +1,93 @@
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.mapper.ShippingRateMapper;
+import com.ecommerce.api_geek_store.domain.repository.ShippingRateRepository;
+import com.ecommerce.api_geek_store.exception.GlobalExceptionHandler;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminShippingRateControllerTest {
+
+	private ShippingRateRepository shippingRateRepository;
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		shippingRateRepository = mock(ShippingRateRepository.class);
+		when(shippingRateRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+		// Sin transacción la recarga posterior al reemplazo corre en el momento
+		when(shippingRateRepository.version()).thenReturn(mock(ShippingRateRepository.RatesVersion.class));
+		ShippingRateService service = new ShippingRateService(shippingRateRepository, new ShippingRateMapper(), new BigDecimal("20.00"));
+		mockMvc = MockMvcBuilders.standaloneSetup(new AdminShippingRateController(service))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void replacesACoherentTable() throws Exception {
+		mockMvc.perform(put("/api/v1/admin/shipping-rates").contentType(MediaType.APPLICATION_JSON).content("""
+						[
+						  {"unidadesDesde": 1, "base": 15.00, "porUnidad": 0},
+						  {"departamento": "Lima", "provincia": "Lima", "unidadesDesde": 1, "unidadesHasta": 3, "base": 8, "porUnidad": 0},
+						  {"departamento": "Lima", "provincia": "Lima", "unidadesDesde": 4, "base": 8, "porUnidad": 1}
+						]"""))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(3));
+
+		verify(shippingRateRepository).deleteAllInBatch();
+	}
+
+	@Test
+	void rejectsOverlappingBandsWith400() throws Exception {
+		rechaza("""
+				[
+				  {"departamento": "Lima", "unidadesDesde": 1, "unidadesHasta": 5, "base": 10, "porUnidad": 0},
+				  {"departamento": "lima", "unidadesDesde": 3, "base": 12, "porUnidad": 0}
+				]""", "superpuestas");
+	}
+
+	@Test
+	void rejectsInvertedBandWith400() throws Exception {
+		rechaza("""
+				[{"departamento": "Lima", "unidadesDesde": 5, "unidadesHasta": 2, "base": 10, "porUnidad": 0}]""",
+				"inválida");
+	}
+
+	@Test
+	void rejectsDistrictWithoutProvinceWith400() throws Exception {
+		rechaza("""
+				[{"departamento": "Lima", "distrito": "Miraflores", "unidadesDesde": 1, "base": 5, "porUnidad": 0}]""",
+				"necesita provincia");
+	}
+
+	@Test
+	void rejectsProvinceWithoutDepartmentWith400() throws Exception {
+		rechaza("""
+				[{"provincia": "Lima", "unidadesDesde": 1, "base": 5, "porUnidad": 0}]""",
+				"necesita departamento");
+	}
+
+	// La tabla vigente no se toca: se valida antes de borrar
+	private void rechaza(String body, String motivo) throws Exception {
+		mockMvc.perform(put("/api/v1/admin/shipping-rates").contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message", containsString(motivo)));
+
+		verify(shippingRateRepository, never()).deleteAllInBatch();
+		verify(shippingRateRepository, never()).saveAll(anyList());
+	}
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.api_geek_store.api.controller;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.repository.PriceView;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.service.OrderService;
+import com.ecommerce.api_geek_store.service.inventory.StockReservationService;
+import com.ecommerce.api_geek_store.service.payment.MercadoPagoWebhookSignature;
+import com.ecommerce.api_geek_store.service.payment.PaymentIdempotency;
+import com.ecommerce.api_geek_store.service.payment.PaymentIntentService;
+import com.ecommerce.api_geek_store.service.payment.PaymentService;
+import com.ecommerce.api_geek_store.service.payment.PaymentWebhookInbox;
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PaymentControllerTest {
+
+	private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+	private StockReservationService stockReservationService;
+	private PaymentService paymentService;
+	private PaymentController controller;
+
+	@BeforeEach
+	void setUp() {
+		ProductRepository productRepository = mock(ProductRepository.class);
+		PriceView precio = mock(PriceView.class);
+		when(precio.getId()).thenReturn(1L);
+		when(precio.getPrecio()).thenReturn(new BigDecimal("10.10"));
+		when(precio.getDescuento()).thenReturn(25);
+		when(productRepository.findAllPrices()).thenReturn(List.of(precio));
+
+		ShippingRateService shippingRateService = mock(ShippingRateService.class);
+		when(shippingRateService.envioCentimos(any(), anyLong())).thenAnswer(invocation -> 2000L * (long) invocation.getArgument(1));
+
+		PricingEngine pricingEngine = new PricingEngine(productRepository, shippingRateService, "secreto-de-prueba", Duration.ofMinutes(15), 100);
+		pricingEngine.refrescar();
+
+		stockReservationService = mock(StockReservationService.class);
+		paymentService = mock(PaymentService.class);
+		controller = new PaymentController(paymentService, mock(OrderService.class), stockReservationService,
+				mock(PaymentIdempotency.class), mock(PaymentIntentService.class), mock(PaymentWebhookInbox.class),
+				mock(MercadoPagoWebhookSignature.class), executor, pricingEngine);
+	}
+
+	@AfterEach
+	void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void rejectsAmountThatDiffersFromServerTotalBeforeReservingOrCharging() {
+		// 2 × 7.57 + 2 × 20.00 de envío = 55.14; el cliente manda el precio sin descuento
+		assertThatThrownBy(() -> controller.processPayment(pedido("60.20")).join())
+				.hasCauseInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("55.14");
+
+		verifyNoInteractions(stockReservationService, paymentService);
+	}
+
+	@Test
+	void acceptsServerTotalAndGoesOnToReserve() {
+		when(stockReservationService.reservar(any())).thenThrow(new IllegalStateException("Sin stock"));
+
+		assertThatThrownBy(() -> controller.processPayment(pedido("55.14")).join())
+				.hasCauseInstanceOf(IllegalStateException.class);
+
+		verify(stockReservationService).reservar(any());
+		verifyNoInteractions(paymentService);
+	}
+
+	private static PaymentRequest pedido(String monto) {
+		return new PaymentRequest("tok", new BigDecimal(monto), "visa", "cliente@correo.pe", 1,
+				List.of(new PaymentRequest.PaymentItem(1L, 10L, 2)),
+				new PaymentRequest.PaymentAddress("Av. Siempre Viva 123", "Lima", "Lima", "15001", "PE"),
+				null, null, null);
+	}
+}
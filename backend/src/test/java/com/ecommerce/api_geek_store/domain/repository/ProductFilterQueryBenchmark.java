@@ -0,0 +1,146 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Compara, contra un Postgres con datos reales, la consulta catch-all anterior
+ * ("(:x IS NULL OR ...)") con la generada por {@link ProductSpecifications} para cada combinación de filtros.
+ * Imprime el nodo raíz del plan y la mediana de latencia de cada variante.
+ *
+ * mvn test -Dtest=ProductFilterQueryBenchmark -Dbench.jdbc.url=jdbc:postgresql://localhost:5432/geek
+ *          -Dbench.jdbc.user=... -Dbench.jdbc.password=...
+ */
+@EnabledIfSystemProperty(named = "bench.jdbc.url", matches = ".+")
+class ProductFilterQueryBenchmark {
+
+	private static final int WARMUP = 10;
+	private static final int RUNS = 50;
+	private static final String KEYWORD = "polo";
+
+	private static final String CATCH_ALL = "SELECT p.id FROM products p WHERE " +
+			"(CAST(? AS BIGINT) IS NULL OR p.category_id = ?) AND " +
+			"(CAST(? AS BIGINT) IS NULL OR p.brand_id = ?) AND " +
+			"(CAST(? AS VARCHAR) IS NULL OR p.genero = ?) AND " +
+			"(CAST(? AS VARCHAR) IS NULL OR LOWER(p.nombre) LIKE LOWER(CONCAT('%', ?, '%'))) " +
+			"ORDER BY p.nombre LIMIT 12";
+
+	@Test
+	void compareCatchAllWithDynamicPredicates() throws SQLException {
+		try (Connection connection = DriverManager.getConnection(
+				System.getProperty("bench.jdbc.url"),
+				System.getProperty("bench.jdbc.user"),
+				System.getProperty("bench.jdbc.password"))) {
+
+			Long categoryId = firstId(connection, "SELECT category_id FROM products WHERE category_id IS NOT NULL LIMIT 1");
+			Long brandId = firstId(connection, "SELECT brand_id FROM products WHERE brand_id IS NOT NULL LIMIT 1");
+
+			System.out.printf("%-32s %12s %12s  %s%n", "filtros", "catch-all ms", "dinámica ms", "plan (catch-all | dinámica)");
+
+			for (int mask = 0; mask < 16; mask++) {
+				Long cat = (mask & 1) != 0 ? categoryId : null;
+				Long brand = (mask & 2) != 0 ? brandId : null;
+				String genero = (mask & 4) != 0 ? "HOMBRE" : null;
+				String keyword = (mask & 8) != 0 ? KEYWORD : null;
+
+				Object[] catchAllParams = {cat, cat, brand, brand, genero, genero, keyword, keyword};
+				List<Object> dynamicParams = new ArrayList<>();
+				String dynamicSql = dynamicSql(cat, brand, genero, keyword, dynamicParams);
+
+				double catchAllMs = medianMs(connection, CATCH_ALL, catchAllParams);
+				double dynamicMs = medianMs(connection, dynamicSql, dynamicParams.toArray());
+
+				System.out.printf("%-32s %12.3f %12.3f  %s | %s%n",
+						describe(cat, brand, genero, keyword), catchAllMs, dynamicMs,
+						rootPlan(connection, CATCH_ALL, catchAllParams),
+						rootPlan(connection, dynamicSql, dynamicParams.toArray()));
+			}
+		}
+	}
+
+	// Mismo SQL que arma ProductSpecifications: solo los predicados informados
+	private static String dynamicSql(Long cat, Long brand, String genero, String keyword, List<Object> params) {
+		StringBuilder sql = new StringBuilder("SELECT p.id FROM products p WHERE 1 = 1");
+		if (cat != null) {
+			sql.append(" AND p.category_id = ?");
+			params.add(cat);
+		}
+		if (brand != null) {
+			sql.append(" AND p.brand_id = ?");
+			params.add(brand);
+		}
+		if (genero != null) {
+			sql.append(" AND p.genero = ?");
+			params.add(genero);
+		}
+		if (keyword != null) {
+			sql.append(" AND LOWER(p.nombre) LIKE ?");
+			params.add("%" + keyword + "%");
+		}
+		return sql.append(" ORDER BY p.nombre LIMIT 12").toString();
+	}
+
+	// Se reutiliza el PreparedStatement: pasado prepareThreshold el driver usa un statement
+	// del servidor y Postgres puede fijar el plan genérico, que es lo que ve la aplicación
+	private static double medianMs(Connection connection, String sql, Object[] params) throws SQLException {
+		long[] samples = new long[RUNS];
+		try (PreparedStatement statement = prepare(connection, sql, params)) {
+			for (int i = 0; i < WARMUP + RUNS; i++) {
+				long inicio = System.nanoTime();
+				try (ResultSet rs = statement.executeQuery()) {
+					while (rs.next()) {
+						rs.getLong(1);
+					}
+				}
+				if (i >= WARMUP) samples[i - WARMUP] = System.nanoTime() - inicio;
+			}
+		}
+		Arrays.sort(samples);
+		return samples[RUNS / 2] / 1_000_000.0;
+	}
+
+	private static String rootPlan(Connection connection, String sql, Object[] params) throws SQLException {
+		try (PreparedStatement statement = prepare(connection, "EXPLAIN " + sql, params);
+			 ResultSet rs = statement.executeQuery()) {
+			List<String> nodes = new ArrayList<>();
+			while (rs.next()) {
+				String line = rs.getString(1).trim();
+				if (line.contains("Scan")) nodes.add(line.replaceFirst("^->\\s*", "").replaceFirst("\\s+\\(cost.*", ""));
+			}
+			return String.join(", ", nodes);
+		}
+	}
+
+	private static PreparedStatement prepare(Connection connection, String sql, Object[] params) throws SQLException {
+		PreparedStatement statement = connection.prepareStatement(sql);
+		for (int i = 0; i < params.length; i++) {
+			statement.setObject(i + 1, params[i]);
+		}
+		return statement;
+	}
+
+	private static Long firstId(Connection connection, String sql) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql);
+			 ResultSet rs = statement.executeQuery()) {
+			return rs.next() ? rs.getLong(1) : null;
+		}
+	}
+
+	private static String describe(Long cat, Long brand, String genero, String keyword) {
+		List<String> partes = new ArrayList<>();
+		if (cat != null) partes.add("categoria");
+		if (brand != null) partes.add("marca");
+		if (genero != null) partes.add("genero");
+		if (keyword != null) partes.add("keyword");
+		return partes.isEmpty() ? "(sin filtros)" : String.join("+", partes);
+	}
+}
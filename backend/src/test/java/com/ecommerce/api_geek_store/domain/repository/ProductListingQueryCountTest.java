@@ -0,0 +1,88 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.api.mapper.ProductMapper;
+import com.ecommerce.api_geek_store.domain.model.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+		"spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(ProductMapper.class)
+class ProductListingQueryCountTest {
+
+	// ids + count + productos + variantes + imágenes
+	private static final long MAX_STATEMENTS_PER_PAGE = 5;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductMapper productMapper;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		Category category = new Category("Polos", "Polos oversize");
+		entityManager.persist(category);
+
+		Brand brand = new Brand("Archive");
+		entityManager.persist(brand);
+
+		for (int i = 0; i < 15; i++) {
+			Product product = new Product();
+			product.setNombre("Producto " + i);
+			product.setPrecio(new BigDecimal("59.90"));
+			product.setGenero(Genero.UNISEX);
+			product.setCategory(category);
+			product.setBrand(brand);
+			product.addImage(new ProductImage("https://img/" + i + "-a.jpg"));
+			product.addImage(new ProductImage("https://img/" + i + "-b.jpg"));
+
+			ProductVariant negro = new ProductVariant("NEGRO", "M", 5);
+			negro.setColorHex("#000000");
+			ProductVariant blanco = new ProductVariant("BLANCO", "L", 3);
+			blanco.setColorHex("#FFFFFF");
+			product.addVariant(negro);
+			product.addVariant(blanco);
+
+			entityManager.persist(product);
+		}
+
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void listingPageUsesConstantNumberOfStatements() {
+		Statistics statistics = entityManager.getEntityManagerFactory()
+				.unwrap(SessionFactory.class)
+				.getStatistics();
+		statistics.clear();
+
+		Page<Long> ids = productRepository.findIds(
+				ProductSpecifications.conFiltros(null, null, null, null), PageRequest.of(0, 12, Sort.by("nombre")));
+		List<Product> products = productRepository.findAllWithRelationsByIdIn(ids.getContent());
+		products.forEach(productMapper::toResponse);
+
+		assertThat(products).hasSize(12);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+	}
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.api_geek_store.domain.repository;
+
+import com.ecommerce.api_geek_store.domain.model.Product;
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductVariantStockConcurrencyTest {
+
+	private static final int STOCK = 25;
+	private static final int THREADS = 16;
+	private static final int ATTEMPTS = 200;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductVariantRepository productVariantRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+	private Long productId;
+	private Long variantId;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Product product = new Product();
+			product.setNombre("Polo última unidad");
+			product.setPrecio(new BigDecimal("49.90"));
+			ProductVariant variant = new ProductVariant("NEGRO", "M", STOCK);
+			variant.setColorHex("#000000");
+			product.addVariant(variant);
+
+			Product saved = productRepository.save(product);
+			productId = saved.getId();
+			variantId = saved.getVariants().iterator().next().getId();
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> productRepository.deleteById(productId));
+	}
+
+	@Test
+	void concurrentCheckoutsNeverOversell() throws Exception {
+		AtomicInteger vendidas = new AtomicInteger();
+		AtomicInteger rechazadas = new AtomicInteger();
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<?>> intentos = new ArrayList<>();
+		for (int i = 0; i < ATTEMPTS; i++) {
+			intentos.add(executor.submit(() -> {
+				largada.await();
+				Integer filas = transactionTemplate.execute(status ->
+						productVariantRepository.descontarStock(variantId, 1));
+				if (filas != null && filas == 1) {
+					vendidas.incrementAndGet();
+				} else {
+					rechazadas.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+
+		largada.countDown();
+		for (Future<?> intento : intentos) {
+			intento.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		Integer stockFinal = transactionTemplate.execute(status ->
+				productVariantRepository.findById(variantId).orElseThrow().getStock());
+
+		assertThat(vendidas.get()).isEqualTo(STOCK);
+		assertThat(rechazadas.get()).isEqualTo(ATTEMPTS - STOCK);
+		assertThat(stockFinal).isZero();
+	}
+}
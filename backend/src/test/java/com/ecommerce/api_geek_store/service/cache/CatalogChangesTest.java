@@ -0,0 +1,83 @@
+package com.ecommerce.api_geek_store.service.cache;
+
+import com.ecommerce.api_geek_store.domain.repository.CatalogChangeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogChangesTest {
+
+	private JdbcTemplate jdbcTemplate;
+	private CatalogChangeRepository repository;
+	private CatalogChanges changes;
+	private final List<Set<Long>> recibidos = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		DriverManagerDataSource dataSource = new DriverManagerDataSource(
+				"jdbc:h2:mem:catalog-changes-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		repository = new CatalogChangeRepository(new NamedParameterJdbcTemplate(dataSource));
+		changes = nuevoNodo(dataSource);
+		changes.alCambiar(recibidos::add);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("SHUTDOWN");
+	}
+
+	@Test
+	void deliversOnlyChangesAfterStartup() {
+		repository.registrar(List.of(1L));
+		CatalogChanges otroNodo = nuevoNodo(jdbcTemplate.getDataSource());
+		List<Set<Long>> delOtro = new ArrayList<>();
+		otroNodo.alCambiar(delOtro::add);
+
+		repository.registrar(List.of(2L, 3L));
+		changes.sincronizar();
+		otroNodo.sincronizar();
+		changes.sincronizar();
+
+		assertThat(recibidos).containsExactly(Set.of(1L, 2L, 3L));
+		assertThat(delOtro).containsExactly(Set.of(2L, 3L));
+	}
+
+	@Test
+	void skippedIdCommittedLaterIsStillDelivered() {
+		// La transacción con el id 2 confirma después que la del 3: la primera lectura lo saltea
+		insertar(1, 10L);
+		insertar(3, 30L);
+		changes.sincronizar();
+
+		insertar(2, 20L);
+		changes.sincronizar();
+		changes.sincronizar();
+
+		assertThat(recibidos).containsExactly(Set.of(10L, 30L), Set.of(20L));
+	}
+
+	private CatalogChanges nuevoNodo(DataSource dataSource) {
+		CatalogChanges nodo = new CatalogChanges(repository, dataSource);
+		ReflectionTestUtils.setField(nodo, "retention", Duration.ofHours(1));
+		nodo.init();
+		return nodo;
+	}
+
+	private void insertar(long id, long productId) {
+		jdbcTemplate.update("INSERT INTO catalog_changes (id, product_id, creado_en) VALUES (?, ?, CURRENT_TIMESTAMP)", id, productId);
+	}
+}
@@ -0,0 +1,126 @@
+package com.ecommerce.api_geek_store.service.inventory;
+
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import com.ecommerce.api_geek_store.domain.repository.ProductVariantRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InventoryEngineTest {
+
+	private static final long VARIANT_ID = 1L;
+	private static final int STOCK = 10;
+
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+	private InventoryEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource("jdbc:h2:mem:inventory-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE product_variants (id BIGINT PRIMARY KEY, stock INT NOT NULL)");
+		jdbcTemplate.update("INSERT INTO product_variants (id, stock) VALUES (?, ?)", VARIANT_ID, STOCK);
+
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		engine = nuevoMotor(transactionManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		engine.shutdown();
+		jdbcTemplate.execute("SHUTDOWN");
+	}
+
+	@Test
+	void committedDecrementIsRecordedAndFlushed() {
+		transactionTemplate.executeWithoutResult(status -> assertThat(engine.descontar(variante(), 3)).isTrue());
+
+		assertThat(deltasPendientes()).isEqualTo(1);
+		engine.flush();
+
+		assertThat(stockEnBase()).isEqualTo(7);
+		assertThat(engine.disponible(variante())).isEqualTo(7);
+		assertThat(deltasPendientes()).isZero();
+	}
+
+	@Test
+	void rolledBackOrderReturnsUnitsAndLeavesNoTrace() {
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(engine.descontar(variante(), 4)).isTrue();
+			// Mientras dura la transacción las unidades quedan apartadas y la fila solo la ve el pedido
+			assertThat(engine.disponible(variante())).isEqualTo(6);
+			status.setRollbackOnly();
+		});
+
+		assertThat(engine.disponible(variante())).isEqualTo(STOCK);
+		assertThat(deltasPendientes()).isZero();
+		engine.flush();
+		assertThat(stockEnBase()).isEqualTo(STOCK);
+	}
+
+	@Test
+	void restartAppliesDecrementsCommittedBeforeCrash() {
+		transactionTemplate.executeWithoutResult(status -> {
+			assertThat(engine.descontar(variante(), 2)).isTrue();
+			assertThat(engine.descontar(variante(), 3)).isTrue();
+		});
+		// Caída tras el commit del pedido y antes del volcado: el motor nuevo arranca sin contadores
+		assertThat(stockEnBase()).isEqualTo(STOCK);
+
+		engine = nuevoMotor(new DataSourceTransactionManager(dataSource));
+
+		assertThat(stockEnBase()).isEqualTo(5);
+		assertThat(engine.disponible(variante())).isEqualTo(5);
+		assertThat(deltasPendientes()).isZero();
+	}
+
+	@Test
+	void flushDrainsMoreThanOneBatch() {
+		ReflectionTestUtils.setField(engine, "flushBatchSize", 2);
+		for (int i = 0; i < 5; i++) {
+			transactionTemplate.executeWithoutResult(status -> assertThat(engine.descontar(variante(), 1)).isTrue());
+		}
+
+		engine.flush();
+
+		assertThat(stockEnBase()).isEqualTo(5);
+		assertThat(deltasPendientes()).isZero();
+	}
+
+	private InventoryEngine nuevoMotor(DataSourceTransactionManager transactionManager) {
+		InventoryEngine motor = new InventoryEngine(mock(ProductVariantRepository.class), dataSource, transactionManager);
+		ReflectionTestUtils.setField(motor, "enabled", true);
+		ReflectionTestUtils.setField(motor, "stripeCount", 4);
+		ReflectionTestUtils.setField(motor, "flushBatchSize", 100);
+		motor.init();
+		return motor;
+	}
+
+	// Como la cargaría el pedido: la columna es el stock inicial del contador
+	private ProductVariant variante() {
+		ProductVariant variant = new ProductVariant("NEGRO", "M", stockEnBase());
+		variant.setId(VARIANT_ID);
+		return variant;
+	}
+
+	private int stockEnBase() {
+		return jdbcTemplate.queryForObject("SELECT stock FROM product_variants WHERE id = ?", Integer.class, VARIANT_ID);
+	}
+
+	private int deltasPendientes() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM inventory_deltas", Integer.class);
+	}
+}
@@ -0,0 +1,168 @@
+package com.ecommerce.api_geek_store.service.inventory;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.model.EstadoReserva;
+import com.ecommerce.api_geek_store.domain.model.Product;
+import com.ecommerce.api_geek_store.domain.model.ProductVariant;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.domain.repository.ProductVariantRepository;
+import com.ecommerce.api_geek_store.domain.repository.StockReservationRepository;
+import com.ecommerce.api_geek_store.exception.InsufficientStockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dos instancias del servicio sobre la misma base, como dos nodos de la API: ninguna guarda estado propio,
+ * así que entre ambas no pueden reservar más unidades que las que hay.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockReservationConcurrencyTest {
+
+	private static final int STOCK = 5;
+	private static final int THREADS = 16;
+	private static final int ATTEMPTS = 60;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductVariantRepository productVariantRepository;
+
+	@Autowired
+	private StockReservationRepository reservationRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private TransactionTemplate transactionTemplate;
+	private Long productId;
+	private Long variantId;
+
+	@BeforeEach
+	void setUp() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Product product = new Product();
+			product.setNombre("Polo edición limitada");
+			product.setPrecio(new BigDecimal("59.90"));
+			ProductVariant variant = new ProductVariant("BLANCO", "S", STOCK);
+			variant.setColorHex("#FFFFFF");
+			product.addVariant(variant);
+
+			Product saved = productRepository.save(product);
+			productId = saved.getId();
+			variantId = saved.getVariants().iterator().next().getId();
+		});
+	}
+
+	@AfterEach
+	void tearDown() {
+		transactionTemplate.executeWithoutResult(status -> {
+			reservationRepository.deleteAll();
+			productRepository.deleteById(productId);
+		});
+	}
+
+	@Test
+	void concurrentReservationsOnTwoNodesNeverExceedStock() throws Exception {
+		List<StockReservationService> nodos = List.of(nuevoNodo(), nuevoNodo());
+		AtomicInteger reservadas = new AtomicInteger();
+		AtomicInteger rechazadas = new AtomicInteger();
+		CountDownLatch largada = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+		List<Future<?>> intentos = new ArrayList<>();
+		for (int i = 0; i < ATTEMPTS; i++) {
+			StockReservationService nodo = nodos.get(i % nodos.size());
+			intentos.add(executor.submit(() -> {
+				largada.await();
+				try {
+					transactionTemplate.execute(status -> nodo.reservar(List.of(linea(1))));
+					reservadas.incrementAndGet();
+				} catch (InsufficientStockException e) {
+					rechazadas.incrementAndGet();
+				}
+				return null;
+			}));
+		}
+
+		largada.countDown();
+		for (Future<?> intento : intentos) {
+			intento.get(30, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		assertThat(reservadas.get()).isEqualTo(STOCK);
+		assertThat(rechazadas.get()).isEqualTo(ATTEMPTS - STOCK);
+		assertThat(unidadesRetenidas()).isEqualTo(STOCK);
+	}
+
+	@Test
+	void releasedReservationFreesUnitsForTheOtherNode() {
+		StockReservationService nodoA = nuevoNodo();
+		StockReservationService nodoB = nuevoNodo();
+
+		String codigo = transactionTemplate.execute(status -> nodoA.reservar(List.of(linea(STOCK))));
+		assertThat(reservar(nodoB, 1)).isFalse();
+
+		transactionTemplate.executeWithoutResult(status -> nodoA.liberar(codigo));
+
+		assertThat(reservar(nodoB, STOCK)).isTrue();
+	}
+
+	private StockReservationService nuevoNodo() {
+		InventoryEngine inventoryEngine = new InventoryEngine(productVariantRepository, dataSource, transactionManager);
+		StockReservationService nodo = new StockReservationService(
+				reservationRepository, productVariantRepository, inventoryEngine, transactionManager);
+		ReflectionTestUtils.setField(nodo, "ttl", Duration.ofMinutes(10));
+		return nodo;
+	}
+
+	private boolean reservar(StockReservationService nodo, int cantidad) {
+		try {
+			transactionTemplate.execute(status -> nodo.reservar(List.of(linea(cantidad))));
+			return true;
+		} catch (InsufficientStockException e) {
+			return false;
+		}
+	}
+
+	private PaymentRequest.PaymentItem linea(int cantidad) {
+		return new PaymentRequest.PaymentItem(productId, variantId, cantidad);
+	}
+
+	private long unidadesRetenidas() {
+		return transactionTemplate.execute(status -> reservationRepository
+				.sumByVariant(List.of(variantId), EstadoReserva.ACTIVA, LocalDateTime.now()).stream()
+				.mapToLong(fila -> ((Number) fila[1]).longValue())
+				.sum());
+	}
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.api_geek_store.service.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Costo de autenticar un pedido con Bearer: la validación anterior (clave y parser nuevos en cada
+ * llamada, el token parseado tres veces) frente a un único parseo con clave y parser ya armados.
+ *
+ * mvn test -Dtest=JwtServiceBenchmark -Dbench.jwt=true
+ */
+@EnabledIfSystemProperty(named = "bench.jwt", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	// 256 bits en Base64, solo para el benchmark
+	private static final String SECRET = "ZmFrZS1iZW5jaG1hcmstc2VjcmV0LWtleS0zMi1ieXRlcy0wMTIzNDU2Nzg5";
+
+	private JwtService jwtService;
+	private UserDetails user;
+	private String token;
+
+	@Setup
+	public void setup() {
+		jwtService = new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+		user = User.withUsername("cliente@geekstore.pe").password("x").roles("USER").build();
+		token = jwtService.generateToken(user);
+	}
+
+	@Benchmark
+	public boolean antes() {
+		String username = extractClaim(token, Claims::getSubject);
+		return username.equals(user.getUsername())
+				&& extractClaim(token, Claims::getSubject).equals(user.getUsername())
+				&& !extractClaim(token, Claims::getExpiration).before(new Date());
+	}
+
+	@Benchmark
+	public boolean despues() {
+		TokenClaims claims = jwtService.validate(token);
+		return jwtService.isTokenValid(claims, user);
+	}
+
+	// Lo que hacía JwtService antes: decodificar el secreto y armar clave y parser en cada llamada
+	private static <T> T extractClaim(String token, Function<Claims, T> resolver) {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+		return resolver.apply(claims);
+	}
+
+	@Test
+	void run() throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(JwtServiceBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}
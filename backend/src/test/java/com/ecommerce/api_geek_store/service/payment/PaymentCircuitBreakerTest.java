@@ -0,0 +1,109 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.service.payment.PaymentCircuitBreaker.Estado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentCircuitBreakerTest {
+
+	// Ventana de 4, mínimo 4 llamadas, abre con 50% de fallos, 2 llamadas de prueba
+	private static PaymentCircuitBreaker breaker(Duration abierto) {
+		return new PaymentCircuitBreaker(4, 4, 50, abierto, 2);
+	}
+
+	private static void llamar(PaymentCircuitBreaker breaker, boolean falla) {
+		assertThat(breaker.permitir()).isTrue();
+		if (falla) breaker.fallo();
+		else breaker.exito();
+	}
+
+	@Test
+	void opensWhenFailureRateReachesThreshold() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+		llamar(breaker, false);
+		llamar(breaker, true);
+		llamar(breaker, false);
+		assertThat(breaker.estado()).isEqualTo(Estado.CERRADO);
+
+		// Cuarta llamada: 2 fallos de 4 alcanza el 50%
+		llamar(breaker, true);
+
+		assertThat(breaker.estado()).isEqualTo(Estado.ABIERTO);
+		assertThat(breaker.permitir()).isFalse();
+	}
+
+	@Test
+	void staysClosedBelowMinimumCalls() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+
+		llamar(breaker, true);
+		llamar(breaker, true);
+		llamar(breaker, true);
+
+		assertThat(breaker.estado()).isEqualTo(Estado.CERRADO);
+	}
+
+	@Test
+	void halfOpenClosesAfterSuccessfulProbes() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ZERO);
+		for (int i = 0; i < 4; i++) llamar(breaker, true);
+		assertThat(breaker.estado()).isEqualTo(Estado.ABIERTO);
+
+		// Vencido open-duration: solo pasan las llamadas de prueba
+		assertThat(breaker.permitir()).isTrue();
+		assertThat(breaker.estado()).isEqualTo(Estado.SEMIABIERTO);
+		assertThat(breaker.permitir()).isTrue();
+		assertThat(breaker.permitir()).isFalse();
+
+		breaker.exito();
+		assertThat(breaker.estado()).isEqualTo(Estado.SEMIABIERTO);
+		breaker.exito();
+
+		assertThat(breaker.estado()).isEqualTo(Estado.CERRADO);
+		// La ventana se reinicia: un fallo suelto no vuelve a abrir
+		llamar(breaker, true);
+		assertThat(breaker.estado()).isEqualTo(Estado.CERRADO);
+	}
+
+	@Test
+	void halfOpenReopensOnFailedProbe() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ZERO);
+		for (int i = 0; i < 4; i++) llamar(breaker, true);
+
+		assertThat(breaker.permitir()).isTrue();
+		breaker.fallo();
+
+		assertThat(breaker.estado()).isEqualTo(Estado.ABIERTO);
+	}
+
+	@Test
+	void releasedProbeFreesItsSlot() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ZERO);
+		for (int i = 0; i < 4; i++) llamar(breaker, true);
+
+		assertThat(breaker.permitir()).isTrue();
+		assertThat(breaker.permitir()).isTrue();
+		assertThat(breaker.permitir()).isFalse();
+
+		breaker.liberar();
+
+		assertThat(breaker.permitir()).isTrue();
+	}
+
+	@Test
+	void bindsStateGauge() {
+		PaymentCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		breaker.bindTo(registry);
+
+		for (int i = 0; i < 4; i++) llamar(breaker, true);
+
+		assertThat(registry.get("payments.gateway.breaker.state").gauge().value())
+				.isEqualTo(Estado.ABIERTO.ordinal());
+	}
+}
@@ -0,0 +1,220 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.api.dto.PaymentRequest;
+import com.ecommerce.api_geek_store.domain.model.EstadoIntento;
+import com.ecommerce.api_geek_store.domain.model.PaymentIntent;
+import com.ecommerce.api_geek_store.domain.repository.PaymentIntentRepository;
+import com.ecommerce.api_geek_store.exception.PaymentGatewayUnavailableException;
+import com.ecommerce.api_geek_store.service.OrderService;
+import com.ecommerce.api_geek_store.service.inventory.StockReservationService;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Máquina de estados del intento de pago contra la procesadora stub: el checkout abre el intento y cobra,
+ * el reconciliador lo cierra según lo que la procesadora informe después.
+ */
+class PaymentReconcilerTest {
+
+	private static final String EMAIL = "cliente@test.com";
+	private static final BigDecimal MONTO = new BigDecimal("120.00");
+	private static final long ORDER_ID = 500L;
+
+	private final Map<Long, PaymentIntent> intents = new HashMap<>();
+	private final AtomicLong ids = new AtomicLong();
+
+	private StubPaymentGatewayClient gateway;
+	private PaymentService paymentService;
+	private PaymentIntentService intentService;
+	private PaymentReconciler reconciler;
+	private OrderService orderService;
+	private StockReservationService stockReservationService;
+
+	@BeforeEach
+	void setUp() {
+		PaymentIntentRepository repository = mock(PaymentIntentRepository.class);
+		when(repository.save(any(PaymentIntent.class))).thenAnswer(invocation -> {
+			PaymentIntent intent = invocation.getArgument(0);
+			ReflectionTestUtils.setField(intent, "id", ids.incrementAndGet());
+			ReflectionTestUtils.invokeMethod(intent, "onCreate");
+			intents.put(intent.getId(), intent);
+			return intent;
+		});
+		when(repository.findById(anyLong())).thenAnswer(invocation -> Optional.ofNullable(intents.get(invocation.<Long>getArgument(0))));
+		when(repository.findFirstByCheckoutKeyAndEstadoInOrderByIdDesc(any(), anyCollection())).thenAnswer(invocation ->
+				intents.values().stream()
+						.filter(intent -> invocation.getArgument(0).equals(intent.getCheckoutKey()))
+						.filter(intent -> invocation.<Collection<EstadoIntento>>getArgument(1).contains(intent.getEstado()))
+						.max(Comparator.comparing(PaymentIntent::getId)));
+		// Sin reloj: cada pasada mira todos los intentos abiertos, sin esperar el backoff
+		when(repository.findDue(any(), any(), any())).thenAnswer(invocation ->
+				intents.values().stream().filter(PaymentIntent::isPendiente).toList());
+
+		gateway = new StubPaymentGatewayClient();
+		paymentService = new PaymentService(gateway, new PaymentCircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3),
+				new SimpleMeterRegistry(), 20);
+		ReflectionTestUtils.setField(paymentService, "maxWait", Duration.ofMillis(200));
+		ReflectionTestUtils.setField(paymentService, "callTimeout", Duration.ofSeconds(2));
+
+		stockReservationService = mock(StockReservationService.class);
+		intentService = new PaymentIntentService(repository, new ObjectMapper(), stockReservationService);
+		ReflectionTestUtils.setField(intentService, "grace", Duration.ZERO);
+		ReflectionTestUtils.setField(intentService, "maxAttempts", 10);
+		ReflectionTestUtils.setField(intentService, "backoffInitial", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(intentService, "backoffMax", Duration.ofHours(1));
+
+		PaymentIdempotency idempotency = mock(PaymentIdempotency.class);
+		when(idempotency.ordenDelPago(any())).thenReturn(Optional.empty());
+		orderService = mock(OrderService.class);
+		when(orderService.createOrderFromPayment(any(), anyList(), any(), any(), any(), any(), any())).thenReturn(ORDER_ID);
+
+		reconciler = new PaymentReconciler(repository, intentService, paymentService, idempotency, orderService,
+				mock(JdbcTemplate.class), new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(reconciler, "enabled", true);
+		ReflectionTestUtils.setField(reconciler, "batchSize", 50);
+		ReflectionTestUtils.setField(reconciler, "maxBatchesPerRun", 20);
+		ReflectionTestUtils.setField(reconciler, "abandonAfter", Duration.ofMinutes(30));
+	}
+
+	@AfterEach
+	void tearDown() {
+		paymentService.shutdown();
+	}
+
+	@Test
+	void pendingPaymentCompletesOnceApproved() {
+		PaymentRequest request = request("pending-1");
+		PaymentIntent intent = intentService.abrir(request, "checkout-1", "reserva-1");
+		GatewayPayment pago = paymentService.processPayment(request, "checkout-1", intent.getExternalReference());
+		assertThat(pago.status()).isEqualTo("in_process");
+
+		reconciliar();
+
+		// En proceso: sigue abierto y se reprograma, sin orden
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.INICIADO);
+		assertThat(intent.getIntentos()).isEqualTo(1);
+		verify(orderService, never()).createOrderFromPayment(any(), anyList(), any(), any(), any(), any(), any());
+
+		gateway.resolver(pago.id(), true);
+		reconciliar();
+
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.COMPLETADO);
+		assertThat(intent.getMpPaymentId()).isEqualTo(pago.id());
+		assertThat(intent.getOrderId()).isEqualTo(ORDER_ID);
+		verify(orderService).createOrderFromPayment(eq(EMAIL), anyList(), any(), eq(MONTO), eq("reserva-1"), eq(pago.id()), eq("checkout-1"));
+	}
+
+	@Test
+	void rejectedPaymentClosesIntentWithoutOrder() {
+		PaymentRequest request = request("pending-2");
+		PaymentIntent intent = intentService.abrir(request, "checkout-2", "reserva-2");
+		GatewayPayment pago = paymentService.processPayment(request, "checkout-2", intent.getExternalReference());
+
+		gateway.resolver(pago.id(), false);
+		reconciliar();
+
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.RECHAZADO);
+		assertThat(intent.getMpPaymentId()).isEqualTo(pago.id());
+		assertThat(intent.getUltimoError()).isEqualTo("cc_rejected_other_reason");
+		verify(orderService, never()).createOrderFromPayment(any(), anyList(), any(), any(), any(), any(), any());
+	}
+
+	@Test
+	void timedOutChargeIsRecoveredByReconciler() {
+		// La procesadora cobra pero responde tarde: la API corta por timeout sin saber el resultado
+		ReflectionTestUtils.setField(gateway, "latencyMs", 500L);
+		ReflectionTestUtils.setField(paymentService, "callTimeout", Duration.ofMillis(50));
+		PaymentRequest request = request("tok-3");
+		PaymentIntent intent = intentService.abrir(request, "checkout-3", "reserva-3");
+
+		assertThatThrownBy(() -> paymentService.processPayment(request, "checkout-3", intent.getExternalReference()))
+				.isInstanceOf(PaymentGatewayUnavailableException.class);
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.INICIADO);
+
+		ReflectionTestUtils.setField(gateway, "latencyMs", 0L);
+		reconciliar();
+
+		GatewayPayment cobrado = gateway.findByExternalReference(intent.getExternalReference()).orElseThrow();
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.COMPLETADO);
+		assertThat(intent.getMpPaymentId()).isEqualTo(cobrado.id());
+		verify(orderService).createOrderFromPayment(eq(EMAIL), anyList(), any(), eq(MONTO), eq("reserva-3"), eq(cobrado.id()), eq("checkout-3"));
+	}
+
+	@Test
+	void chargeThatNeverReachedGatewayIsAbandoned() {
+		PaymentIntent intent = intentService.abrir(request("tok-4"), "checkout-4", "reserva-4");
+
+		reconciliar();
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.INICIADO);
+		assertThat(intent.getUltimoError()).isEqualTo("Cobro aún no visible en la procesadora");
+
+		// Pasado abandon-after la procesadora sigue sin conocerlo: nunca se cobró
+		ReflectionTestUtils.setField(intent, "creadoEn", LocalDateTime.now().minusHours(1));
+		reconciliar();
+
+		assertThat(intent.getEstado()).isEqualTo(EstadoIntento.RECHAZADO);
+		verify(orderService, never()).createOrderFromPayment(any(), anyList(), any(), any(), any(), any(), any());
+	}
+
+	@Test
+	void retriedCheckoutReusesIntentAndReleasesPreviousHold() {
+		PaymentIntent primero = intentService.abrir(request("tok-5"), "checkout-5", "reserva-5a");
+
+		// El cliente reintenta el mismo checkout: el controlador ya apartó el carrito de nuevo
+		PaymentIntent reintento = intentService.abrir(request("tok-5"), "checkout-5", "reserva-5b");
+
+		assertThat(reintento.getId()).isEqualTo(primero.getId());
+		assertThat(reintento.getExternalReference()).isEqualTo(primero.getExternalReference());
+		assertThat(reintento.getReservationCode()).isEqualTo("reserva-5b");
+		verify(stockReservationService).liberar("reserva-5a");
+		verify(stockReservationService, never()).liberar("reserva-5b");
+	}
+
+	private void reconciliar() {
+		ReflectionTestUtils.invokeMethod(reconciler, "procesarPendientes");
+	}
+
+	private static PaymentRequest request(String token) {
+		return new PaymentRequest(
+				token,
+				MONTO,
+				"visa",
+				EMAIL,
+				1,
+				List.of(new PaymentRequest.PaymentItem(1L, 10L, 2)),
+				new PaymentRequest.PaymentAddress("Av. Siempre Viva 123", "Lima", "Lima", "15001", "PE"),
+				null,
+				null,
+				null
+		);
+	}
+}
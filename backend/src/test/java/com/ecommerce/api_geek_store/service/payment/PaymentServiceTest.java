@@ -0,0 +1,96 @@
+package com.ecommerce.api_geek_store.service.payment;
+
+import com.ecommerce.api_geek_store.exception.PaymentGatewayUnavailableException;
+import com.ecommerce.api_geek_store.service.payment.PaymentGatewayClient.GatewayPayment;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PaymentServiceTest {
+
+	private static final GatewayPayment PAGO = new GatewayPayment(1L, "approved", "accredited", "ref-1");
+
+	private final CountDownLatch respuesta = new CountDownLatch(1);
+	private PaymentGatewayClient gateway;
+	private PaymentService paymentService;
+
+	@BeforeEach
+	void setUp() {
+		gateway = mock(PaymentGatewayClient.class);
+		paymentService = new PaymentService(gateway, new PaymentCircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3),
+				new SimpleMeterRegistry(), 1);
+		ReflectionTestUtils.setField(paymentService, "maxWait", Duration.ofMillis(50));
+		ReflectionTestUtils.setField(paymentService, "callTimeout", Duration.ofMillis(100));
+	}
+
+	@AfterEach
+	void tearDown() {
+		respuesta.countDown();
+		paymentService.shutdown();
+	}
+
+	@Test
+	void timedOutCallKeepsItsPermitUntilItReallyEnds() throws Exception {
+		// Como el SDK: la llamada bloqueante no atiende la interrupción y sigue hasta que la procesadora responde
+		when(gateway.findById(anyLong())).thenAnswer(invocation -> {
+			while (true) {
+				try {
+					respuesta.await();
+					return Optional.of(PAGO);
+				} catch (InterruptedException ignored) {
+					// sigue esperando
+				}
+			}
+		});
+
+		assertThatThrownBy(() -> paymentService.findById(1L))
+				.isInstanceOf(PaymentGatewayUnavailableException.class)
+				.hasMessageContaining("no respondió a tiempo");
+
+		// La primera llamada sigue abierta: no hay lugar para otra
+		assertThatThrownBy(() -> paymentService.findById(1L))
+				.isInstanceOf(PaymentGatewayUnavailableException.class)
+				.hasMessageContaining("demasiados pagos");
+
+		respuesta.countDown();
+		assertThat(esperarPermiso()).isTrue();
+		assertThat(paymentService.findById(1L)).contains(PAGO);
+	}
+
+	@Test
+	void permitIsReturnedWhenTheCallFails() {
+		when(gateway.findById(anyLong())).thenThrow(new IllegalStateException("procesadora caída"));
+
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> paymentService.findById(1L)).isInstanceOf(IllegalStateException.class);
+		}
+		assertThat(bulkhead().availablePermits()).isEqualTo(1);
+	}
+
+	private boolean esperarPermiso() throws InterruptedException {
+		long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+		while (bulkhead().availablePermits() == 0) {
+			if (System.nanoTime() > limite) return false;
+			Thread.sleep(5);
+		}
+		return true;
+	}
+
+	private Semaphore bulkhead() {
+		return (Semaphore) ReflectionTestUtils.getField(paymentService, "bulkhead");
+	}
+}
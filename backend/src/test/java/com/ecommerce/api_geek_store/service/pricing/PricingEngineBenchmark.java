@@ -0,0 +1,95 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de cotizar un carrito contra la foto de precios (lo que se paga en cada cambio del carrito
+ * y otra vez antes de cobrar), frente al cálculo anterior con BigDecimal.
+ *
+ * mvn test -Dtest=PricingEngineBenchmark -Dbench.pricing=true
+ */
+@EnabledIfSystemProperty(named = "bench.pricing", matches = "true")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingEngineBenchmark {
+
+	private static final int PRODUCTOS = 10_000;
+	private static final BigDecimal ENVIO = new BigDecimal("20.00");
+
+	@Param({"1", "5", "20"})
+	public int lineas;
+
+	private PriceSnapshot snapshot;
+	private long envioCentimos;
+	private Map<Long, BigDecimal[]> preciosDecimales;
+	private List<LineaCarrito> carrito;
+
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		Map<Long, PriceSnapshot.Precio> precios = new HashMap<>();
+		preciosDecimales = new HashMap<>();
+
+		for (long id = 1; id <= PRODUCTOS; id++) {
+			BigDecimal precio = BigDecimal.valueOf(random.nextInt(1_000, 50_000), 2);
+			int descuento = random.nextInt(4) == 0 ? random.nextInt(5, 60) : 0;
+			precios.put(id, PriceSnapshot.precio(precio, descuento));
+			preciosDecimales.put(id, new BigDecimal[]{precio, BigDecimal.valueOf(descuento)});
+		}
+		snapshot = new PriceSnapshot(precios, Instant.now());
+		envioCentimos = PriceSnapshot.centimos(ENVIO);
+
+		carrito = new ArrayList<>();
+		for (int i = 0; i < lineas; i++) {
+			carrito.add(new LineaCarrito(random.nextLong(1, PRODUCTOS + 1), (long) i, random.nextInt(1, 4)));
+		}
+	}
+
+	@Benchmark
+	public long centimos() {
+		return snapshot.cotizar(carrito, unidades -> unidades * envioCentimos).totalCentimos();
+	}
+
+	@Benchmark
+	public BigDecimal bigDecimal() {
+		BigDecimal subtotal = BigDecimal.ZERO;
+		BigDecimal envio = BigDecimal.ZERO;
+		BigDecimal cien = BigDecimal.valueOf(100);
+		for (LineaCarrito linea : carrito) {
+			BigDecimal[] precio = preciosDecimales.get(linea.productId());
+			BigDecimal unitario = precio[0].multiply(cien.subtract(precio[1])).divide(cien, 2, RoundingMode.HALF_UP);
+			BigDecimal cantidad = BigDecimal.valueOf(linea.cantidad());
+			subtotal = subtotal.add(unitario.multiply(cantidad));
+			envio = envio.add(ENVIO.multiply(cantidad));
+		}
+		return subtotal.add(envio);
+	}
+
+	@Test
+	void run() throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(PricingEngineBenchmark.class.getSimpleName())
+				.build();
+		new Runner(options).run();
+	}
+}
@@ -0,0 +1,184 @@
+package com.ecommerce.api_geek_store.service.pricing;
+
+import com.ecommerce.api_geek_store.domain.repository.PriceView;
+import com.ecommerce.api_geek_store.domain.repository.ProductRepository;
+import com.ecommerce.api_geek_store.service.pricing.PricingEngine.CotizacionFirmada;
+import com.ecommerce.api_geek_store.service.shipping.Destino;
+import com.ecommerce.api_geek_store.service.shipping.ShippingRateService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PricingEngineTest {
+
+	private static final Destino LIMA = Destino.de("Lima", "Lima", "Miraflores");
+	private static final Destino CUSCO = Destino.de("Cusco", "Cusco", "Cusco");
+
+	private final Map<Long, PriceView> precios = new HashMap<>();
+	private ProductRepository productRepository;
+	private ShippingRateService shippingRateService;
+
+	@BeforeEach
+	void setUp() {
+		productRepository = mock(ProductRepository.class);
+		shippingRateService = mock(ShippingRateService.class);
+		when(productRepository.findAllPrices()).thenAnswer(invocation -> new ArrayList<>(precios.values()));
+		// 5.00 por unidad a Lima, 9.00 al resto
+		when(shippingRateService.envioCentimos(any(), anyLong())).thenAnswer(invocation -> {
+			Destino destino = invocation.getArgument(0);
+			long unidades = invocation.getArgument(1);
+			return unidades * (LIMA.equals(destino) ? 500 : 900);
+		});
+
+		precio(1L, "10.10", 25);
+		precio(2L, "49.90", 0);
+	}
+
+	@Test
+	void quotesCartInCentsWithDiscountAndShipping() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+
+		Cotizacion cotizacion = engine.cotizar(List.of(
+				new LineaCarrito(1L, 10L, 2),
+				new LineaCarrito(2L, 20L, 1)), LIMA);
+
+		assertThat(cotizacion.lineas()).extracting(Cotizacion.Linea::unitarioCentimos).containsExactly(757L, 4990L);
+		assertThat(cotizacion.lineas()).extracting(Cotizacion.Linea::subtotalCentimos).containsExactly(1514L, 4990L);
+		assertThat(cotizacion.subtotalCentimos()).isEqualTo(6504);
+		assertThat(cotizacion.envioCentimos()).isEqualTo(1500);
+		assertThat(cotizacion.total()).isEqualByComparingTo("80.04");
+	}
+
+	@Test
+	void discountRoundsLikeTheDisplayedPrice() {
+		// Regresión: 10.10 al 25% se mostraba a 7.57 y se cotizaba a 7.58
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+
+		Cotizacion cotizacion = engine.cotizar(List.of(new LineaCarrito(1L, 10L, 1)), LIMA);
+
+		assertThat(Cotizacion.aSoles(cotizacion.lineas().get(0).unitarioCentimos()))
+				.isEqualByComparingTo("7.57")
+				.isEqualByComparingTo(PriceSnapshot.precioFinal(new BigDecimal("10.10"), 25));
+	}
+
+	@Test
+	void rejectsUnknownProductsAndInvalidQuantities() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+
+		assertThatThrownBy(() -> engine.cotizar(List.of(new LineaCarrito(99L, 1L, 1)), LIMA))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("99");
+		assertThatThrownBy(() -> engine.cotizar(List.of(new LineaCarrito(1L, 10L, 0)), LIMA))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void signedQuoteHoldsItsTotalAfterAPriceChange() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+		List<LineaCarrito> lineas = List.of(new LineaCarrito(1L, 10L, 2), new LineaCarrito(2L, 20L, 1));
+		CotizacionFirmada firmada = engine.cotizarFirmado(lineas, LIMA);
+
+		precio(2L, "59.90", 0);
+		engine.refrescar();
+
+		// Mismas líneas en otro orden: la firma sigue valiendo
+		List<LineaCarrito> reordenadas = List.of(lineas.get(1), lineas.get(0));
+		assertThat(engine.totalEsperado(reordenadas, LIMA, firmada.firma())).isEqualTo(8004);
+		assertThat(engine.totalEsperado(lineas, LIMA, null)).isEqualTo(9004);
+	}
+
+	@Test
+	void expiredQuoteFallsBackToCurrentPrice() {
+		PricingEngine engine = engine(Duration.ofSeconds(-5));
+		List<LineaCarrito> lineas = List.of(new LineaCarrito(2L, 20L, 1));
+		CotizacionFirmada firmada = engine.cotizarFirmado(lineas, LIMA);
+
+		precio(2L, "59.90", 0);
+		engine.refrescar();
+
+		assertThat(engine.totalEsperado(lineas, LIMA, firmada.firma())).isEqualTo(6490);
+	}
+
+	@Test
+	void quoteIsBoundToItsLinesAndDestination() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+		List<LineaCarrito> lineas = List.of(new LineaCarrito(2L, 20L, 1));
+		CotizacionFirmada firmada = engine.cotizarFirmado(lineas, LIMA);
+
+		precio(2L, "59.90", 0);
+		engine.refrescar();
+
+		// Otra cantidad u otro destino no son lo que se firmó: se cobra el precio actual
+		assertThat(engine.totalEsperado(List.of(new LineaCarrito(2L, 20L, 2)), LIMA, firmada.firma()))
+				.isEqualTo(2 * 5990 + 2 * 500);
+		assertThat(engine.totalEsperado(lineas, CUSCO, firmada.firma())).isEqualTo(5990 + 900);
+	}
+
+	@Test
+	void tamperedQuoteIsIgnored() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+		List<LineaCarrito> lineas = List.of(new LineaCarrito(2L, 20L, 1));
+		String firma = engine.cotizarFirmado(lineas, LIMA).firma();
+
+		// Mismo contenido con otro total, conservando el HMAC original
+		String contenido = new String(Base64.getUrlDecoder().decode(firma.substring(0, firma.indexOf('.'))), StandardCharsets.UTF_8);
+		String alterado = contenido.replaceFirst("\\|5490\\|", "|100|");
+		String manipulada = Base64.getUrlEncoder().withoutPadding().encodeToString(alterado.getBytes(StandardCharsets.UTF_8))
+				+ firma.substring(firma.indexOf('.'));
+
+		assertThat(alterado).isNotEqualTo(contenido);
+		assertThat(engine.totalEsperado(lineas, LIMA, manipulada)).isEqualTo(5490);
+
+		// Más unidades al mismo total firmado
+		String masUnidades = contenido.replace("2:20:1", "2:20:3");
+		String conOtrasLineas = Base64.getUrlEncoder().withoutPadding().encodeToString(masUnidades.getBytes(StandardCharsets.UTF_8))
+				+ firma.substring(firma.indexOf('.'));
+		assertThat(masUnidades).isNotEqualTo(contenido);
+		assertThat(engine.totalEsperado(List.of(new LineaCarrito(2L, 20L, 3)), LIMA, conOtrasLineas))
+				.isEqualTo(3 * 4990 + 3 * 500);
+		assertThat(engine.totalEsperado(lineas, LIMA, "no-es-una-firma")).isEqualTo(5490);
+	}
+
+	@Test
+	void quoteFromAnotherSecretIsIgnored() {
+		PricingEngine engine = engine(Duration.ofMinutes(15));
+		PricingEngine otroNodo = new PricingEngine(productRepository, shippingRateService, "otro-secreto", Duration.ofMinutes(15), 100);
+		otroNodo.refrescar();
+		List<LineaCarrito> lineas = List.of(new LineaCarrito(2L, 20L, 1));
+		String firma = otroNodo.cotizarFirmado(lineas, LIMA).firma();
+
+		precio(2L, "59.90", 0);
+		engine.refrescar();
+
+		assertThat(engine.totalEsperado(lineas, LIMA, firma)).isEqualTo(6490);
+	}
+
+	private PricingEngine engine(Duration vigencia) {
+		PricingEngine engine = new PricingEngine(productRepository, shippingRateService, "secreto-de-prueba", vigencia, 100);
+		engine.refrescar();
+		return engine;
+	}
+
+	private void precio(Long id, String precio, int descuento) {
+		PriceView view = mock(PriceView.class);
+		when(view.getId()).thenReturn(id);
+		when(view.getPrecio()).thenReturn(new BigDecimal(precio));
+		when(view.getDescuento()).thenReturn(descuento);
+		precios.put(id, view);
+	}
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.api_geek_store.service.shipping;
+
+import com.ecommerce.api_geek_store.domain.model.ShippingRate;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShippingRateTableTest {
+
+	private static final long POR_DEFECTO = 2000;
+
+	private final ShippingRateTable tabla = ShippingRateTable.de(List.of(
+			tarifa(null, null, null, 1, null, "15.00", "0.00"),
+			tarifa("Lima", null, null, 1, null, "10.00", "0.00"),
+			tarifa("Lima", "Lima", null, 1, null, "8.00", "0.00"),
+			tarifa("Lima", "Lima", "Miraflores", 1, 3, "5.00", "0.00"),
+			tarifa("Lima", "Lima", "Miraflores", 4, 10, "5.00", "1.00")
+	), POR_DEFECTO);
+
+	@Test
+	void fallsBackFromDistrictToProvinceToDepartmentToCountry() {
+		assertThat(tabla.envioCentimos(Destino.de("Lima", "Lima", "Miraflores"), 1)).isEqualTo(500);
+		assertThat(tabla.envioCentimos(Destino.de("Lima", "Lima", "Surco"), 1)).isEqualTo(800);
+		assertThat(tabla.envioCentimos(Destino.de("Lima", "Huaral", "Chancay"), 1)).isEqualTo(1000);
+		assertThat(tabla.envioCentimos(Destino.de("Cusco", "Cusco", "Cusco"), 1)).isEqualTo(1500);
+		assertThat(tabla.envioCentimos(Destino.NACIONAL, 1)).isEqualTo(1500);
+	}
+
+	@Test
+	void destinationIsMatchedRegardlessOfAccentsAndCase() {
+		ShippingRateTable conTildes = ShippingRateTable.de(List.of(
+				tarifa("Junín", "Huancayo", null, 1, null, "12.00", "0.00")), POR_DEFECTO);
+
+		assertThat(conTildes.envioCentimos(Destino.de(" junin ", "HUANCAYO", "El Tambo"), 1)).isEqualTo(1200);
+	}
+
+	@Test
+	void picksTheBandThatCoversTheQuantity() {
+		Destino miraflores = Destino.de("Lima", "Lima", "Miraflores");
+
+		assertThat(tabla.envioCentimos(miraflores, 3)).isEqualTo(500);
+		assertThat(tabla.envioCentimos(miraflores, 4)).isEqualTo(500 + 4 * 100);
+		assertThat(tabla.envioCentimos(miraflores, 10)).isEqualTo(500 + 10 * 100);
+	}
+
+	@Test
+	void quantityOutsideTheDistrictBandsFallsToTheNextLevel() {
+		assertThat(tabla.envioCentimos(Destino.de("Lima", "Lima", "Miraflores"), 11)).isEqualTo(800);
+	}
+
+	@Test
+	void appliesPerUnitFallbackWhenNoLevelCoversTheQuantity() {
+		ShippingRateTable soloCusco = ShippingRateTable.de(List.of(
+				tarifa("Cusco", null, null, 2, 5, "9.00", "0.00")), POR_DEFECTO);
+
+		assertThat(soloCusco.envioCentimos(Destino.de("Cusco", "Cusco", "Cusco"), 1)).isEqualTo(POR_DEFECTO);
+		assertThat(soloCusco.envioCentimos(Destino.de("Cusco", "Cusco", "Cusco"), 6)).isEqualTo(6 * POR_DEFECTO);
+		assertThat(soloCusco.envioCentimos(Destino.de("Piura", "Piura", "Piura"), 3)).isEqualTo(3 * POR_DEFECTO);
+		assertThat(ShippingRateTable.vacia(POR_DEFECTO).envioCentimos(Destino.NACIONAL, 2)).isEqualTo(2 * POR_DEFECTO);
+		assertThat(soloCusco.envioCentimos(Destino.NACIONAL, 0)).isZero();
+	}
+
+	@Test
+	void rejectsOverlappingBands() {
+		assertThatThrownBy(() -> ShippingRateTable.de(List.of(
+				tarifa("Lima", null, null, 1, 5, "10.00", "0.00"),
+				tarifa("Lima", null, null, 5, null, "12.00", "0.00")), POR_DEFECTO))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("superpuestas");
+
+		// Una banda sin tope pisa cualquier otra que empiece después
+		assertThatThrownBy(() -> ShippingRateTable.de(List.of(
+				tarifa(null, null, null, 1, null, "10.00", "0.00"),
+				tarifa("", "", "", 20, 30, "12.00", "0.00")), POR_DEFECTO))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsInvertedBands() {
+		assertThatThrownBy(() -> ShippingRateTable.de(List.of(
+				tarifa("Lima", null, null, 5, 2, "10.00", "0.00")), POR_DEFECTO))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("inválida");
+	}
+
+	@Test
+	void rejectsIncompleteHierarchies() {
+		assertThatThrownBy(() -> ShippingRateTable.de(List.of(
+				tarifa("Lima", null, "Miraflores", 1, null, "5.00", "0.00")), POR_DEFECTO))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("provincia");
+		assertThatThrownBy(() -> ShippingRateTable.de(List.of(
+				tarifa(null, "Lima", null, 1, null, "5.00", "0.00")), POR_DEFECTO))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("departamento");
+	}
+
+	static ShippingRate tarifa(String departamento, String provincia, String distrito,
+							   int desde, Integer hasta, String base, String porUnidad) {
+		ShippingRate rate = new ShippingRate();
+		rate.setDepartamento(departamento);
+		rate.setProvincia(provincia);
+		rate.setDistrito(distrito);
+		rate.setUnidadesDesde(desde);
+		rate.setUnidadesHasta(hasta);
+		rate.setBase(new BigDecimal(base));
+		rate.setPorUnidad(new BigDecimal(porUnidad));
+		return rate;
+	}
+}
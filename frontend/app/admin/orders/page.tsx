@@ -1,7 +1,7 @@
 'use client';
 
 import { useEffect, useState, useCallback } from 'react';
-import { orderService } from '@/services/order.service';
+import { orderService, AdminOrderFilters } from '@/services/order.service';
 import { Order } from '@/types/order.types';
 import { toast } from 'react-hot-toast'; // Usamos toast para consistencia
 
@@ -203,30 +203,57 @@ const TrackingModal = ({ isOpen, onClose, onSave, loading }: TrackingModalProps)
     );
 };
 
+const PAGE_SIZE = 20;
+const ESTADOS = ['PENDIENTE', 'POR_CONFIRMAR', 'PAGADO', 'ENVIADO', 'ENTREGADO', 'CANCELADO'];
+
 // --- PÁGINA PRINCIPAL ---
 export default function AdminOrdersPage() {
   const [orders, setOrders] = useState<Order[]>([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [filters, setFilters] = useState<AdminOrderFilters>({});
+  const [emailInput, setEmailInput] = useState('');
   const [modalOpen, setModalOpen] = useState(false);
   const [selectedOrderId, setSelectedOrderId] = useState<number | null>(null);
   const [savingTracking, setSavingTracking] = useState(false);
 
+  // Primera página con los filtros actuales; el servidor ya la devuelve de la más reciente a la más antigua
   const loadOrders = useCallback(async () => {
     try {
       setLoading(true);
-      const data = await orderService.getAllOrders();
-      // Ordenamos: Lo más reciente primero
-      setOrders(data.sort((a, b) => b.id - a.id));
+      const page = await orderService.getOrdersPage(filters, null, PAGE_SIZE);
+      setOrders(page.content);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
     } catch (error) {
       console.error(error);
       toast.error("Error al cargar pedidos");
     } finally {
       setLoading(false);
     }
-  }, []);
+  }, [filters]);
 
   useEffect(() => { loadOrders(); }, [loadOrders]);
 
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const page = await orderService.getOrdersPage(filters, nextCursor, PAGE_SIZE);
+      setOrders(prev => [...prev, ...page.content]);
+      setNextCursor(page.hasNext ? page.nextCursor : null);
+    } catch (error) {
+      console.error(error);
+      toast.error("Error al cargar más pedidos");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  const updateFilter = (key: keyof AdminOrderFilters, value: string) => {
+    setFilters(prev => ({ ...prev, [key]: value || undefined }));
+  };
+
   const handleStatusChange = async (orderId: number, newStatus: string) => {
     // Actualización Optimista (UI First)
     const originalOrders = [...orders];
@@ -283,6 +310,32 @@ export default function AdminOrdersPage() {
             Actualizar Lista
         </button>
       </div>
+
+      {/* FILTROS (se aplican en el servidor) */}
+      <div className="flex flex-wrap items-end gap-4">
+        <div>
+            <label className="block text-[10px] font-bold uppercase tracking-widest text-zinc-400 mb-1">Estado</label>
+            <select value={filters.status ?? ''} onChange={e => updateFilter('status', e.target.value)} className="p-2 bg-white border border-zinc-200 text-xs font-bold uppercase focus:outline-none focus:border-black">
+                <option value="">Todos</option>
+                {ESTADOS.map(estado => <option key={estado} value={estado}>{estado.replace('_', ' ')}</option>)}
+            </select>
+        </div>
+        <div>
+            <label className="block text-[10px] font-bold uppercase tracking-widest text-zinc-400 mb-1">Desde</label>
+            <input type="date" value={filters.desde ?? ''} onChange={e => updateFilter('desde', e.target.value)} className="p-2 bg-white border border-zinc-200 text-xs focus:outline-none focus:border-black" />
+        </div>
+        <div>
+            <label className="block text-[10px] font-bold uppercase tracking-widest text-zinc-400 mb-1">Hasta</label>
+            <input type="date" value={filters.hasta ?? ''} onChange={e => updateFilter('hasta', e.target.value)} className="p-2 bg-white border border-zinc-200 text-xs focus:outline-none focus:border-black" />
+        </div>
+        <form onSubmit={e => { e.preventDefault(); updateFilter('email', emailInput.trim()); }} className="flex items-end gap-2">
+            <div>
+                <label className="block text-[10px] font-bold uppercase tracking-widest text-zinc-400 mb-1">Cliente</label>
+                <input type="text" value={emailInput} onChange={e => setEmailInput(e.target.value)} placeholder="correo@cliente.com" className="p-2 bg-white border border-zinc-200 text-xs focus:outline-none focus:border-black placeholder-zinc-300" />
+            </div>
+            <button type="submit" className="px-3 py-2 bg-black text-white text-[10px] font-black uppercase tracking-widest hover:bg-zinc-800">Buscar</button>
+        </form>
+      </div>
       
       <div className="bg-white border border-zinc-200 shadow-sm overflow-hidden">
         <div className="overflow-x-auto">
@@ -309,6 +362,13 @@ export default function AdminOrdersPage() {
                 </tbody>
             </table>
         </div>
+        {nextCursor && (
+            <div className="border-t border-zinc-100 p-4 text-center">
+                <button onClick={loadMore} disabled={loadingMore} className="text-xs font-bold uppercase tracking-widest underline hover:text-zinc-600 disabled:opacity-50 cursor-pointer">
+                    {loadingMore ? 'Cargando...' : 'Cargar más'}
+                </button>
+            </div>
+        )}
       </div>
 
       <TrackingModal 
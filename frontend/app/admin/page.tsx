@@ -3,7 +3,7 @@
 import { useEffect, useState, useMemo, useCallback } from 'react';
 import { orderService } from '@/services/order.service';
 import { userService } from '@/services/user.service';
-import { Order, UserProfile } from '@/types';
+import { Order, OrderSummary } from '@/types';
 import { 
   AreaChart, Area, XAxis, YAxis, CartesianGrid, Tooltip, ResponsiveContainer, 
   BarChart, Bar, Cell 
@@ -13,8 +13,9 @@ import {
 const formatCurrency = (val: number) => new Intl.NumberFormat('es-PE', { style: 'currency', currency: 'PEN' }).format(val);
 
 export default function AdminDashboard() {
-  const [orders, setOrders] = useState<Order[]>([]);
-  const [users, setUsers] = useState<UserProfile[]>([]);
+  const [recentOrders, setRecentOrders] = useState<Order[]>([]);
+  const [summary, setSummary] = useState<OrderSummary | null>(null);
+  const [totalUsers, setTotalUsers] = useState(0);
   const [loading, setLoading] = useState(true);
   const [lastUpdated, setLastUpdated] = useState<Date | null>(null);
 
@@ -22,13 +23,15 @@ export default function AdminDashboard() {
   const fetchData = useCallback(async () => {
     setLoading(true);
     try {
-      const [ordersData, usersData] = await Promise.all([
-         orderService.getAllOrders(),
-         userService.getAll(0, 1000) 
+      // Totales agregados en el servidor; de las órdenes solo se traen las 5 más recientes para la tabla
+      const [summaryData, recentPage, usersPage] = await Promise.all([
+         orderService.getSummary(7),
+         orderService.getOrdersPage({}, null, 5),
+         userService.getAll(0, 1)
       ]);
-      // Ordenar por fecha reciente para la tabla
-      setOrders(ordersData.sort((a: Order, b: Order) => new Date(b.fechaCreacion).getTime() - new Date(a.fechaCreacion).getTime()));
-      setUsers(usersData.content); 
+      setSummary(summaryData);
+      setRecentOrders(recentPage.content);
+      setTotalUsers(usersPage.totalElements);
       setLastUpdated(new Date());
     } catch (error) {
       console.error("[Dashboard] Error fetching data", error);
@@ -41,66 +44,30 @@ export default function AdminDashboard() {
     fetchData();
   }, [fetchData]);
 
-  // --- 2. PERFORMANCE: MEMOIZED CALCULATIONS ---
-  const kpis = useMemo(() => {
-    if (!orders.length) return { revenue: 0, salesMonth: 0, salesToday: 0 };
-
-    const now = new Date();
-    const currentMonth = now.getMonth();
-    const todayStr = now.toISOString().split('T')[0];
-
-    return orders.reduce((acc, o) => {
-        if (o.estado === 'CANCELADO') return acc;
-        
-        // Total
-        acc.revenue += o.total;
-
-        // Month
-        const orderDate = new Date(o.fechaCreacion);
-        if (orderDate.getMonth() === currentMonth) {
-            acc.salesMonth += o.total;
-        }
-
-        // Today
-        if (o.fechaCreacion.toString().startsWith(todayStr)) {
-            acc.salesToday += o.total;
-        }
-
-        return acc;
-    }, { revenue: 0, salesMonth: 0, salesToday: 0 });
-  }, [orders]);
+  // --- 2. KPIs (ya calculados en el servidor) ---
+  const kpis = {
+    salesToday: summary?.ventasHoy ?? 0,
+    salesMonth: summary?.ventasMes ?? 0,
+  };
 
   // --- 3. CHART DATA PREPARATION ---
-  const chartData = useMemo(() => {
-    const dataMap = new Map<string, number>();
-    
-    // Inicializar últimos 7 días con 0 (para que el gráfico no se vea vacío)
-    for (let i = 6; i >= 0; i--) {
-        const d = new Date();
-        d.setDate(d.getDate() - i);
-        const key = d.toLocaleDateString('es-PE', { month: 'short', day: 'numeric' });
-        dataMap.set(key, 0);
-    }
-
-    orders.forEach(o => {
-        if (o.estado === 'CANCELADO') return;
-        const key = new Date(o.fechaCreacion).toLocaleDateString('es-PE', { month: 'short', day: 'numeric' });
-        if (dataMap.has(key)) {
-            dataMap.set(key, (dataMap.get(key) || 0) + o.total);
-        }
-    });
-
-    return Array.from(dataMap.entries()).map(([name, ventas]) => ({ name, ventas }));
-  }, [orders]);
+  const chartData = useMemo(() => (summary?.ultimosDias ?? []).map(dia => ({
+    // fecha llega como YYYY-MM-DD: se arma en hora local para no correr el día
+    name: new Date(`${dia.fecha}T00:00:00`).toLocaleDateString('es-PE', { month: 'short', day: 'numeric' }),
+    ventas: dia.total,
+  })), [summary]);
 
-  const statusData = useMemo(() => [
-    { name: 'Pendiente', value: orders.filter(o => o.estado === 'PENDIENTE').length, color: '#fbbf24' }, // Amber-400
-    { name: 'Por Confirmar', value: orders.filter(o => o.estado === 'POR_CONFIRMAR').length, color: '#f59e0b' }, // Amber-500
-    { name: 'Pagado', value: orders.filter(o => o.estado === 'PAGADO').length, color: '#60a5fa' }, // Blue-400
-    { name: 'Enviado', value: orders.filter(o => o.estado === 'ENVIADO').length, color: '#818cf8' }, // Indigo-400
-    { name: 'Entregado', value: orders.filter(o => o.estado === 'ENTREGADO').length, color: '#34d399' }, // Emerald-400
-    { name: 'Cancelado', value: orders.filter(o => o.estado === 'CANCELADO').length, color: '#f87171' }, // Red-400
-  ], [orders]);
+  const statusData = useMemo(() => {
+    const porEstado = summary?.porEstado ?? {};
+    return [
+      { name: 'Pendiente', value: porEstado['PENDIENTE'] ?? 0, color: '#fbbf24' }, // Amber-400
+      { name: 'Por Confirmar', value: porEstado['POR_CONFIRMAR'] ?? 0, color: '#f59e0b' }, // Amber-500
+      { name: 'Pagado', value: porEstado['PAGADO'] ?? 0, color: '#60a5fa' }, // Blue-400
+      { name: 'Enviado', value: porEstado['ENVIADO'] ?? 0, color: '#818cf8' }, // Indigo-400
+      { name: 'Entregado', value: porEstado['ENTREGADO'] ?? 0, color: '#34d399' }, // Emerald-400
+      { name: 'Cancelado', value: porEstado['CANCELADO'] ?? 0, color: '#f87171' }, // Red-400
+    ];
+  }, [summary]);
 
 
   if (loading && !lastUpdated) return (
@@ -145,12 +112,12 @@ export default function AdminDashboard() {
             />
             <KPICard 
                 title="Total Usuarios" 
-                value={users.length.toString()} 
+                value={totalUsers.toString()} 
                 icon="👥"
             />
             <KPICard 
                 title="Total Pedidos" 
-                value={orders.length.toString()} 
+                value={(summary?.totalOrdenes ?? 0).toString()} 
                 icon="📦"
             />
         </div>
@@ -252,7 +219,7 @@ export default function AdminDashboard() {
                         </tr>
                     </thead>
                     <tbody className="divide-y divide-zinc-100">
-                        {orders.slice(0, 5).map(order => (
+                        {recentOrders.map(order => (
                             <tr key={order.id} className="hover:bg-zinc-50 transition-colors group">
                                 <td className="px-6 py-3 text-xs font-mono text-zinc-500 group-hover:text-black">
                                     #{order.id.toString().padStart(5, '0')}
@@ -11,7 +11,8 @@ import { useCart } from '@/context/CartContext';
 import { useAuth } from '@/context/AuthContext';
 import { addressService } from '@/services/address.service';
 import { orderService } from '@/services/order.service';
-import { Address } from '@/types';
+import { paymentService } from '@/services/payment.service';
+import { Address, QuoteResponse } from '@/types';
 
 // Components
 import PaymentBrick from '@/components/checkout/PaymentBrick';
@@ -188,16 +189,45 @@ export default function CheckoutPage() {
     init();
   }, [user]);
 
-  // Cálculo optimizado con useMemo (Performance)
+  // El precio lo fija el backend: se cotiza en cada cambio del carrito o de la dirección (el envío depende del distrito)
+  // y el pago envía la cotización firmada
+  const [quote, setQuote] = useState<QuoteResponse | null>(null);
+  const destino = useMemo(() => selectedAddress ? {
+      departamento: selectedAddress.departamento,
+      provincia: selectedAddress.provincia,
+      distrito: selectedAddress.distrito
+  } : undefined, [selectedAddress]);
+
+  useEffect(() => {
+      if (cart.length === 0) {
+          setQuote(null);
+          return;
+      }
+      let vigente = true;
+      const items = cart.map(item => ({
+          productId: item.id,
+          variantId: item.selectedVariant.id,
+          cantidad: item.quantity
+      }));
+      paymentService.quote(items, destino)
+          .then(data => { if (vigente) setQuote(data); })
+          .catch(err => { console.error("Quote error:", err); if (vigente) setQuote(null); });
+      return () => { vigente = false; };
+  }, [cart, destino]);
+
+  // Estimación local mientras llega la cotización
   const totals = useMemo(() => {
+      if (quote) {
+          return { subtotal: quote.subtotal, shipping: quote.envio, total: quote.total };
+      }
       const subtotal = cart.reduce((acc, item) => {
           const price = item.descuento ? item.precio * (1 - item.descuento / 100) : item.precio;
           return acc + price * item.quantity;
       }, 0);
       const itemsCount = cart.reduce((acc, item) => acc + item.quantity, 0);
-      const shipping = itemsCount * 20; // Regla de negocio: 20 soles por item (ejemplo)
+      const shipping = itemsCount * 20; // Tarifa de respaldo del backend; la cotización trae la del distrito
       return { subtotal, shipping, total: subtotal + shipping };
-  }, [cart]);
+  }, [cart, quote]);
 
   // Manejadores
   const handleYapePayment = async (code: string, file: File | null) => {
@@ -219,7 +249,8 @@ export default function CheckoutPage() {
                   codigoPostal: selectedAddress.codigoPostal,
                   pais: 'Peru'
               },
-              codOperacion: code
+              codOperacion: code,
+              destino
           };
 
           await orderService.createManualOrder(orderRequest, file);
@@ -349,6 +380,7 @@ export default function CheckoutPage() {
                                 onSuccess={() => { clearCart(); router.push('/profile/orders?success=true'); }}
                                 cart={cart}
                                 selectedAddress={selectedAddress!}
+                                quote={quote?.quote}
                             />
                         </div>
                     ) : (
@@ -1,6 +1,6 @@
 'use client';
 
-import { useEffect, useMemo, useState } from 'react';
+import { useEffect, useMemo, useRef, useState } from 'react';
 import { initMercadoPago, Payment } from '@mercadopago/sdk-react';
 import { paymentService, PaymentRequest } from '@/services/payment.service';
 import { CartItem, Address } from '@/types/product.types';
@@ -19,11 +19,14 @@ interface Props {
     onSuccess: () => void;
     cart: CartItem[];
     selectedAddress: Address;
+    quote?: string;
 }
 
-export default function PaymentBrick({ amount, userEmail, onSuccess, cart, selectedAddress }: Props) {
+export default function PaymentBrick({ amount, userEmail, onSuccess, cart, selectedAddress, quote }: Props) {
     // Estado local para evitar doble envío
     const [isProcessing, setIsProcessing] = useState(false);
+    // Id del intento de compra: los reintentos lo repiten y el backend no cobra dos veces
+    const checkoutIdRef = useRef<string>(crypto.randomUUID());
 
     // 1. OPTIMIZACIÓN REACT: MEMOIZACIÓN
     // MercadoPago Brick se recarga si estos objetos cambian de referencia. 
@@ -77,6 +80,13 @@ export default function PaymentBrick({ amount, userEmail, onSuccess, cart, selec
                 payerEmail: emailSeguro,
                 installments: cuotasSeguras,
                 issuerId: formData.issuer_id || "",
+                checkoutId: checkoutIdRef.current,
+                quote,
+                destino: {
+                    departamento: selectedAddress.departamento,
+                    provincia: selectedAddress.provincia,
+                    distrito: selectedAddress.distrito
+                },
                 
                 // Mapeo de Items (Con variante)
                 items: cart.map(item => ({
@@ -103,6 +113,10 @@ export default function PaymentBrick({ amount, userEmail, onSuccess, cart, selec
 
         } catch (error: any) {
             console.error("Payment Error:", error);
+            // Pago rechazado: el próximo intento es otro checkout. Ante errores de red se conserva el id
+            if (error?.response?.status === 400) {
+                checkoutIdRef.current = crypto.randomUUID();
+            }
             // Mensaje amigable para el usuario, log técnico en consola
             toast.error("No se pudo procesar el pago. Intente nuevamente.", { id: toastId });
             setIsProcessing(false); // Permitir reintentar
@@ -1,5 +1,14 @@
 import api from '@/lib/axios';
-import { OrderRequest, OrderResponse, Order } from '@/types'; 
+import { OrderRequest, OrderResponse, Order, OrderSummary } from '@/types'; 
+import { CursorPage } from '@/types/product.types';
+
+export interface AdminOrderFilters {
+    status?: string;
+    desde?: string;
+    hasta?: string;
+    metodoPago?: string;
+    email?: string;
+}
 
 export const orderService = {
     
@@ -12,8 +21,23 @@ export const orderService = {
         const { data } = await api.get<Order[]>('/orders/me');
         return data;
     },
-    getAllOrders: async (): Promise<Order[]> => {
-        const { data } = await api.get<Order[]>('/orders/admin/all');
+    getOrdersPage: async (filters: AdminOrderFilters = {}, after?: string | null, size: number = 20): Promise<CursorPage<Order>> => {
+        const params = new URLSearchParams();
+        params.append('size', size.toString());
+
+        if (after) params.append('after', after);
+        if (filters.status) params.append('status', filters.status);
+        if (filters.desde) params.append('desde', filters.desde);
+        if (filters.hasta) params.append('hasta', filters.hasta);
+        if (filters.metodoPago) params.append('metodoPago', filters.metodoPago);
+        if (filters.email) params.append('email', filters.email);
+
+        const { data } = await api.get<CursorPage<Order>>(`/orders/admin/all?${params.toString()}`);
+        return data;
+    },
+    // Totales del dashboard agregados en el servidor: no hace falta traer las órdenes
+    getSummary: async (dias: number = 7): Promise<OrderSummary> => {
+        const { data } = await api.get<OrderSummary>(`/orders/admin/summary?dias=${dias}`);
         return data;
     },
     updateStatus: async (id: number, status: string): Promise<Order> => {
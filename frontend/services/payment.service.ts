@@ -1,10 +1,16 @@
 import api from '@/lib/axios';
-import { PaymentRequest } from '@/types';
+import { PaymentRequest, QuoteItem, QuoteResponse, ShippingDestination } from '@/types';
 
 
 export const paymentService = {
     processPayment: async (paymentData: PaymentRequest) => {
         const { data } = await api.post('/payments/process_payment', paymentData);
         return data;
+    },
+
+    // Precio calculado por el backend; el total y la firma se usan al pagar
+    quote: async (items: QuoteItem[], destino?: ShippingDestination): Promise<QuoteResponse> => {
+        const { data } = await api.post<QuoteResponse>('/payments/quote', { items, destino });
+        return data;
     }
 };
\ No newline at end of file
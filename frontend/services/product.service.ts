@@ -1,6 +1,6 @@
 import api from '@/lib/axios';
 import { Brand } from '@/types';
-import { Page, Product, Category} from '@/types/product.types'; 
+import { Page, Product, Category, CursorPage, ProductFacets } from '@/types/product.types'; 
 import { Genero } from '@/types/product.types';
 export interface ProductFormData {
     nombre: string;
@@ -45,6 +45,46 @@ export const productService = {
     },
 
 
+    scroll: async (
+        after: string | null = null,
+        size: number = 12,
+        keyword: string = '',
+        categoryId?: number,
+        gender?: string,
+        brandId?: number
+    ): Promise<CursorPage<Product>> => {
+
+        const params = new URLSearchParams();
+        params.append('size', size.toString());
+
+        if (after) params.append('after', after);
+        if (keyword) params.append('keyword', keyword);
+        if (categoryId) params.append('categoryId', categoryId.toString());
+        if (gender) params.append('gender', gender);
+        if (brandId) params.append('brandId', brandId.toString());
+
+        const { data } = await api.get<CursorPage<Product>>(`/products/scroll?${params.toString()}`);
+        return data;
+    },
+
+    getFacets: async (
+        keyword: string = '',
+        categoryId?: number,
+        gender?: string,
+        brandId?: number
+    ): Promise<ProductFacets> => {
+
+        const params = new URLSearchParams();
+
+        if (keyword) params.append('keyword', keyword);
+        if (categoryId) params.append('categoryId', categoryId.toString());
+        if (gender) params.append('gender', gender);
+        if (brandId) params.append('brandId', brandId.toString());
+
+        const { data } = await api.get<ProductFacets>(`/products/facets?${params.toString()}`);
+        return data;
+    },
+
     getById: async (id: number): Promise<Product> => {
         const response = await api.get<Product>(`/products/${id}`);
         return response.data;
@@ -1,4 +1,4 @@
-
+import { ShippingDestination } from './payment.types';
 
 
 export interface OrderRequest {
@@ -10,6 +10,7 @@ export interface OrderRequest {
     direccion: ShippingAddress;
     metodoPago: 'YAPE_QR' | 'MERCADO_PAGO'; //MAL, HACER UN TYPE MEJORES PRACTICAS
     codOperacion?: string;   
+    destino?: ShippingDestination; // Para la tarifa de envío
 }
 
 export interface OrderItemResponse {
@@ -45,4 +46,13 @@ export interface ShippingAddress {
     pais: string;
 }
 
-export type OrderResponse = Order;
\ No newline at end of file
+export type OrderResponse = Order;
+
+// Totales del dashboard calculados en el servidor (GET /orders/admin/summary)
+export interface OrderSummary {
+    ventasHoy: number;
+    ventasMes: number;
+    totalOrdenes: number;
+    porEstado: Record<string, number>;
+    ultimosDias: { fecha: string; total: number }[];
+}
\ No newline at end of file
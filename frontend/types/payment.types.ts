@@ -5,6 +5,9 @@ export interface PaymentRequest {
     payerEmail: string;
     installments: number;
     issuerId: string;
+    checkoutId: string;
+    quote?: string; // Cotización firmada de /payments/quote
+    destino?: ShippingDestination; // El mismo con el que se cotizó
 
     items: {
         productId: number;
@@ -19,4 +22,26 @@ export interface PaymentRequest {
         codigoPostal: string;
         pais: string;
     };
+}
+
+// Ubigeo de la dirección elegida: de acá sale la tarifa de envío
+export interface ShippingDestination {
+    departamento: string;
+    provincia: string;
+    distrito: string;
+}
+
+export interface QuoteItem {
+    productId: number;
+    variantId: number;
+    cantidad: number;
+}
+
+export interface QuoteResponse {
+    items: (QuoteItem & { precioUnitario: number; subtotal: number })[];
+    subtotal: number;
+    envio: number;
+    total: number;
+    quote: string;
+    expiraEn: string;
 }
\ No newline at end of file
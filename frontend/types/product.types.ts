@@ -73,6 +73,31 @@ export interface Page<T> {
     empty: boolean;
 }
 
+export interface CursorPage<T> {
+    content: T[];
+    nextCursor: string | null;
+    hasNext: boolean;
+}
+
+export interface FacetValue {
+    id: number | null;
+    nombre: string;
+    count: number;
+}
+
+export interface PriceRange {
+    desde: number;
+    hasta: number | null;
+    count: number;
+}
+
+export interface ProductFacets {
+    categories: FacetValue[];
+    brands: FacetValue[];
+    generos: FacetValue[];
+    precios: PriceRange[];
+}
+
 export interface WishlistToggleResponse {
     message: string;
     added: boolean; 